@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.bench;
+
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.civilian.annotation.Get;
+import org.civilian.annotation.Parameter;
+import org.civilian.controller.Controller;
+import org.civilian.controller.method.ControllerMethod;
+import org.civilian.controller.method.arg.factory.MethodArgFactory;
+import org.civilian.resource.pathparam.PathParamMap;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.civilian.type.TypeLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Compares the invocation of controller action methods: 
+ * a spreading MethodHandle as used by {@link ControllerMethod} versus Method.invoke, 
+ * and the complete ControllerMethod.invoke including argument extraction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ControllerInvokeBenchmark
+{
+	public static class BenchController extends Controller
+	{
+		@Get public void get(@Parameter("a") String a, @Parameter("b") int b, @Parameter("c") String c)
+		{
+			result = a.length() + b + c.length();
+		}
+		
+		
+		public int result;
+	}
+	
+	
+	@Setup public void setup() throws Exception
+	{
+		Method javaMethod = BenchController.class.getMethod("get", String.class, int.class, String.class);
+		
+		method_		= ControllerMethod.create(new MethodArgFactory(PathParamMap.EMPTY, new TypeLib()), javaMethod);
+		javaMethod_	= javaMethod;
+		handle_		= MethodHandles.lookup().unreflect(javaMethod)
+			.asSpreader(Object[].class, 3)
+			.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		
+		request_ 	= new TestRequest();
+		request_.setParameter("a", "alpha");
+		request_.setParameter("b", "42");
+		request_.setParameter("c", "gamma");
+		response_	= new TestResponse(request_);
+	}
+	
+	
+	@Benchmark public Object spreaderHandle() throws Throwable
+	{
+		return handle_.invokeExact((Object)controller_, args_);
+	}
+
+	
+	@Benchmark public Object reflective() throws Exception
+	{
+		return javaMethod_.invoke(controller_, args_);
+	}
+	
+	
+	/**
+	 * Extracts the three parameters from the request and invokes the action method.
+	 */
+	@Benchmark public int controllerMethod() throws Exception
+	{
+		method_.invoke(controller_, request_, response_);
+		return controller_.result;
+	}
+	
+	
+	private ControllerMethod method_;
+	private Method javaMethod_;
+	private MethodHandle handle_;
+	private TestRequest request_;
+	private TestResponse response_;
+	private final BenchController controller_ = new BenchController();
+	private final Object[] args_ = { "alpha", Integer.valueOf(42), "gamma" };
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.bench;
+
+
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import jakarta.servlet.http.Cookie;
+import org.civilian.form.Select;
+import org.civilian.request.CookieList;
+import org.civilian.resource.Resource;
+import org.civilian.resource.Url;
+import org.civilian.resource.pathparam.PathParam;
+import org.civilian.resource.pathparam.PathParams;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.civilian.template.CspWriter;
+import org.civilian.text.keys.KeyList;
+import org.civilian.text.keys.KeyLists;
+import org.civilian.text.type.StandardSerializer;
+import org.civilian.type.TypeLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Micro benchmarks for hot paths used when rendering pages and reading requests:
+ * link building, option rendering, date parsing and cookie lookup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class HotPathBenchmark
+{
+	private static final int LINK_COUNT = 500;
+	
+	
+	@Setup public void setup()
+	{
+		response_ = new TestResponse(new TestRequest());
+		out_ = new CspWriter(Writer.nullWriter());
+		out_.getData().add(response_);
+		
+		PathParam<String> id = PathParams.forSegment("id");
+		Resource root = new Resource();
+		item_ = new Resource(new Resource(root, "items"), id);
+		
+		Integer[] values = new Integer[1000];
+		for (int i=0; i<values.length; i++)
+			values[i] = Integer.valueOf(i);
+		KeyList<Integer> keys = KeyLists.forValues(values);
+		select_ = new Select<>("s", keys);
+		select_.setValue(Integer.valueOf(500));
+		indexedKeys_ = KeyLists.indexed(keys);
+		
+		cookies_ = new CookieList();
+		for (int i=0; i<20; i++)
+			cookies_.add(new Cookie("c" + i, "v" + i));
+	}
+	
+	
+	/**
+	 * Prints a page with 500 links to a resource with a path parameter,
+	 * reusing a single Url.
+	 */
+	@Benchmark public void links500()
+	{
+		Url url = response_.url().to(item_);
+		url.queryParams().add("sort", "name");
+		for (int i=0; i<LINK_COUNT; i++)
+		{
+			url.setPathParam(ids_[i]);
+			url.writeTo(out_);
+		}
+	}
+
+	
+	/**
+	 * Like {@link #links500()} but creates a String for every link.
+	 */
+	@Benchmark public void links500ToString()
+	{
+		Url url = response_.url().to(item_);
+		url.queryParams().add("sort", "name");
+		for (int i=0; i<LINK_COUNT; i++)
+		{
+			url.setPathParam(ids_[i]);
+			out_.print(url.toString());
+		}
+	}
+	
+	
+	@Benchmark public void select1000()
+	{
+		select_.print(out_);
+	}
+
+	
+	@Benchmark public int keyListIndexOf()
+	{
+		return indexedKeys_.indexOf(Integer.valueOf(777));
+	}
+	
+	
+	@Benchmark public LocalDate parseDate() throws Exception
+	{
+		return StandardSerializer.INSTANCE.parse(TypeLib.DATE_LOCAL, "20120131");
+	}
+
+	
+	@Benchmark public Cookie cookieLookup()
+	{
+		return cookies_.get("c17");
+	}
+	
+	
+	private TestResponse response_;
+	private CspWriter out_;
+	private Resource item_;
+	private Select<Integer> select_;
+	private KeyList<Integer> indexedKeys_;
+	private CookieList cookies_;
+	private final String[] ids_ = createIds();
+	
+	
+	private static String[] createIds()
+	{
+		String[] ids = new String[LINK_COUNT];
+		for (int i=0; i<LINK_COUNT; i++)
+			ids[i] = "item-" + i;
+		return ids;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.bench;
+
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.civilian.content.GsonJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Compares writing JSON content as UTF-8 bytes to the response stream
+ * versus writing it to a PrintWriter as obtained from the servlet container,
+ * for a small and a large payload.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class JsonWriteBenchmark
+{
+	public static class Item
+	{
+		public Item(int i)
+		{
+			id		= i;
+			name	= "item-" + i;
+			text	= "Gr\u00fc\u00dfe aus Z\u00fcrich, item " + i;
+			price	= i * 1.25;
+			active	= (i % 2) == 0;
+		}
+		
+		
+		public int id;
+		public String name;
+		public String text;
+		public double price;
+		public boolean active;
+	}
+	
+	
+	@Benchmark public void smallBytes() throws Exception
+	{
+		serializer_.write(small_, out_, StandardCharsets.UTF_8);
+	}
+
+	
+	@Benchmark public void smallWriter() throws Exception
+	{
+		writeToWriter(small_);
+	}
+
+	
+	@Benchmark public void largeBytes() throws Exception
+	{
+		serializer_.write(large_, out_, StandardCharsets.UTF_8);
+	}
+	
+	
+	@Benchmark public void largeWriter() throws Exception
+	{
+		writeToWriter(large_);
+	}
+	
+	
+	private void writeToWriter(Object value) throws Exception
+	{
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(out_, StandardCharsets.UTF_8));
+		serializer_.write(value, writer);
+		writer.flush();
+	}
+	
+	
+	private static List<Item> createItems(int count)
+	{
+		List<Item> items = new ArrayList<>(count);
+		for (int i=0; i<count; i++)
+			items.add(new Item(i));
+		return items;
+	}
+	
+	
+	private final GsonJsonSerializer serializer_ = new GsonJsonSerializer();
+	private final OutputStream out_ = OutputStream.nullOutputStream();
+	private final Item small_ = new Item(1);
+	private final List<Item> large_ = createItems(2000);
+}
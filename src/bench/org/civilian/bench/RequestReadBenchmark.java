@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.bench;
+
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import org.civilian.annotation.Get;
+import org.civilian.annotation.Parameter;
+import org.civilian.controller.Controller;
+import org.civilian.controller.method.ControllerMethod;
+import org.civilian.controller.method.arg.MethodArg;
+import org.civilian.controller.method.arg.factory.MethodArgFactory;
+import org.civilian.form.DateField;
+import org.civilian.form.Form;
+import org.civilian.form.IntField;
+import org.civilian.form.Select;
+import org.civilian.form.TextField;
+import org.civilian.resource.pathparam.PathParamMap;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.civilian.text.keys.KeyLists;
+import org.civilian.type.TypeLib;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Micro benchmarks for reading typed values from request parameters:
+ * binding of @BeanParam beans with 5 and 30 properties, reading a Form
+ * and extracting 20 query parameters for an action method.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class RequestReadBenchmark
+{
+	public static class Bean5
+	{
+		public String s0, s1, s2;
+		public int i0, i1;
+	}
+	
+	
+	public static class Bean30
+	{
+		public String s0, s1, s2, s3, s4, s5, s6, s7, s8, s9;
+		public String s10, s11, s12, s13, s14, s15, s16, s17, s18, s19;
+		public int i0, i1, i2, i3, i4, i5, i6, i7, i8, i9;
+	}
+	
+	
+	public static class QueryController extends Controller
+	{
+		@Get public void query(
+			@Parameter("i0") int i0, @Parameter("i1") int i1, @Parameter("i2") int i2, 
+			@Parameter("i3") int i3, @Parameter("i4") int i4, @Parameter("i5") int i5, 
+			@Parameter("i6") int i6, @Parameter("i7") int i7, @Parameter("i8") int i8, 
+			@Parameter("i9") int i9,
+			@Parameter("s0") String s0, @Parameter("s1") String s1, @Parameter("s2") String s2, 
+			@Parameter("s3") String s3, @Parameter("s4") String s4, 
+			@Parameter("d0") LocalDate d0, @Parameter("d1") LocalDate d1, @Parameter("d2") LocalDate d2, 
+			@Parameter("d3") LocalDate d3, @Parameter("d4") LocalDate d4)
+		{
+			result = i0 + i9 + s4.length() + d4.getDayOfMonth();
+		}
+		
+		
+		public int result;
+	}
+	
+	
+	@Setup public void setup() throws Exception
+	{
+		request_ = new TestRequest();
+		for (int i=0; i<20; i++)
+			request_.setParameter("s" + i, "value" + i);
+		for (int i=0; i<10; i++)
+			request_.setParameter("i" + i, String.valueOf(i * 100));
+		for (int i=0; i<5; i++)
+			request_.setParameter("d" + i, "2012013" + (i % 2));
+		request_.setParameter("select", "777");
+		response_ = new TestResponse(request_);
+		
+		// form controls parse dates in the format of the request locale
+		String date = request_.getLocaleService().getSerializer().format(TypeLib.DATE_LOCAL, LocalDate.of(2012, 1, 31));
+		for (int i=0; i<3; i++)
+			request_.setParameter("fd" + i, date);
+		
+		MethodArgFactory factory = new MethodArgFactory(PathParamMap.EMPTY, new TypeLib());
+		bean5_	= factory.parseBeanParamArgument(Bean5.class);
+		bean30_	= factory.parseBeanParamArgument(Bean30.class);
+		
+		Method query = null;
+		for (Method m : QueryController.class.getMethods())
+		{
+			if (m.getName().equals("query"))
+				query = m;
+		}
+		query_ = ControllerMethod.create(factory, query);
+		
+		Integer[] values = new Integer[1000];
+		for (int i=0; i<values.length; i++)
+			values[i] = Integer.valueOf(i);
+		form_ = new Form(response_);
+		for (int i=0; i<5; i++)
+			form_.add(new TextField("s" + i));
+		for (int i=0; i<5; i++)
+			form_.add(new IntField("i" + i));
+		for (int i=0; i<3; i++)
+			form_.add(new DateField<>(TypeLib.DATE_LOCAL, "fd" + i));
+		form_.add(new Select<>("select", KeyLists.indexed(KeyLists.forValues(values))));
+	}
+	
+	
+	@Benchmark public Object beanParam5() throws Exception
+	{
+		return bean5_.getValue(request_, response_);
+	}
+
+	
+	@Benchmark public Object beanParam30() throws Exception
+	{
+		return bean30_.getValue(request_, response_);
+	}
+	
+	
+	/**
+	 * Reads a form with 13 input fields and a Select with 1000 options.
+	 */
+	@Benchmark public boolean formRead() throws Exception
+	{
+		return form_.read();
+	}
+	
+	
+	/**
+	 * Extracts 20 int, String and date query parameters and invokes the action method.
+	 */
+	@Benchmark public int queryParams20() throws Exception
+	{
+		query_.invoke(controller_, request_, response_);
+		return controller_.result;
+	}
+	
+	
+	private TestRequest request_;
+	private TestResponse response_;
+	private MethodArg bean5_;
+	private MethodArg bean30_;
+	private ControllerMethod query_;
+	private Form form_;
+	private final QueryController controller_ = new QueryController();
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.bench;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.civilian.application.Application;
+import org.civilian.application.DefaultApp;
+import org.civilian.content.ContentType;
+import org.civilian.request.Uploads;
+import org.civilian.samples.crm.web.CrmApp;
+import org.civilian.samples.quickstart.QsApp;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.civilian.server.test.TestServer;
+import org.civilian.server.test.TestUpload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+
+/**
+ * Runs the sample applications in-process via {@link TestServer} and measures
+ * the end-to-end cost of a request: resource dispatch, controller invocation, 
+ * content negotiation and writing of the response.
+ * The web directory of the samples is given by the system property <code>civilian.bench.web</code>. 
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SamplesBenchmark
+{
+	/**
+	 * The server with the sample apps, shared by all benchmark threads.
+	 */
+	@State(Scope.Benchmark)
+	public static class Samples
+	{
+		@Setup(Level.Trial) public void setup() throws Exception
+		{
+			server = new TestServer(new File(System.getProperty("civilian.bench.web", "web")));
+			server.addApp(quickstart, "quickstart", "quickstart");
+			server.addApp(crm, "crm", "crm");
+			server.addApp(form, "form", "form");
+			server.addApp(upload, "upload", "upload");
+			check(quickstart);
+			check(crm);
+			check(form);
+			check(upload);
+		}
+		
+		
+		private static void check(Application app)
+		{
+			if (app.getStatus() != Application.Status.RUNNING)
+				throw new IllegalStateException(app + " could not be started: " + app.getStatus());
+		}
+		
+		
+		@TearDown(Level.Trial) public void tearDown()
+		{
+			server.close();
+		}
+		
+		
+		public TestServer server;
+		public final QsApp quickstart = new QsApp();
+		public final CrmApp crm = new CrmApp();
+		public final DefaultApp form = new DefaultApp("org.civilian.samples.form");
+		public final DefaultApp upload = new DefaultApp("org.civilian.samples.upload");
+	}
+
+	
+	/**
+	 * Per thread requests, initialized once and reused for every invocation.
+	 */
+	@State(Scope.Thread)
+	public static class Requests
+	{
+		@Setup(Level.Trial) public void setup(Samples samples) throws Exception
+		{
+			// GET /users/{id}: routing and a plain text reply
+			routing = new TestResponse(new TestRequest(samples.quickstart).setPath("/users/42"));
+			routing.getRequest().setAcceptedContentTypes(ContentType.TEXT_PLAIN);
+			
+			// GET /: a template page
+			page = new TestResponse(new TestRequest(samples.quickstart).setPath("/"));
+			page.getRequest().setAcceptedContentTypes(ContentType.TEXT_HTML);
+
+			// login, then GET /customers/search/filter as JSON 
+			TestRequest crmRequest = new TestRequest(samples.crm);
+			json = new TestResponse(crmRequest);
+			crmRequest.setMethod("POST");
+			crmRequest.setPath("/login");
+			crmRequest.setAcceptedContentTypes(ContentType.APPLICATION_JSON);
+			crmRequest.setParameter("name", "user").setParameter("password", "!user").setParameter("language", "en");
+			expect(json.process(), 200);
+			crmRequest.setMethod("GET");
+			crmRequest.setPath("/customers/search/filter");
+			crmRequest.clearParameters();
+			crmRequest.setContentType(ContentType.APPLICATION_JSON);
+			
+			// GET css/crm.css: an asset
+			asset = new TestResponse(new TestRequest(samples.crm).setPath("/css/crm.css"));
+
+			// POST a form
+			TestRequest formRequest = new TestRequest(samples.form).setMethod("POST").setPath("/");
+			formRequest.setAcceptedContentTypes(ContentType.TEXT_HTML);
+			formRequest.setParameter(FORM_NAME, "").setParameter("counter", "5");
+			formRequest.setParameter("lastName", "Smith").setParameter("firstName", "John").setParameter("zip", "12345");
+			form = new TestResponse(formRequest);
+			
+			// POST a multipart upload
+			TestRequest uploadRequest = new TestRequest(samples.upload).setMethod("POST").setPath("/");
+			uploadRequest.setAcceptedContentTypes(ContentType.TEXT_HTML);
+			uploadRequest.setParameter(UPLOAD_FORM_NAME, "");
+			multipart = new TestResponse(uploadRequest);
+			
+			for (TestResponse response : new TestResponse[] { routing, page, json, asset, form, multipart })
+				expect(process(response), 200);
+		}
+		
+		
+		private static void expect(TestResponse response, int status)
+		{
+			if (response.getStatus() != status)
+				throw new IllegalStateException(response.getRequest().getPath() + ": expected status " + status + ", but was " + response.getStatus());
+		}
+
+		
+		public TestResponse process(TestResponse response) throws Exception
+		{
+			if (response == multipart)
+			{
+				// the upload controller deletes the upload after each request
+				TestUpload file = new TestUpload("file", "data.txt");
+				file.setInputStream(new ByteArrayInputStream(UPLOAD_DATA));
+				file.setLength(UPLOAD_DATA.length);
+				response.getRequest().setUploads(Uploads.of(file));
+			}
+			return response.process();
+		}
+
+		
+		public TestResponse routing;
+		public TestResponse page;
+		public TestResponse json;
+		public TestResponse asset;
+		public TestResponse form;
+		public TestResponse multipart;
+		private static final byte[] UPLOAD_DATA = new byte[4096];
+		private static final String FORM_NAME = "f" + org.civilian.samples.form.IndexForm.class.getName().hashCode();
+		private static final String UPLOAD_FORM_NAME = "f" + org.civilian.samples.upload.IndexForm.class.getName().hashCode();
+	}
+	
+	
+	@Benchmark public TestResponse routing(Requests requests) throws Exception
+	{
+		return requests.process(requests.routing);
+	}
+
+	
+	@Benchmark public TestResponse json(Requests requests) throws Exception
+	{
+		return requests.process(requests.json);
+	}
+
+	
+	@Benchmark public TestResponse templatePage(Requests requests) throws Exception
+	{
+		return requests.process(requests.page);
+	}
+
+	
+	@Benchmark public TestResponse asset(Requests requests) throws Exception
+	{
+		return requests.process(requests.asset);
+	}
+
+	
+	@Benchmark public TestResponse form(Requests requests) throws Exception
+	{
+		return requests.process(requests.form);
+	}
+
+	
+	@Benchmark public TestResponse multipart(Requests requests) throws Exception
+	{
+		return requests.process(requests.multipart);
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.server.servlet;
+
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.civilian.request.RequestHeaders;
+import org.civilian.server.test.TestApp;
+import org.civilian.util.http.HeaderNames;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+
+/**
+ * Measures header access of a request: the headers cached by the ServletRequestAdapter
+ * versus fetching them from the HttpServletRequest on every access.
+ * Each benchmark simulates a request where three processors and a controller
+ * read the same four headers.
+ * The benchmark lives in the servlet package since the request adapters are package private.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ServletHeaderBenchmark
+{
+	private static final String[] NAMES = 
+	{
+		HeaderNames.ACCEPT, 
+		HeaderNames.ACCEPT_LANGUAGE, 
+		HeaderNames.USER_AGENT, 
+		HeaderNames.IF_MODIFIED_SINCE 
+	};
+	
+	
+	@Setup public void setup()
+	{
+		app_ = new TestApp();
+		app_.init("/app");
+		
+		Map<String,String> headers = new HashMap<>();
+		headers.put(HeaderNames.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+		headers.put(HeaderNames.ACCEPT_LANGUAGE, "en-US,en;q=0.5");
+		headers.put(HeaderNames.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64; rv:128.0) Gecko/20100101 Firefox/128.0");
+		headers.put(HeaderNames.IF_MODIFIED_SINCE, "Wed, 21 Oct 2015 07:28:00 GMT");
+		
+		servletRequest_ = (HttpServletRequest)Proxy.newProxyInstance(
+			getClass().getClassLoader(), 
+			new Class<?>[] { HttpServletRequest.class }, 
+			(proxy, method, args) -> {
+				switch (method.getName())
+				{
+					case "getHeader":		return headers.get(args[0]);
+					case "getHeaders":		return Collections.enumeration(Collections.singletonList(headers.get(args[0])));
+					case "getHeaderNames":	return Collections.enumeration(headers.keySet());
+					case "getMethod":		return "GET";
+					case "getPathInfo":		return "/";
+					case "getLocale":		return Locale.ENGLISH;
+					default:
+						Class<?> type = method.getReturnType();
+						if (type == boolean.class)
+							return Boolean.FALSE;
+						else if (type == int.class)
+							return Integer.valueOf(0);
+						else if (type == long.class)
+							return Long.valueOf(-1);
+						else
+							return null;
+				}
+			});
+	}
+	
+	
+	@Benchmark public int cachedHeaders()
+	{
+		RequestHeaders headers = new SpRequestAdapter(app_, servletRequest_, servletResponse_).getHeaders();
+		int n = 0;
+		for (int i=0; i<4; i++)
+		{
+			for (String name : NAMES)
+				n += headers.get(name).length();
+		}
+		return n;
+	}
+
+	
+	@Benchmark public int containerHeaders()
+	{
+		new SpRequestAdapter(app_, servletRequest_, servletResponse_);
+		int n = 0;
+		for (int i=0; i<4; i++)
+		{
+			for (String name : NAMES)
+				n += servletRequest_.getHeader(name).length();
+		}
+		return n;
+	}
+	
+	
+	private TestApp app_;
+	private HttpServletRequest servletRequest_;
+	private HttpServletResponse servletResponse_;
+}
@@ -115,6 +115,12 @@ public interface ConfigKeys
 	public static final String EXCLUDE = "exclude";
 
 
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String FILE = "file";
+
+
 	/**
 	 * A key of the Civilian config.
 	 */
@@ -151,12 +157,24 @@ public interface ConfigKeys
 	public static final String MAXFILESIZE = "maxFileSize";
 	
 	
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String MAXINACTIVEINTERVAL = "maxInactiveInterval";
+
+
 	/**
 	 * A key of the Civilian config.
 	 */
 	public static final String MAXREQUESTSIZE = "maxRequestSize";
 
 	
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String NAME = "name";
+
+
 	/**
 	 * A key of the Civilian config.
 	 */
@@ -175,6 +193,30 @@ public interface ConfigKeys
 	public static final String MESSAGES = "messages";
 
 	
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String RAWQUERYPARAMS = "rawQueryParams";
+
+	
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String SECRET = "secret";
+
+
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String SESSION_PREFIX = "session.";
+
+
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String SIZE = "size";
+
+
 	/**
 	 * A key of the Civilian config.
 	 */
@@ -185,4 +227,10 @@ public interface ConfigKeys
 	 * A key of the Civilian config.
 	 */
 	public static final String UPLOAD_PREFIX = "upload.";
+
+
+	/**
+	 * A key of the Civilian config.
+	 */
+	public static final String VIRTUALTHREADS = "virtualThreads";
 }
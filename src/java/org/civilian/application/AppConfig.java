@@ -26,10 +26,9 @@ import org.civilian.asset.service.AssetConfig;
 import org.civilian.asset.service.AssetLocation;
 import org.civilian.asset.service.AssetServices;
 import org.civilian.content.ContentSerializer;
+import org.civilian.content.ContentSerializerConfig;
 import org.civilian.content.ContentType;
-import org.civilian.content.GsonJsonSerializer;
 import org.civilian.content.JaxbXmlSerializer;
-import org.civilian.content.TextSerializer;
 import org.civilian.controller.ControllerConfig;
 import org.civilian.controller.ControllerFactory;
 import org.civilian.resource.Path;
@@ -40,7 +39,6 @@ import org.civilian.text.msg.MsgBundleFactory;
 import org.civilian.text.service.LocaleServiceList;
 import org.civilian.type.TypeLib;
 import org.civilian.util.Check;
-import org.civilian.util.ClassUtil;
 import org.civilian.util.Settings;
 
 
@@ -101,6 +99,8 @@ public class AppConfig
 				settings = new Settings();
 			settings_ 				= settings;
 			async_					= settings.getBoolean(ConfigKeys.ASYNC, false); 
+			virtualThreads_			= settings.getBoolean(ConfigKeys.VIRTUALTHREADS, false); 
+			rawQueryParams_			= settings.getBoolean(ConfigKeys.RAWQUERYPARAMS, false); 
 			defaultEncoding_		= settings.getCharset(ConfigKeys.ENCODING, ConfigKeys.ENCODING_DEFAULT);
 			typeLib_ 				= new TypeLib();
 			supportedLocales_		= initLocales(settings);
@@ -111,6 +111,7 @@ public class AppConfig
 			// these calls might throw exceptions
 			assetConfig_			= initAssetConfig(server, appPath, settings);
 			msgBundleFactory_		= initText(settings);
+			sessionConfig_			= initSessionConfig(settings);
 		}
 		catch (Exception e) 
 		{
@@ -121,11 +122,7 @@ public class AppConfig
 	
 	private void initDefaultContentSerializers()
 	{
-		if (getContentSerializer(ContentType.TEXT_PLAIN) == null)
-			contentSerializers_.put(ContentType.TEXT_PLAIN.getValue(), new TextSerializer());
-		if ((getContentSerializer(ContentType.APPLICATION_JSON) == null) && 
-			ClassUtil.getPotentialClass("com.google.gson.Gson", Object.class, null) != null)
-			contentSerializers_.put(ContentType.APPLICATION_JSON.getValue(), new GsonJsonSerializer());
+		ContentSerializerConfig.addDefaults(contentSerializers_);
 	}
 
 	
@@ -154,6 +151,12 @@ public class AppConfig
 	}
 	
 	
+	private static SessionConfig initSessionConfig(Settings settings)
+	{
+		return new SessionConfig(new Settings(settings, ConfigKeys.SESSION_PREFIX));
+	}
+	
+	
 	private static ReloadConfig initReloadConfig(boolean develop, ControllerConfig controllerConfig, Settings appSettings)
 	{
 		if (develop && appSettings.getBoolean(ConfigKeys.DEV_CLASSRELOAD, false))
@@ -445,6 +448,33 @@ public class AppConfig
 	}
 
 	
+	//----------------------------
+	// session
+	//----------------------------
+
+	
+	/**
+	 * Returns the current SessionConfig.
+	 * By default the application uses the sessions of the servlet container.
+	 * @return the config 
+	 */
+	public SessionConfig getSessionConfig()
+	{
+		return sessionConfig_;
+	}
+	
+	
+	/**
+	 * Sets the SessionConfig.
+	 * Use it to store sessions in signed and encrypted cookies instead of the servlet container.
+	 * @param sessionConfig the config 
+	 */
+	public void setSessionConfig(SessionConfig sessionConfig)
+	{
+		sessionConfig_ = Check.notNull(sessionConfig, "sessionConfig");
+	}
+
+	
 	//----------------------------
 	// resources
 	//----------------------------
@@ -507,6 +537,61 @@ public class AppConfig
 	}
 
 	
+	/**
+	 * Returns the virtualThreads-value.
+	 * @return the flag
+	 */
+	public boolean getVirtualThreads()
+	{
+		return virtualThreads_;
+	}
+	
+
+	/**
+	 * Sets if the application should process requests on virtual threads. 
+	 * If enabled and supported by the JVM, each request is put into asynchronous mode
+	 * and then processed on a new virtual thread, releasing the container thread. 
+	 * Also {@link org.civilian.response.AsyncContext#start(org.civilian.util.CheckedRunnable)} 
+	 * will then run its task on a virtual thread. 
+	 * @param virtualThreads the flag
+	 */
+	public void setVirtualThreads(boolean virtualThreads)
+	{
+		virtualThreads_ = virtualThreads;
+	}
+
+
+	/**
+	 * Returns the rawQueryParams-value.
+	 * @return the flag
+	 */
+	public boolean getRawQueryParams()
+	{
+		return rawQueryParams_;
+	}
+	
+
+	/**
+	 * Sets if parameters of GET and HEAD requests should be read from the raw query string.
+	 * By default request parameters are obtained from the servlet container.
+	 * If enabled, the query string of GET and HEAD requests is scanned lazily
+	 * and only accessed parameters are decoded. This avoids that the container builds
+	 * its parameter map, but has the following consequences:
+	 * <ul>
+	 * <li>the query string is always decoded as UTF-8, the URI encoding of the container is ignored.
+	 * <li>servlet filters which wrap the HttpServletRequest and override its
+	 * 		getParameter methods are bypassed.
+	 * </ul>
+	 * Requests with other methods, which may contain form parameters in their body,
+	 * still obtain their parameters from the container.
+	 * @param rawQueryParams the flag
+	 */
+	public void setRawQueryParams(boolean rawQueryParams)
+	{
+		rawQueryParams_ = rawQueryParams;
+	}
+
+	
 	//----------------------------
 	// content
 	//----------------------------
@@ -571,9 +656,12 @@ public class AppConfig
 	private TypeLib typeLib_;
 	private AssetConfig assetConfig_;
 	private UploadConfig uploadConfig_;
+	private SessionConfig sessionConfig_ = new SessionConfig();
 	private Resource rootResource_;
 	private ReloadConfig reloadConfig_;
 	private boolean async_;
+	private boolean virtualThreads_;
+	private boolean rawQueryParams_;
 	private ControllerFactory controllerFactory_;
 	private Map<String,ContentSerializer> contentSerializers_ = new HashMap<>();
 	private Exception initException_;
@@ -43,9 +43,11 @@ import org.civilian.processor.IpFilter;
 import org.civilian.processor.ProcessorConfig;
 import org.civilian.processor.ProcessorList;
 import org.civilian.processor.ResourceDispatch;
+import org.civilian.processor.SessionProcessor;
 import org.civilian.request.BadRequestException;
 import org.civilian.request.Request;
 import org.civilian.request.RequestOwner;
+import org.civilian.request.session.SessionStore;
 import org.civilian.resource.Path;
 import org.civilian.resource.Resource;
 import org.civilian.resource.ResourceHandler;
@@ -62,6 +64,7 @@ import org.civilian.text.service.LocaleServiceList;
 import org.civilian.util.Check;
 import org.civilian.util.ClassUtil;
 import org.civilian.util.Settings;
+import org.civilian.util.VirtualThreads;
 import org.slf4j.Logger;
 
 
@@ -189,11 +192,14 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 			// even if init throws an error we complete
 			// setup of safe application properties
 			// since the error page may rely on them
-			data.async			= appConfig.getAsync();
+			virtualThreads_		= initVirtualThreads(appConfig.getVirtualThreads());
+			rawQueryParams_		= appConfig.getRawQueryParams();
+			data.async			= appConfig.getAsync() || virtualThreads_;
 			defaultEncoding_	= appConfig.getDefaultEncoding();
 			version_			= appConfig.getVersion();
 			assetService_		= initAssets(appConfig.getAssetConfig());
 			uploadConfig_		= appConfig.getUploadConfig();
+			sessionConfig_		= appConfig.getSessionConfig();
 			contentSerializers_ = new ContentSerializerConfig(appConfig.getContentSerializers());
 			localeServices_		= new LocaleServiceList( 
 				appConfig.getTypeLib(),
@@ -236,6 +242,21 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 	protected abstract void init(AppConfig config) throws Exception;
 	
 	
+	private boolean initVirtualThreads(boolean enabled)
+	{
+		if (!enabled)
+			return false;
+		if (!VirtualThreads.isSupported())
+		{
+			log.warn("{}: virtual threads not supported by the JVM, processing requests on container threads", this);
+			return false;
+		}
+		if (develop() && !VirtualThreads.isPinningTraced())
+			log.info("{}: processing requests on virtual threads, add JVM arg \"-D{}=short\" to detect pinned threads", this, VirtualThreads.TRACE_PINNED_PROPERTY);
+		return true;
+	}
+	
+	
 	/**
 	 * Initializes the AssetService of the application. Called after
 	 * {@link #init(AppConfig)} finished.
@@ -261,6 +282,11 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 		if (ipList.length > 0)
 			pconfig.addLast(new IpFilter(ipList));
 		
+		// an optional SessionProcessor if sessions are not kept by the container
+		SessionStore sessionStore = sessionConfig_.createStore(getPath());
+		if (sessionStore != null)
+			pconfig.addLast(new SessionProcessor(sessionStore));
+		
 		// resource dispatch as next processor
 		pconfig.addLast(new ResourceDispatch(rootResource_, controllerService_.toString()));
 		
@@ -281,6 +307,7 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 	 * By default the list contains these processors:
 	 * <ol>
 	 * <li>IpFilter, if the Civilian config specified a list of allowed ips
+	 * <li>SessionProcessor, if the {@link SessionConfig} specifies a session store other than the container
 	 * <li>AssetDispatch, to access CSS, JS and other static resource of the application, if 
 	 * 		the asset config is enabled and contains asset locations
 	 * <li>ResourceDispatch, to dispatch requests to resources
@@ -373,6 +400,29 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 	}
 
 
+	/**
+	 * Returns if requests are processed on virtual threads.
+	 * @return the flag
+	 * @see AppConfig#setVirtualThreads(boolean)
+	 */
+	public boolean useVirtualThreads()
+	{
+		return virtualThreads_;
+	}
+
+	
+	/**
+	 * Returns if parameters of GET and HEAD requests are read from the raw query string
+	 * instead of the servlet container.
+	 * @return the flag
+	 * @see AppConfig#setRawQueryParams(boolean)
+	 */
+	public boolean useRawQueryParams()
+	{
+		return rawQueryParams_;
+	}
+
+	
 	/**
 	 * @return the server in which the application is running.
 	 */
@@ -485,8 +535,8 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 
 	/**
 	 * Returns the ContentSerializerMap used by the application.
-	 * By default the application possesses ContentSerializers for text/plain and
-	 * application/json (based on GSON).
+	 * By default the application possesses ContentSerializers for text/plain,
+	 * application/json and application/x-ndjson (based on GSON).
 	 * @see AppConfig#registerContentSerializer(ContentType, ContentSerializer)
 	 */
 	@Override public ContentSerializerConfig getContentSerializers()
@@ -495,6 +545,15 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 	}
 	
 	
+	/**
+	 * @return the SessionConfig which defines where sessions are stored. 
+	 */
+	public SessionConfig getSessionConfig()
+	{
+		return sessionConfig_;
+	}
+	
+	
 	/**
 	 * @return the UploadConfig which defines upload limits and location. 
 	 */
@@ -631,7 +690,7 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 			
 			BadRequestException e = (BadRequestException)error;
 			if (!response.isCommitted())
-				response.sendError(Response.Status.SC400_BAD_REQUEST, e.getMessage(), e.getCause());
+				response.sendError(e.getStatusCode(), e.getMessage(), e.getCause());
 		}
 		else if (!ignoreError(error))
 		{
@@ -708,7 +767,10 @@ public abstract class Application extends ServerApp implements RequestOwner, Res
 	private Resource rootResource_;
 	private AssetService assetService_;
 	private UploadConfig uploadConfig_;
+	private SessionConfig sessionConfig_ = new SessionConfig();
 	private String version_;
+	private boolean virtualThreads_;
+	private boolean rawQueryParams_;
 	private ProcessorList processors_ = ProcessorList.EMPTY;
 	private Map<ControllerSignature,Resource> sig2resource_ = Map.of();
 	private final HashMap<String, Object> attributes_ = new HashMap<>();
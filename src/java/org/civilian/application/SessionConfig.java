@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.application;
+
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.civilian.ConfigKeys;
+import org.civilian.request.session.CookieSessionStore;
+import org.civilian.request.session.OffHeapSessionStore;
+import org.civilian.request.session.SessionStore;
+import org.civilian.resource.Path;
+import org.civilian.util.Check;
+import org.civilian.util.Settings;
+
+
+/**
+ * SessionConfig specifies where an application keeps its sessions.
+ * By default sessions are managed by the servlet container.
+ * Alternatively sessions can be stored in an encrypted and signed cookie on the client 
+ * which allows to scale an application horizontally without sticky or replicated sessions,
+ * or serialized in an off-heap store which keeps the heap small and, if backed by a file,
+ * survives restarts.
+ * The SessionConfig can be either configured in the Civilian config file
+ * or during application setup.
+ * @see AppConfig#setSessionConfig(SessionConfig)
+ * @see AppConfig#getSessionConfig()
+ */
+public class SessionConfig
+{
+	/**
+	 * Store defines the possible session stores. 
+	 */
+	public enum Store
+	{
+		/**
+		 * Sessions are managed by the servlet container.
+		 */
+		CONTAINER,
+		
+		/**
+		 * Sessions are stored in a cookie.
+		 * @see CookieSessionStore
+		 */
+		COOKIE,
+		
+		/**
+		 * Sessions are stored off-heap.
+		 * @see OffHeapSessionStore
+		 */
+		OFFHEAP
+	}
+	
+	
+	public static final Store DEFAULT_STORE 				= Store.CONTAINER;
+	public static final String DEFAULT_COOKIENAME 			= "civsession";
+	public static final int DEFAULT_MAXINACTIVEINTERVAL		= 1800;
+	public static final String DEFAULT_FILE					= "";
+	public static final long DEFAULT_SIZE					= 64L * 1024 * 1024;
+	
+	
+	/**
+	 * Creates a new SessionConfig initialized from the given config.
+	 * @param settings the settings
+	 */
+	public SessionConfig(Settings settings)
+	{
+		this(settings.getValue(ConfigKeys.TYPE, s -> Store.valueOf(s.toUpperCase()), DEFAULT_STORE),
+			settings.get(ConfigKeys.SECRET, null),
+			settings.get(ConfigKeys.NAME, DEFAULT_COOKIENAME),
+			settings.getInt(ConfigKeys.MAXINACTIVEINTERVAL, DEFAULT_MAXINACTIVEINTERVAL),
+			settings.get(ConfigKeys.FILE, DEFAULT_FILE),
+			settings.getLong(ConfigKeys.SIZE, DEFAULT_SIZE));
+	}
+	
+	
+	/**
+	 * Creates a new SessionConfig which uses container sessions. 
+	 */
+	public SessionConfig()
+	{
+		this(Store.CONTAINER, null, DEFAULT_COOKIENAME, DEFAULT_MAXINACTIVEINTERVAL);
+	}
+
+	
+	/**
+	 * Creates a new SessionConfig.
+	 * @param store the session store
+	 * @param secret the secret to encrypt and sign session cookies. Required for the COOKIE store
+	 * 		and must have at least 16 characters.
+	 * @param cookieName the name of the session cookie
+	 * @param maxInactiveInterval the time in seconds between client requests before a session expires, 
+	 * 		or a value &lt;= 0 if sessions do not expire.
+	 */
+	public SessionConfig(Store store, String secret, String cookieName, int maxInactiveInterval)
+	{
+		this(store, secret, cookieName, maxInactiveInterval, DEFAULT_FILE, DEFAULT_SIZE);
+	}
+
+	
+	/**
+	 * Creates a new SessionConfig.
+	 * @param store the session store
+	 * @param secret the secret to encrypt and sign session cookies. Required for the COOKIE store
+	 * 		and must have at least 16 characters.
+	 * @param cookieName the name of the session cookie
+	 * @param maxInactiveInterval the time in seconds between client requests before a session expires, 
+	 * 		or a value &lt;= 0 if sessions do not expire.
+	 * @param file the file mapped by the OFFHEAP store or "" if the store should not be persisted
+	 * @param size the size of the OFFHEAP store in bytes
+	 */
+	public SessionConfig(Store store, String secret, String cookieName, int maxInactiveInterval, String file, long size)
+	{
+		file_					= Check.notNull(file, "file");
+		size_					= size;
+		store_ 					= Check.notNull(store, "store");
+		secret_					= secret;
+		cookieName_				= Check.notEmpty(cookieName, "cookieName");
+		maxInactiveInterval_	= maxInactiveInterval;
+		if ((store == Store.COOKIE) && ((secret == null) || (secret.length() < 16)))
+			throw new IllegalArgumentException("cookie sessions need a secret with at least 16 characters");
+	}
+	
+	
+	/**
+	 * @return the session store.
+	 */
+	public Store getStore()
+	{
+		return store_;
+	}
+	
+	
+	/**
+	 * @return the name of the session cookie.
+	 */
+	public String getCookieName()
+	{
+		return cookieName_;
+	}
+
+	
+	/**
+	 * @return the time in seconds between client requests before a session expires.
+	 */
+	public int getMaxInactiveInterval()
+	{
+		return maxInactiveInterval_;
+	}
+
+	
+	/**
+	 * @return the file mapped by the OFFHEAP store or "" if the store uses a direct buffer. 
+	 */
+	public String getFile()
+	{
+		return file_;
+	}
+
+	
+	/**
+	 * @return the size of the OFFHEAP store in bytes.
+	 */
+	public long getSize()
+	{
+		return size_;
+	}
+
+	
+	/**
+	 * Creates the SessionStore described by this config.
+	 * @param appPath the application path, used as cookie path 
+	 * @return the store or null if container sessions should be used.
+	 * @throws IOException if the file of an OFFHEAP store cannot be mapped
+	 */
+	public SessionStore createStore(Path appPath) throws IOException
+	{
+		switch (store_)
+		{
+			case COOKIE:
+				return new CookieSessionStore(secret_, cookieName_, appPath.print(), maxInactiveInterval_);
+			case OFFHEAP:
+				return new OffHeapSessionStore(file_.isEmpty() ? null : Paths.get(file_), size_, 
+					cookieName_, appPath.print(), maxInactiveInterval_);
+			default:
+				return null;
+		}
+	}
+	
+	
+	@Override public String toString()
+	{
+		return store_.name().toLowerCase();
+	}
+
+
+	private final Store store_;
+	private final String secret_;
+	private final String cookieName_;
+	private final int maxInactiveInterval_;
+	private final String file_;
+	private final long size_;
+}
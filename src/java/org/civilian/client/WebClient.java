@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.client;
+
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.civilian.content.ContentSerializer;
+import org.civilian.content.ContentSerializerConfig;
+import org.civilian.content.ContentType;
+import org.civilian.util.Check;
+import org.civilian.util.http.HeaderNames;
+
+
+/**
+ * WebClient sends requests to the URLs built by {@link WebUrl} and {@link WebResource}.
+ * It is based on a {@link HttpClient} which pools connections and prefers HTTP/2, 
+ * and should therefore be shared, e.g. by using {@link #getDefault()}.
+ * All calls are asynchronous and return a CompletableFuture.
+ * Identical GET requests which are in flight at the same time are coalesced
+ * into a single request whose {@link WebResponse} is shared.
+ * Content is written and read with the same {@link ContentSerializer ContentSerializers} 
+ * which are used on the server side. Inside an application pass
+ * {@link org.civilian.application.Application#getContentSerializers()} to the constructor.
+ */
+public class WebClient
+{
+	/**
+	 * The default timeout of connections and requests.
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+	
+	
+	/**
+	 * @return a shared WebClient which uses the default serializers.
+	 */
+	public static WebClient getDefault()
+	{
+		return DefaultHolder.INSTANCE;
+	}
+	
+	
+	private static class DefaultHolder
+	{
+		public static final WebClient INSTANCE = new WebClient();
+	}
+	
+	
+	/**
+	 * Creates a new WebClient with a new HttpClient and the default serializers.
+	 * @see ContentSerializerConfig#createDefault()
+	 */
+	public WebClient()
+	{
+		this(createHttpClient(), ContentSerializerConfig.createDefault());
+	}
+
+	
+	/**
+	 * Creates a new WebClient.
+	 * @param httpClient the HttpClient used to send requests
+	 * @param serializers the serializers used to write and read content
+	 */
+	public WebClient(HttpClient httpClient, ContentSerializerConfig serializers)
+	{
+		httpClient_ 	= Check.notNull(httpClient, "httpClient");
+		serializers_	= Check.notNull(serializers, "serializers");
+	}
+	
+	
+	/**
+	 * Creates a HttpClient which prefers HTTP/2 and follows redirects. 
+	 * @return the client
+	 */
+	public static HttpClient createHttpClient()
+	{
+		return HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_2)
+			.followRedirects(HttpClient.Redirect.NORMAL)
+			.connectTimeout(DEFAULT_TIMEOUT)
+			.build();
+	}
+	
+	
+	/**
+	 * @return the underlying HttpClient.
+	 */
+	public HttpClient getHttpClient()
+	{
+		return httpClient_;
+	}
+	
+	
+	/**
+	 * @return the number of GET requests which are currently in flight. 
+	 */
+	public int getInFlightCount()
+	{
+		return inFlight_.size();
+	}
+	
+	
+	//---------------------------------
+	// GET
+	//---------------------------------
+	
+	
+	/**
+	 * Sends a GET request.
+	 * @param url the url
+	 * @return the response future
+	 */
+	public CompletableFuture<WebResponse> get(WebUrl url)
+	{
+		return get(url, (ContentType)null);
+	}
+
+	
+	/**
+	 * Sends a GET request. If an identical request is already in flight
+	 * no new request is sent but the response of the pending request is returned.
+	 * @param url the url
+	 * @param accept the accepted content type or null
+	 * @return the response future
+	 */
+	public CompletableFuture<WebResponse> get(WebUrl url, ContentType accept)
+	{
+		String uri = toUri(url);
+		String key = accept != null ? uri + ' ' + accept.getValue() : uri;
+		HttpRequest.Builder builder = request(uri, accept).GET();
+		
+		CompletableFuture<WebResponse> future = new CompletableFuture<>();
+		CompletableFuture<WebResponse> pending = inFlight_.putIfAbsent(key, future);
+		if (pending == null)
+		{
+			pending = future;
+			send(builder, uri).whenComplete((response, error) -> {
+				inFlight_.remove(key, future);
+				if (error != null)
+					future.completeExceptionally(error);
+				else
+					future.complete(response);
+			});
+		}
+		// callers must not be able to complete the shared future
+		return pending.copy();
+	}
+	
+	
+	/**
+	 * Sends a GET request which accepts JSON and reads the response content.
+	 * @param url the url
+	 * @param type the result type
+	 * @param <T> the type
+	 * @return the result future
+	 */
+	public <T> CompletableFuture<T> get(WebUrl url, Class<T> type)
+	{
+		return get(url, ContentType.APPLICATION_JSON).thenApply(response -> read(response, type));
+	}
+	
+	
+	//---------------------------------
+	// other methods
+	//---------------------------------
+
+	
+	/**
+	 * Sends a POST request with JSON content and reads the JSON response.
+	 * @param url the url
+	 * @param content the request content
+	 * @param type the result type
+	 * @param <T> the type
+	 * @return the result future
+	 */
+	public <T> CompletableFuture<T> post(WebUrl url, Object content, Class<T> type)
+	{
+		return send("POST", url, content, ContentType.APPLICATION_JSON, ContentType.APPLICATION_JSON)
+			.thenApply(response -> read(response, type));
+	}
+
+	
+	/**
+	 * Sends a DELETE request.
+	 * @param url the url
+	 * @return the response future
+	 */
+	public CompletableFuture<WebResponse> delete(WebUrl url)
+	{
+		return send("DELETE", url, null, null, null);
+	}
+	
+	
+	/**
+	 * Sends a request. Requests sent by this method are not coalesced.
+	 * @param method the request method
+	 * @param url the url
+	 * @param content the content or null
+	 * @param contentType the content type, required if content is not null. 
+	 * 		The content is written by the ContentSerializer for that type.
+	 * @param accept the accepted content type or null
+	 * @return the response future
+	 */
+	public CompletableFuture<WebResponse> send(String method, WebUrl url, Object content, ContentType contentType, ContentType accept)
+	{
+		Check.notNull(method, "method");
+		String uri = toUri(url);
+		HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.noBody();
+		HttpRequest.Builder builder = request(uri, accept);
+		if (content != null)
+		{
+			Check.notNull(contentType, "contentType");
+			try
+			{
+				body = HttpRequest.BodyPublishers.ofByteArray(write(content, contentType));
+			}
+			catch (Exception e)
+			{
+				return CompletableFuture.failedFuture(e);
+			}
+			builder.header(HeaderNames.CONTENT_TYPE, contentType.getValue() + "; charset=UTF-8");
+		}
+		return send(builder.method(method, body), uri);
+	}
+	
+	
+	private HttpRequest.Builder request(String uri, ContentType accept)
+	{
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).timeout(DEFAULT_TIMEOUT);
+		if (accept != null)
+			builder.header(HeaderNames.ACCEPT, accept.getValue());
+		return builder;
+	}
+	
+	
+	private CompletableFuture<WebResponse> send(HttpRequest.Builder builder, String uri)
+	{
+		HttpRequest request = builder.build();
+		return httpClient_.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+			.thenApply(r -> new WebResponse(request.method(), uri, r.statusCode(), r.headers(), r.body(), serializers_));
+	}
+
+	
+	private byte[] write(Object content, ContentType contentType) throws Exception
+	{
+		ContentSerializer serializer = serializers_.get(contentType);
+		if (serializer == null)
+			throw new IllegalArgumentException("no ContentSerializer for content type " + contentType);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serializer.write(content, out, StandardCharsets.UTF_8);
+		return out.toByteArray();
+	}
+	
+	
+	private static <T> T read(WebResponse response, Class<T> type)
+	{
+		try
+		{
+			return response.read(type);
+		}
+		catch (Exception e)
+		{
+			throw new CompletionException(e);
+		}
+	}
+	
+	
+	private static String toUri(WebUrl url)
+	{
+		return Check.notNull(url, "url").toString();
+	}
+	
+	
+	private final HttpClient httpClient_;
+	private final ContentSerializerConfig serializers_;
+	private final ConcurrentHashMap<String,CompletableFuture<WebResponse>> inFlight_ = new ConcurrentHashMap<>();
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.client;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.http.HttpHeaders;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.civilian.content.ContentSerializer;
+import org.civilian.content.ContentSerializerConfig;
+import org.civilian.content.ContentType;
+import org.civilian.util.Check;
+import org.civilian.util.http.HeaderNames;
+
+
+/**
+ * WebResponse is a completely received response of a request sent by a {@link WebClient}.
+ * It is immutable and can therefore be shared by callers of coalesced requests.
+ */
+public class WebResponse
+{
+	/**
+	 * Creates a new WebResponse.
+	 * @param method the request method
+	 * @param uri the request uri
+	 * @param status the status code
+	 * @param headers the response headers
+	 * @param body the response body
+	 * @param serializers the serializers used to read the content
+	 */
+	public WebResponse(String method, String uri, int status, HttpHeaders headers, byte[] body, ContentSerializerConfig serializers)
+	{
+		method_			= Check.notNull(method, "method");
+		uri_			= Check.notNull(uri, "uri");
+		status_ 		= status;
+		headers_ 		= Check.notNull(headers, "headers");
+		body_			= Check.notNull(body, "body");
+		serializers_ 	= Check.notNull(serializers, "serializers");
+		
+		String contentType = headers.firstValue(HeaderNames.CONTENT_TYPE).orElse(null);
+		Charset charset = StandardCharsets.UTF_8;
+		if (contentType != null)
+		{
+			int p = contentType.indexOf(';');
+			if (p >= 0)
+			{
+				charset = parseCharset(contentType.substring(p + 1), charset);
+				contentType = contentType.substring(0, p);
+			}
+			contentType_ = ContentType.getContentType(contentType.trim());
+		}
+		else
+			contentType_ = null;
+		charset_ = charset;
+	}
+	
+	
+	private static Charset parseCharset(String params, Charset defaultCharset)
+	{
+		for (String param : params.split(";"))
+		{
+			param = param.trim();
+			if (param.regionMatches(true, 0, "charset=", 0, 8))
+			{
+				try
+				{
+					return Charset.forName(param.substring(8).replace("\"", ""));
+				}
+				catch (IllegalArgumentException e)
+				{
+					break;
+				}
+			}
+		}
+		return defaultCharset;
+	}
+	
+	
+	/**
+	 * @return the status code.
+	 */
+	public int getStatus()
+	{
+		return status_;
+	}
+	
+	
+	/**
+	 * @return if the status code is in the 2xx range. 
+	 */
+	public boolean isSuccess()
+	{
+		return (status_ >= 200) && (status_ < 300);
+	}
+	
+	
+	/**
+	 * Tests if the status is a success status.
+	 * @return this
+	 * @throws IOException if the response does not have a success status 
+	 */
+	public WebResponse checkSuccess() throws IOException
+	{
+		if (!isSuccess())
+			throw new IOException(method_ + ' ' + uri_ + " returned status " + status_);
+		return this;
+	}
+
+	
+	/**
+	 * @return the response headers.
+	 */
+	public HttpHeaders getHeaders()
+	{
+		return headers_;
+	}
+
+	
+	/**
+	 * @param name a header name 
+	 * @return the first value of the header or null.
+	 */
+	public String getHeader(String name)
+	{
+		return headers_.firstValue(name).orElse(null);
+	}
+	
+	
+	/**
+	 * @return the content type of the response, without parameters, or null if not known.
+	 */
+	public ContentType getContentType()
+	{
+		return contentType_;
+	}
+	
+	
+	/**
+	 * @return the charset of the response content, defaults to UTF-8.
+	 */
+	public Charset getCharset()
+	{
+		return charset_;
+	}
+
+	
+	/**
+	 * Returns the response content. The array is shared and must not be modified. 
+	 * @return the content
+	 */
+	public byte[] getBody()
+	{
+		return body_;
+	}
+	
+	
+	/**
+	 * @return the response content as string.
+	 */
+	public String getText()
+	{
+		return new String(body_, charset_);
+	}
+
+	
+	/**
+	 * Reads the response content using the ContentSerializer for the 
+	 * content type of the response.
+	 * @param type the type of the result
+	 * @param <T> the type
+	 * @return the result
+	 * @throws Exception if the response does not have a success status, no
+	 * 		serializer is available or the content cannot be read.
+	 */
+	public <T> T read(Class<T> type) throws Exception
+	{
+		return read(type, type);
+	}
+	
+	
+	/**
+	 * Reads the response content using the ContentSerializer for the 
+	 * content type of the response.
+	 * @param type the type of the result
+	 * @param genericType the generic type of the result
+	 * @param <T> the type
+	 * @return the result
+	 * @throws Exception if the response does not have a success status, no
+	 * 		serializer is available or the content cannot be read.
+	 */
+	public <T> T read(Class<T> type, Type genericType) throws Exception
+	{
+		checkSuccess();
+		if (type == String.class)
+			return type.cast(getText());
+		ContentSerializer serializer = serializers_.get(contentType_);
+		if (serializer == null)
+			throw new IOException(method_ + ' ' + uri_ + ": no ContentSerializer for content type " + contentType_);
+		return serializer.read(type, genericType, new ByteArrayInputStream(body_), charset_);
+	}
+	
+	
+	@Override public String toString()
+	{
+		return method_ + ' ' + uri_ + " -> " + status_;
+	}
+
+
+	private final String method_;
+	private final String uri_;
+	private final int status_;
+	private final HttpHeaders headers_;
+	private final byte[] body_;
+	private final ContentType contentType_;
+	private final Charset charset_;
+	private final ContentSerializerConfig serializers_;
+}
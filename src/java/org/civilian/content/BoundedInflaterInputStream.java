@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.content;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+import org.civilian.util.BufferPool;
+import org.civilian.util.Check;
+import org.civilian.util.InflaterPool;
+
+
+/**
+ * BoundedInflaterInputStream decompresses GZIP or ZLIB (i.e. "deflate") content.
+ * Unlike java.util.zip.GZIPInputStream and java.util.zip.InflaterInputStream it
+ * <ul>
+ * <li>takes its Inflater from an {@link InflaterPool} and its input buffer from a {@link BufferPool}
+ * 		and returns both as soon as the end of the compressed data is reached or the stream is closed.
+ * <li>throws a {@link ContentTooLargeException} as soon as the inflated content exceeds a maximum size.
+ * 		It never inflates more than one byte beyond that limit.
+ * </ul> 
+ */
+public class BoundedInflaterInputStream extends InputStream
+{
+	private static final int GZIP_MAGIC	= 0x8b1f;
+	private static final int FHCRC		= 2;
+	private static final int FEXTRA		= 4;
+	private static final int FNAME		= 8;
+	private static final int FCOMMENT	= 16;
+	
+	
+	/**
+	 * Creates a new BoundedInflaterInputStream.
+	 * @param in the compressed input
+	 * @param gzip true if the input is in GZIP format, false if it is in ZLIB format
+	 * @param inflaters the inflater pool. Its nowrap parameter must equal the gzip parameter. 
+	 * @param maxSize the maximum number of inflated bytes, Long.MAX_VALUE for no limit
+	 */
+	public BoundedInflaterInputStream(InputStream in, boolean gzip, InflaterPool inflaters, long maxSize)
+	{
+		in_ 		= Check.notNull(in, "in");
+		inflaters_	= Check.notNull(inflaters, "inflaters");
+		if (inflaters.isNowrap() != gzip)
+			throw new IllegalArgumentException("inflaters.nowrap must be " + gzip);
+		if (maxSize < 0)
+			throw new IllegalArgumentException("maxSize must >= 0, but is " + maxSize);
+		gzip_		= gzip;
+		crc_		= gzip ? new CRC32() : null;
+		maxSize_	= maxSize;
+		inflater_	= inflaters.acquire();
+		buffer_		= BufferPool.DEFAULT.acquire();
+	}
+	
+	
+	/**
+	 * @return the number of inflated bytes returned so far.
+	 */
+	public long getCount()
+	{
+		return count_;
+	}
+	
+	
+	@Override public int read() throws IOException
+	{
+		return read(single_, 0, 1) == -1 ? -1 : single_[0] & 0xff;
+	}
+	
+	
+	@Override public int read(byte[] b, int off, int len) throws IOException
+	{
+		if ((off < 0) || (len < 0) || (len > b.length - off))
+			throw new IndexOutOfBoundsException();
+		if (eof_)
+			return -1;
+		if (inflater_ == null)
+			throw new IOException("stream closed");
+		if (count_ > maxSize_)
+			throw new ContentTooLargeException(maxSize_);
+		if (len == 0)
+			return 0;
+		
+		if (!started_)
+		{
+			started_ = true;
+			if (gzip_)
+				readHeader();
+		}
+		
+		// inflate at most one byte beyond the limit
+		if (maxSize_ - count_ < len)
+			len = (int)(maxSize_ - count_) + 1;
+
+		try
+		{
+			while(true)
+			{
+				int n = inflater_.inflate(b, off, len);
+				if (n > 0)
+				{
+					count_ += n;
+					if (count_ > maxSize_)
+						throw new ContentTooLargeException(maxSize_);
+					if (crc_ != null)
+						crc_.update(b, off, n);
+					return n;
+				}
+				if (inflater_.finished())
+				{
+					pos_ = limit_ - inflater_.getRemaining();
+					if (!gzip_ || !nextMember())
+					{
+						eof_ = true;
+						release();
+						return -1;
+					}
+				}
+				else if (inflater_.needsDictionary())
+					throw new ZipException("compressed content requires a preset dictionary");
+				else if (inflater_.needsInput())
+				{
+					if ((pos_ == limit_) && !fill())
+						throw new EOFException("unexpected end of compressed content");
+					inflater_.setInput(buffer_, pos_, limit_ - pos_);
+					pos_ = limit_;
+				}
+			}
+		}
+		catch(DataFormatException e)
+		{
+			String msg = e.getMessage();
+			throw new ZipException(msg != null ? msg : "invalid compressed content");
+		}
+	}
+
+	
+	@Override public int available() throws IOException
+	{
+		return eof_ || (inflater_ == null) ? 0 : 1;
+	}
+	
+	
+	/**
+	 * Returns the Inflater and the buffer to their pools. The stream can 
+	 * no longer be read, but the underlying input is not closed.
+	 * Calling release multiple times has no effect.
+	 */
+	public void release()
+	{
+		if (inflater_ != null)
+		{
+			inflaters_.release(inflater_);
+			inflater_ = null;
+			BufferPool.DEFAULT.release(buffer_);
+			buffer_ = null;
+		}
+	}
+	
+	
+	/**
+	 * Releases the pooled resources and closes the underlying input.
+	 */
+	@Override public void close() throws IOException
+	{
+		release();
+		in_.close();
+	}
+	
+	
+	/**
+	 * Reads the trailer of the current GZIP member and
+	 * starts the next member if more input is available.
+	 * @return if a next member was started 
+	 */
+	private boolean nextMember() throws IOException
+	{
+		long crc 	= readInt();
+		long size 	= readInt();
+		if ((crc != crc_.getValue()) || (size != (inflater_.getBytesWritten() & 0xffffffffL)))
+			throw new ZipException("corrupt GZIP trailer");
+		
+		if ((pos_ == limit_) && !fill())
+			return false;
+		
+		readHeader();
+		inflater_.reset();
+		crc_.reset();
+		return true;
+	}
+	
+	
+	private void readHeader() throws IOException
+	{
+		if (readUShort() != GZIP_MAGIC)
+			throw new ZipException("not in GZIP format");
+		if (readUByte() != 8)
+			throw new ZipException("unsupported compression method");
+		int flags = readUByte();
+		skipBytes(6); // mtime, xfl, os
+		if ((flags & FEXTRA) != 0)
+			skipBytes(readUShort());
+		if ((flags & FNAME) != 0)
+			skipString();
+		if ((flags & FCOMMENT) != 0)
+			skipString();
+		if ((flags & FHCRC) != 0)
+			skipBytes(2);
+	}
+	
+	
+	private void skipString() throws IOException
+	{
+		while(readUByte() != 0)
+			;
+	}
+	
+	
+	private void skipBytes(int n) throws IOException
+	{
+		while(n-- > 0)
+			readUByte();
+	}
+	
+
+	private long readInt() throws IOException
+	{
+		return readUShort() | ((long)readUShort() << 16);
+	}
+	
+	
+	private int readUShort() throws IOException
+	{
+		return readUByte() | (readUByte() << 8);
+	}
+	
+	
+	private int readUByte() throws IOException
+	{
+		if ((pos_ == limit_) && !fill())
+			throw new EOFException("unexpected end of GZIP content");
+		return buffer_[pos_++] & 0xff;
+	}
+	
+	
+	private boolean fill() throws IOException
+	{
+		int n = in_.read(buffer_, 0, buffer_.length);
+		if (n <= 0)
+			return false;
+		pos_	= 0;
+		limit_	= n;
+		return true;
+	}
+	
+
+	private final InputStream in_;
+	private final InflaterPool inflaters_;
+	private final boolean gzip_;
+	private final CRC32 crc_;
+	private final long maxSize_;
+	private final byte[] single_ = new byte[1];
+	private Inflater inflater_;
+	private byte[] buffer_;
+	private int pos_;
+	private int limit_;
+	private long count_;
+	private boolean started_;
+	private boolean eof_;
+}
@@ -22,6 +22,7 @@ import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.StringTokenizer;
 import org.civilian.util.Check;
+import org.civilian.util.InflaterPool;
 import org.civilian.util.http.HeaderParser;
 
 
@@ -327,6 +328,23 @@ public abstract class CompressionScheme
 	public abstract InputStream wrap(InputStream in) throws IOException;
 
 	
+	/**
+	 * Wraps a InputStream for compressed binary content which decompresses the data
+	 * and throws a {@link ContentTooLargeException} if the decompressed data exceeds
+	 * a maximum size.
+	 * The default implementation counts the bytes read from {@link #wrap(InputStream)}.
+	 * @param in a InputStream
+	 * @param maxSize the maximum number of decompressed bytes, Long.MAX_VALUE for no limit
+	 * @return the wrapped stream
+	 * @throws IOException if a IO error occurs
+	 */
+	public InputStream wrap(InputStream in, long maxSize) throws IOException
+	{
+		InputStream wrapped = wrap(in);
+		return maxSize == Long.MAX_VALUE ? wrapped : new LimitedInputStream(wrapped, maxSize);
+	}
+
+	
 	/**
 	 * Wraps a OutputStream for uncompressed binary content which compresses the data.
 	 * @param out a OutputStream
@@ -347,10 +365,22 @@ public abstract class CompressionScheme
 		}
 		
 		
+		/**
+		 * Returns a {@link BoundedInflaterInputStream} which uses pooled Inflaters.
+		 */
 		@Override public InputStream wrap(InputStream in) throws IOException
 		{
-			return new java.util.zip.GZIPInputStream(in);
+			return wrap(in, Long.MAX_VALUE);
+		}
+
+
+		@Override public InputStream wrap(InputStream in, long maxSize) throws IOException
+		{
+			return new BoundedInflaterInputStream(in, true, INFLATERS, maxSize);
 		}
+		
+		
+		private static final InflaterPool INFLATERS = new InflaterPool(true, 64);
 
 
 		@Override public OutputStream wrap(OutputStream out) throws IOException
@@ -441,11 +471,23 @@ public abstract class CompressionScheme
 		}
 		
 		
+		/**
+		 * Returns a {@link BoundedInflaterInputStream} which uses pooled Inflaters.
+		 */
 		@Override public InputStream wrap(InputStream in) throws IOException
 		{
-			return new java.util.zip.InflaterInputStream(in);
+			return wrap(in, Long.MAX_VALUE);
 		}
 
+
+		@Override public InputStream wrap(InputStream in, long maxSize) throws IOException
+		{
+			return new BoundedInflaterInputStream(in, false, INFLATERS, maxSize);
+		}
+		
+		
+		private static final InflaterPool INFLATERS = new InflaterPool(false, 64);
+
 	
 		@Override public OutputStream wrap(OutputStream out) throws IOException
 		{
@@ -500,6 +542,58 @@ public abstract class CompressionScheme
 		}
 	}
 
+
+	/**
+	 * LimitedInputStream throws a {@link ContentTooLargeException}
+	 * if more than a maximum number of bytes are read. 
+	 */
+	public static class LimitedInputStream extends java.io.FilterInputStream
+	{
+		public LimitedInputStream(InputStream in, long maxSize)
+		{
+			super(in);
+			maxSize_ = maxSize;
+		}
+		
+		
+		@Override public int read() throws IOException
+		{
+			int b = super.read();
+			if (b != -1)
+				count(1);
+			return b;
+		}
+		
+		
+		@Override public int read(byte[] b, int off, int len) throws IOException
+		{
+			int n = super.read(b, off, len);
+			if (n > 0)
+				count(n);
+			return n;
+		}
+		
+		
+		@Override public long skip(long n) throws IOException
+		{
+			long skipped = super.skip(n);
+			count(skipped);
+			return skipped;
+		}
+		
+		
+		private void count(long n) throws ContentTooLargeException
+		{
+			count_ += n;
+			if (count_ > maxSize_)
+				throw new ContentTooLargeException(maxSize_);
+		}
+		
+		
+		private final long maxSize_;
+		private long count_;
+	}
+
 	
 	private final String name_;
 }
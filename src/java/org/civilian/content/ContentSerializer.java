@@ -16,13 +16,21 @@
 package org.civilian.content;
 
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
 import org.civilian.application.AppConfig;
 import org.civilian.application.Application;
+import org.civilian.util.Check;
 
 
 /**
@@ -62,6 +70,24 @@ public abstract class ContentSerializer
 	public abstract <T> T read(Class<T> type, Type genericType, Reader reader) throws Exception; 
 
 	
+	/**
+	 * Reads the content from the given InputStream and constructs a object of
+	 * a certain type. The default implementation reads from a InputStreamReader.
+	 * @param type the type of the constructed object
+	 * @param genericType the generic type of the constructed object or null if not known
+	 * @param in an InputStream 
+	 * @param charset the charset of the content 
+	 * @param <T> type class  
+	 * @return the result object  
+	 * @throws Exception if an exception occurs
+	 * @see #supportsBytes()
+	 */
+	public <T> T read(Class<T> type, Type genericType, InputStream in, Charset charset) throws Exception
+	{
+		return read(type, genericType, new InputStreamReader(in, charset));
+	}
+
+	
 	/**
 	 * Constructs a object of a certain type, given a string representation.
 	 * @param type the type of the constructed object
@@ -100,6 +126,72 @@ public abstract class ContentSerializer
 	public abstract void write(Object value, Writer writer) throws Exception; 
 
 
+	/**
+	 * Writes a sequence of values to the writer.
+	 * The default implementation collects the values into a list and
+	 * writes the list. Implementations which are able to serialize
+	 * the values incrementally should override this method.
+	 * @param values an iterator of the values
+	 * @param writer a writer
+	 * @throws Exception if an exception occurs
+	 */
+	public void writeElements(Iterator<?> values, Writer writer) throws Exception
+	{
+		Check.notNull(values, "values");
+		ArrayList<Object> list = new ArrayList<>();
+		values.forEachRemaining(list::add);
+		write(list, writer);
+	}
+
+
+	/**
+	 * Writes the value to the OutputStream. 
+	 * The default implementation writes to a OutputStreamWriter.
+	 * @param value a value
+	 * @param out an OutputStream
+	 * @param charset the charset of the content
+	 * @throws Exception if an exception occurs
+	 * @see #supportsBytes()
+	 */
+	public void write(Object value, OutputStream out, Charset charset) throws Exception
+	{
+		Writer writer = new OutputStreamWriter(out, charset);
+		write(value, writer);
+		writer.flush();
+	}
+
+	
+	/**
+	 * Writes a sequence of values to the OutputStream.
+	 * The default implementation writes to a OutputStreamWriter.
+	 * @param values an iterator of the values
+	 * @param out an OutputStream
+	 * @param charset the charset of the content
+	 * @throws Exception if an exception occurs
+	 * @see #supportsBytes()
+	 */
+	public void writeElements(Iterator<?> values, OutputStream out, Charset charset) throws Exception
+	{
+		Writer writer = new OutputStreamWriter(out, charset);
+		writeElements(values, writer);
+		writer.flush();
+	}
+
+	
+	/**
+	 * Returns if the serializer has an efficient implementation to
+	 * read from an InputStream and write to an OutputStream. 
+	 * In this case request and response content is read and written in binary form,
+	 * bypassing the Reader and Writer of request and response.
+	 * The default implementation returns false.
+	 * @return supports bytes?
+	 */
+	public boolean supportsBytes()
+	{
+		return false;
+	}
+	
+	
 	/**
 	 * Converts the value to a string.
 	 * @param value a value
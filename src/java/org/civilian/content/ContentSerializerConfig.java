@@ -2,7 +2,9 @@ package org.civilian.content;
 
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import org.civilian.util.ClassUtil;
 
 
 public class ContentSerializerConfig 
@@ -10,6 +12,35 @@ public class ContentSerializerConfig
 	public static final ContentSerializerConfig EMPTY = new ContentSerializerConfig(null);
 	
 	
+	/**
+	 * Adds the default serializers to a map, unless the map already contains a serializer
+	 * for the content type: text/plain, and if GSON is available, application/json 
+	 * and application/x-ndjson.
+	 * @param map maps content types to serializers
+	 */
+	public static void addDefaults(Map<String,ContentSerializer> map)
+	{
+		map.putIfAbsent(ContentType.TEXT_PLAIN.getValue(), new TextSerializer());
+		if (!map.containsKey(ContentType.APPLICATION_JSON.getValue()) && 
+			ClassUtil.getPotentialClass("com.google.gson.Gson", Object.class, null) != null)
+		{
+			map.put(ContentType.APPLICATION_JSON.getValue(), new GsonJsonSerializer());
+			map.put(ContentType.APPLICATION_X_NDJSON.getValue(), new GsonNdJsonSerializer());
+		}
+	}
+	
+	
+	/**
+	 * @return a config containing the {@link #addDefaults(Map) default} serializers.
+	 */
+	public static ContentSerializerConfig createDefault()
+	{
+		Map<String,ContentSerializer> map = new HashMap<>();
+		addDefaults(map);
+		return new ContentSerializerConfig(map);
+	}
+	
+	
 	public ContentSerializerConfig(Map<String,ContentSerializer> map)
 	{
 		map_ = map != null ? map : Map.of();
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.content;
+
+
+import java.io.IOException;
+
+
+/**
+ * ContentTooLargeException is thrown by a decompressing stream
+ * when the inflated content exceeds a configured maximum size.
+ * @see CompressionScheme#wrap(java.io.InputStream, long)
+ */
+public class ContentTooLargeException extends IOException
+{
+	private static final long serialVersionUID = 4383059425405217264L;
+
+	
+	/**
+	 * Creates a new ContentTooLargeException.
+	 * @param maxSize the maximum size which was exceeded
+	 */
+	public ContentTooLargeException(long maxSize)
+	{
+		super("inflated content exceeds " + maxSize + " bytes");
+		maxSize_ = maxSize;
+	}
+	
+	
+	/**
+	 * @return the maximum size which was exceeded.
+	 */
+	public long getMaxSize()
+	{
+		return maxSize_;
+	}
+	
+	
+	private final long maxSize_;
+}
@@ -62,6 +62,7 @@ public class ContentType
 		public static final String APPLICATION_XML			= Types.APPLICATION + '/' + "xml";
 		public static final String APPLICATION_X_MPEG		= Types.APPLICATION + '/' + "x-mpeg";
 		public static final String APPLICATION_X_FLASH		= Types.APPLICATION + '/' + "x-flash";
+		public static final String APPLICATION_X_NDJSON		= Types.APPLICATION + '/' + "x-ndjson";
 		public static final String APPLICATION_X_WWW_FORM_URLENCODED 
 															= Types.APPLICATION + '/' + "x-www-form-urlencoded";
 		public static final String TEXT_CSS 				= Types.TEXT 		+ '/' + "css";
@@ -122,6 +123,11 @@ public class ContentType
 	 */
 	public static final ContentType APPLICATION_X_FLASH = builtin(Strings.APPLICATION_X_FLASH);
 
+	/**
+	 * ContentType("application/x-ndjson") 
+	 */
+	public static final ContentType APPLICATION_X_NDJSON = builtin(Strings.APPLICATION_X_NDJSON);
+
 	/**
 	 * ContentType("application/x-www-form-urlencoded") 
 	 */
@@ -16,19 +16,26 @@
 package org.civilian.content;
 
 
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
 import org.civilian.text.keys.KeyList;
 import org.civilian.text.keys.KeyListSerializer;
 import org.civilian.util.Check;
 import org.civilian.util.ClassUtil;
+import org.civilian.util.Utf8Writer;
 
 
 /**
@@ -98,6 +105,130 @@ public class GsonJsonSerializer extends ContentSerializer
 	}
 	
 	
+	/**
+	 * Writes the object to the OutputStream. For UTF-8 the content is encoded by a
+	 * {@link Utf8Writer} using a pooled buffer.
+	 */
+	@Override public void write(Object object, OutputStream out, Charset charset) throws Exception
+	{
+		if (!StandardCharsets.UTF_8.equals(charset))
+			super.write(object, out, charset);
+		else
+		{
+			Utf8Writer writer = new Utf8Writer(out);
+			try
+			{
+				write(object, writer);
+			}
+			finally
+			{
+				writer.release();
+			}
+		}
+	}
+
+	
+	/**
+	 * Writes the values to the OutputStream. For UTF-8 the content is encoded by a
+	 * {@link Utf8Writer} using a pooled buffer.
+	 */
+	@Override public void writeElements(Iterator<?> values, OutputStream out, Charset charset) throws Exception
+	{
+		if (!StandardCharsets.UTF_8.equals(charset))
+			super.writeElements(values, out, charset);
+		else
+		{
+			Utf8Writer writer = new Utf8Writer(out);
+			try
+			{
+				writeElements(values, writer);
+			}
+			finally
+			{
+				writer.release();
+			}
+		}
+	}
+
+	
+	/**
+	 * Returns true.
+	 */
+	@Override public boolean supportsBytes()
+	{
+		return true;
+	}
+	
+	
+	/**
+	 * Writes the values as JSON array. The values are serialized
+	 * one after the other, and the writer is flushed after every
+	 * {@link #getFlushInterval() n} values. Therefore the values need not be
+	 * held in memory at once, and a response can be sent in chunks.
+	 */
+	@Override public void writeElements(Iterator<?> values, Writer writer) throws Exception
+	{
+		Check.notNull(values, "values");
+		JsonWriter out = new JsonWriter(writer);
+		out.beginArray();
+		int count = 0;
+		while (values.hasNext())
+		{
+			writeElement(values.next(), out);
+			if (++count % flushInterval_ == 0)
+				out.flush();
+		}
+		out.endArray();
+		out.flush();
+	}
+	
+	
+	/**
+	 * Writes a single value to the JsonWriter.
+	 * @param value the value 
+	 * @param out the JsonWriter
+	 */
+	protected void writeElement(Object value, JsonWriter out)
+	{
+		if (value == null)
+			gson_.toJson(JsonNull.INSTANCE, out);
+		else if (value instanceof JsonElement)
+			gson_.toJson((JsonElement)value, out);
+		else
+			gson_.toJson(value, value.getClass(), out);
+	}
+	
+	
+	/**
+	 * @return the number of values after which {@link #writeElements(Iterator, Writer)} 
+	 * 		flushes the writer. 
+	 */
+	public int getFlushInterval()
+	{
+		return flushInterval_;
+	}
+	
+	
+	/**
+	 * Sets the number of values after which {@link #writeElements(Iterator, Writer)} 
+	 * flushes the writer. The default is 1000. 
+	 * @param interval the interval, must be &gt; 0
+	 */
+	public void setFlushInterval(int interval)
+	{
+		flushInterval_ = Check.greaterEquals(interval, 1, "interval");
+	}
+	
+	
+	/**
+	 * @return the gson object used by the serializer.
+	 */
+	protected Gson getGson()
+	{
+		return gson_;
+	}
+	
+	
 	/**
 	 * Returns the gson object if implClass equals Gson.class.
 	 */
@@ -120,4 +251,5 @@ public class GsonJsonSerializer extends ContentSerializer
 
 	
 	private final Gson gson_;
+	private int flushInterval_ = 1000;
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.content;
+
+
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import org.civilian.util.Check;
+
+
+/**
+ * A ContentSerializer for newline delimited JSON (application/x-ndjson) based on GSON.
+ * Every value is written as single JSON line. Collections and arrays are written 
+ * element by element.
+ */
+public class GsonNdJsonSerializer extends GsonJsonSerializer
+{
+	/**
+	 * Creates a new GsonNdJsonSerializer.
+	 */
+	public GsonNdJsonSerializer()
+	{
+	}
+	
+	
+	/**
+	 * Creates a new GsonNdJsonSerializer. The gson object of the serializer
+	 * is obtained from the builder
+	 * @param builder a builder
+	 */
+	public GsonNdJsonSerializer(GsonBuilder builder)
+	{
+		super(builder);
+	}
+
+	
+	/**
+	 * Creates a new GsonNdJsonSerializer based on the gson object.
+	 * @param gson a gson
+	 */
+	public GsonNdJsonSerializer(Gson gson)
+	{
+		super(gson);
+	}
+
+	
+	/**
+	 * Writes the object. If the object is an Iterable or an array it 
+	 * is written element by element.
+	 */
+	@Override public void write(Object object, Writer writer) throws Exception
+	{
+		if (object instanceof Iterable)
+			writeElements(((Iterable<?>)object).iterator(), writer);
+		else if ((object != null) && object.getClass().isArray())
+		{
+			// also handles arrays of primitives
+			writeElements(IntStream.range(0, Array.getLength(object)).mapToObj(i -> Array.get(object, i)).iterator(), writer);
+		}
+		else
+		{
+			super.write(object, writer);
+			writer.write('\n');
+		}
+	}
+	
+	
+	/**
+	 * Writes each value as a single JSON line.
+	 */
+	@Override public void writeElements(Iterator<?> values, Writer writer) throws Exception
+	{
+		Check.notNull(values, "values");
+		int count = 0;
+		while (values.hasNext())
+		{
+			JsonWriter out = new JsonWriter(writer);
+			writeElement(values.next(), out);
+			out.flush();
+			writer.write('\n');
+			if (++count % getFlushInterval() == 0)
+				writer.flush();
+		}
+		writer.flush();
+	}
+}
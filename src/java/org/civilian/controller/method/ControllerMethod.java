@@ -16,6 +16,9 @@
 package org.civilian.controller.method;
 
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Iterator;
@@ -77,6 +80,57 @@ public class ControllerMethod
 		produces_		= annotations.getProduces();
 		consumes_		= annotations.getConsumes();
 		javaMethod_.setAccessible(true);
+		handle_			= createHandle(javaMethod, getArgCount());
+		postProcessArgs_ = getPostProcessArgs(args);
+	}
+	
+	
+	/**
+	 * Creates a MethodHandle with type (Object controller, Object[] args)Object 
+	 * for the method, or null if the handle can't be created and the method
+	 * must be invoked via reflection.
+	 */
+	private static MethodHandle createHandle(Method javaMethod, int argCount)
+	{
+		try
+		{
+			return MethodHandles.lookup().unreflect(javaMethod)
+				.asSpreader(Object[].class, argCount)
+				.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+		}
+		catch(Exception e)
+		{
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Returns the indexes of the arguments which need post-processing
+	 * or null if there are none.
+	 */
+	private static int[] getPostProcessArgs(MethodArg[] args)
+	{
+		int count = 0;
+		if (args != null)
+		{
+			for (MethodArg arg : args)
+			{
+				if (arg.needsPostProcess())
+					count++;
+			}
+		}
+		if (count == 0)
+			return null;
+		
+		int[] result = new int[count];
+		count = 0;
+		for (int i=0; i<args.length; i++)
+		{
+			if (args[i].needsPostProcess())
+				result[count++] = i;
+		}
+		return result;
 	}
 
 	
@@ -219,11 +273,42 @@ public class ControllerMethod
 		if (args_ != null)
 			argValues = buildArgValues(request, response);
 		
+		Object content = handle_ != null ?
+			invokeHandle(controller, argValues) :
+			invokeReflective(controller, argValues);
+		if ((content != null) && !response.isCommitted())
+			response.writeContent(content);
+		
+		if (postProcessArgs_ != null)
+		{
+			for (int i : postProcessArgs_)
+				args_[i].postProcess(request, response, argValues[i]);
+		}
+	}
+	
+	
+	private Object invokeHandle(Object controller, Object[] argValues) throws Exception
+	{
 		try
 		{
-			Object content = javaMethod_.invoke(controller, argValues);
-			if ((content != null) && !response.isCommitted())
-				response.writeContent(content);
+			return handle_.invokeExact(controller, argValues);
+		}
+		catch(Exception | Error e)
+		{
+			throw e;
+		}
+		catch(Throwable t)
+		{
+			throw new IllegalStateException(t);
+		}
+	}
+	
+	
+	private Object invokeReflective(Object controller, Object[] argValues) throws Exception
+	{
+		try
+		{
+			return javaMethod_.invoke(controller, argValues);
 		}
 		catch(InvocationTargetException e)
 		{
@@ -234,12 +319,6 @@ public class ControllerMethod
 			else
 				throw e;
 		}
-		
-		if (argValues != null)
-		{
-			for (int i=0; i<argValues.length; i++)
-				args_[i].postProcess(request, response, argValues[i]);
-		}
 	}
 	
 	
@@ -301,4 +380,6 @@ public class ControllerMethod
 	private ContentTypeList produces_;
 	private ContentTypeList consumes_;
 	private MethodArg[] args_;
+	private final MethodHandle handle_;
+	private final int[] postProcessArgs_;
 }
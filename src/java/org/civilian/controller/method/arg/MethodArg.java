@@ -51,6 +51,25 @@ public abstract class MethodArg
 	public void postProcess(Request request, Response response, Object value) throws Exception
 	{
 	}
+	
+	
+	/**
+	 * Returns if {@link #postProcess(Request, Response, Object)} needs to be called
+	 * after the controller action method was invoked. The result must not change
+	 * and is evaluated once when the controller method is analyzed.
+	 * @return the default implementation returns true if the class overrides postProcess.
+	 */
+	public boolean needsPostProcess()
+	{
+		try
+		{
+			return getClass().getMethod("postProcess", Request.class, Response.class, Object.class).getDeclaringClass() != MethodArg.class;
+		}
+		catch(NoSuchMethodException e)
+		{
+			return true;
+		}
+	}
 
 
 	/**
@@ -115,7 +115,12 @@ class TypedConverter<T> extends SimpleConverter<T>
 	
 	@Override protected T convertImpl(TypeSerializer serializer, String stringValue) throws Exception
 	{
-		return serializer.parse(type_, stringValue);
+		// the parser of the type is resolved once per serializer,
+		// usually the StandardSerializer or the serializer of a single locale
+		ResolvedParser<T> parser = parser_;
+		if ((parser == null) || (parser.serializer != serializer))
+			parser_ = parser = new ResolvedParser<>(serializer, serializer.getTypeParser(type_));
+		return parser.parser.parse(stringValue);
 	}
 
 
@@ -127,8 +132,23 @@ class TypedConverter<T> extends SimpleConverter<T>
 	}
 	
 	
+	private static class ResolvedParser<T>
+	{
+		public ResolvedParser(TypeSerializer serializer, TypeSerializer.SimpleParser<T> parser)
+		{
+			this.serializer = serializer;
+			this.parser		= parser;
+		}
+		
+		
+		public final TypeSerializer serializer;
+		public final TypeSerializer.SimpleParser<T> parser;
+	}
+	
+	
 	private Type<T> type_;
 	private boolean isPrimitive_;
+	private volatile ResolvedParser<T> parser_;
 }
 
 
@@ -16,6 +16,10 @@
 package org.civilian.controller.method.arg.misc;
 
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -24,19 +28,60 @@ import org.civilian.request.Request;
 import org.civilian.response.Response;
 
 
+/**
+ * BeanParamArg creates a bean and injects request values into its properties.
+ * The bean constructor and the setters are bound to MethodHandles once when
+ * the BeanParamArg is created. If a handle cannot be obtained (e.g. since the 
+ * bean class is not accessible) reflection is used as fallback.
+ */
 public class BeanParamArg extends MethodArg
 {
+	private static final MethodType CONSTRUCTOR_TYPE 	= MethodType.methodType(Object.class);
+	private static final MethodType SETTER_TYPE 		= MethodType.methodType(void.class, Object.class, Object.class);
+
+	
 	public BeanParamArg(Class<?> beanClass, Setter... setters) throws Exception
 	{
-		beanClass_ 	= beanClass;
-		setters_ 	= setters;
+		setters_ 		= setters;
+		constructor_	= beanClass.getDeclaredConstructor();
+		if (!Modifier.isPublic(constructor_.getModifiers()) || !Modifier.isPublic(beanClass.getModifiers()))
+			constructor_.setAccessible(true);
+		constructorHandle_ = unreflect(constructor_);
+	}
+	
+	
+	private static MethodHandle unreflect(Constructor<?> constructor)
+	{
+		try
+		{
+			return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+		}
+		catch(Exception e)
+		{
+			return null;
+		}
+	}
+	
+	
+	/**
+	 * Returns if the bean constructor and all setters are invoked via MethodHandles.
+	 */
+	public boolean usesMethodHandles()
+	{
+		if (constructorHandle_ == null)
+			return false;
+		for (Setter setter : setters_)
+		{
+			if (!setter.usesMethodHandle())
+				return false;
+		}
+		return true;
 	}
 	
 	
 	@Override public Object getValue(Request request, Response response) throws Exception
 	{
-		@SuppressWarnings("deprecation")
-		Object bean = beanClass_.newInstance();
+		Object bean = createBean();
 		
 		for (Setter setter : setters_)
 			setter.injectParam(request, response, bean);
@@ -44,7 +89,36 @@ public class BeanParamArg extends MethodArg
 		return bean;
 	}
 	
-
+	
+	private Object createBean() throws Exception
+	{
+		if (constructorHandle_ == null)
+			return constructor_.newInstance();
+		
+		try
+		{
+			return (Object)constructorHandle_.invokeExact();
+		}
+		catch(Throwable t)
+		{
+			throw rethrow(t);
+		}
+	}
+	
+	
+	private static Exception rethrow(Throwable t)
+	{
+		if (t instanceof Error)
+			throw (Error)t;
+		if (t instanceof Exception)
+			return (Exception)t;
+		return new IllegalStateException(t);
+	}
+	
+	
+	/**
+	 * Setter injects a value into a bean property. 
+	 */
 	public static abstract class Setter
 	{
 		public Setter(MethodArg arg)
@@ -58,22 +132,46 @@ public class BeanParamArg extends MethodArg
 			Object value = arg_.getValue(request, response);
 			try
 			{
-				inject(value, bean);
+				if (handle_ != null)
+					handle_.invokeExact(bean, value);
+				else
+					inject(value, bean);
 			}
-			catch(Exception e)
+			catch(Throwable t)
 			{
-				throw new IllegalArgumentException("error when injecting value " + value + " from " + arg_ + " into " + this, e);
+				if (t instanceof Error)
+					throw (Error)t;
+				throw new IllegalArgumentException("error when injecting value " + value + " from " + arg_ + " into " + this, t);
 			}
 		}
 
 		
+		/**
+		 * Injects the value via reflection.
+		 */
 		public abstract void inject(Object value, Object bean) throws Exception;
 		
 		
+		/**
+		 * Returns if the setter is invoked via a MethodHandle.
+		 */
+		public boolean usesMethodHandle()
+		{
+			return handle_ != null;
+		}
+		
+		
+		protected void setHandle(MethodHandle handle)
+		{
+			handle_ = handle != null ? handle.asType(SETTER_TYPE) : null;
+		}
+		
+		
 		@Override public abstract String toString();
 		
 
 		private final MethodArg arg_;
+		private MethodHandle handle_;
 	}
 	
 
@@ -83,6 +181,14 @@ public class BeanParamArg extends MethodArg
 		{
 			super(arg);
 			method_ = method;
+			try
+			{
+				setHandle(MethodHandles.lookup().unreflect(method));
+			}
+			catch(Exception e)
+			{
+				// use reflection
+			}
 		}
 		
 
@@ -110,6 +216,14 @@ public class BeanParamArg extends MethodArg
 			field_ = field;
 			if (!Modifier.isPublic(field_.getModifiers()))
 				field_.setAccessible(true);
+			try
+			{
+				setHandle(MethodHandles.lookup().unreflectSetter(field));
+			}
+			catch(Exception e)
+			{
+				// use reflection
+			}
 		}
 		
 
@@ -129,6 +243,7 @@ public class BeanParamArg extends MethodArg
 	}
 	
 	
-	private final Class<?> beanClass_;
+	private final Constructor<?> constructor_;
+	private final MethodHandle constructorHandle_;
 	private final Setter[] setters_;
 }
@@ -18,7 +18,10 @@ package org.civilian.form;
 
 import org.civilian.template.HtmlUtil;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Objects;
+import java.util.function.BiFunction;
 
 import org.civilian.template.CspWriter;
 import org.civilian.text.keys.KeyList;
@@ -37,6 +40,9 @@ import org.civilian.util.Check;
  */
 public class CheckboxGroup<T> extends Control<T[]>
 {
+	private static final BiFunction<KeyList<?>,TypeSerializer,Keys> KEYS_FACTORY = Keys::new;
+	
+	
 	/**
 	 * Creates a CheckboxGroup.
 	 * @param name the name of the checkbox items
@@ -153,7 +159,9 @@ public class CheckboxGroup<T> extends Control<T[]>
 		 */
 		public void print(int i)
 		{
-			print(keyList_.getValue(i), keyList_.getText(i));
+			if (keys_ == null)
+				keys_ = keyList_.getDerived(serializer_, KEYS_FACTORY);
+			printImpl(keys_.values[i], keys_.texts[i], isChecked(keyList_.getValue(i)));
 		}
 
 		
@@ -177,20 +185,26 @@ public class CheckboxGroup<T> extends Control<T[]>
 		 */
 		public void print(T value, String text, boolean checked)
 		{
-			if (text != null)
+			String v = value != null ? serializer_.format(elemType_, value) : "";
+			printImpl(Keys.escape(v, true), Keys.escape(text, false), checked);
+		}
+		
+		
+		private void printImpl(String escapedValue, String escapedText, boolean checked)
+		{
+			if (escapedText != null)
 				out.print("<label>");
 			out.print("<input");
 			HtmlUtil.attr(out, "type", "checkbox", false);
 			HtmlUtil.attr(out, "name", getName());
-			String v = value != null ? serializer_.format(elemType_, value) : "";
-			HtmlUtil.attr(out, "value", v);
+			HtmlUtil.attr(out, "value", escapedValue, false);
 			if (checked)
 				out.print(" checked");
 			printAttrs(out, nextAttrs_);
 			out.print('>');
-			if (text != null)
+			if (escapedText != null)
 			{
-				HtmlUtil.text(out, text);
+				out.print(escapedText);
 				out.print("</label>");
 			}
 			nextAttrs_ = attrs_;
@@ -202,6 +216,45 @@ public class CheckboxGroup<T> extends Control<T[]>
 		private CspWriter out;
 		private TypeSerializer serializer_; 
 		private Type<T> elemType_ = ((ArrayType<T>)getType()).getElementType();
+		private Keys keys_;
+	}
+	
+	
+	/**
+	 * Holds the escaped values and texts of a KeyList.
+	 * They only depend on the KeyList and the TypeSerializer and are therefore
+	 * cached by the KeyList.
+	 */
+	private static class Keys
+	{
+		public <T> Keys(KeyList<T> keyList, TypeSerializer serializer)
+		{
+			int size	= keyList.size();
+			values 		= new String[size];
+			texts 		= new String[size];
+			for (int i=0; i<size; i++)
+			{
+				T value 	= keyList.getValue(i);
+				values[i] 	= escape(value != null ? serializer.format(keyList.getType(), value) : "", true);
+				texts[i] 	= escape(keyList.getText(i), false);
+			}
+		}
+		
+		
+		public static String escape(String s, boolean isAttribute)
+		{
+			if (s == null)
+				return null;
+			StringWriter sw = new StringWriter(s.length());
+			PrintWriter out = new PrintWriter(sw);
+			HtmlUtil.escape(out, s, isAttribute);
+			out.flush();
+			return sw.toString();
+		}
+		
+		
+		public final String[] values;
+		public final String[] texts;
 	}
 
 
@@ -523,6 +523,20 @@ public abstract class Control<T> implements CspWriter.Printable
 	}
 	
 
+	/**
+	 * Returns if the control only uses the parameters and the LocaleService of the request
+	 * when it parses its value. Only such controls are read in parallel by a Form, 
+	 * see {@link Form#setParallelReadThreshold(int)}.
+	 * The default implementation returns true. Controls which access other parts of the request
+	 * in {@link #parse(Request)}, like uploads, headers or attributes, must return false.
+	 * @return true if the control only reads parameters
+	 */
+	protected boolean readsParamsOnly()
+	{
+		return true;
+	}
+	
+	
 	/**
 	 * Parses the value from the request and updates the status.
 	 * Called by read(Request). Overwrite this method if the Control
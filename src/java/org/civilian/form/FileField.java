@@ -103,6 +103,15 @@ public class FileField extends Control<Upload[]>
 	}
 	
 	
+	/**
+	 * @return false since the FileField reads the uploads of the request.
+	 */
+	@Override protected boolean readsParamsOnly()
+	{
+		return false;
+	}
+	
+	
 	@Override protected void parse(Request request)
 	{
 		uploads_ = request.getUploads().getAll(getName());
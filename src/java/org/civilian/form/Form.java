@@ -17,14 +17,18 @@ package org.civilian.form;
 
 
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.IntStream;
 import org.civilian.annotation.Get;
 import org.civilian.annotation.Post;
 import org.civilian.request.Request;
 import org.civilian.request.RequestProvider;
+import org.civilian.request.RequestWrapper;
 import org.civilian.response.Response;
 import org.civilian.response.ResponseProvider;
 import org.civilian.template.HtmlUtil;
 import org.civilian.template.CspWriter;
+import org.civilian.text.service.LocaleService;
 import org.civilian.util.Check;
 
 
@@ -401,6 +405,39 @@ public class Form implements RequestProvider, ResponseProvider
 	{
 		defaultButton_ = button;
 	}
+	
+	
+	/**
+	 * Returns the number of controls from which on {@link #read()}
+	 * reads the controls in parallel.
+	 * @return the threshold or 0 if controls are always read sequentially 
+	 * @see #setParallelReadThreshold(int)
+	 */
+	public int getParallelReadThreshold()
+	{
+		return parallelReadThreshold_;
+	}
+	
+	
+	/**
+	 * Sets the number of controls from which on {@link #read()}
+	 * reads the controls - i.e. parses and validates their values - in parallel, 
+	 * using the common ForkJoinPool. This pays off for forms with thousands of 
+	 * controls or controls with expensive custom validation.
+	 * Controls which take part in a parallel read must not depend on each other
+	 * when reading their values.
+	 * Only controls which {@link Control#readsParamsOnly() read parameters only} take part
+	 * in a parallel read, others like a {@link FileField} are read sequentially beforehand.
+	 * The controls read in parallel see a request which provides the parameters and the 
+	 * LocaleService: they must not access other parts of the request which is not thread-safe.
+	 * The context class loader of the current thread is passed to the pool threads.
+	 * The default is 0, i.e. controls are always read sequentially.
+	 * @param threshold the threshold or 0 to disable parallel reads 
+	 */
+	public void setParallelReadThreshold(int threshold)
+	{
+		parallelReadThreshold_ = Check.greaterEquals(threshold, 0, "threshold");
+	}
 
 	
 	//---------------------------------------------
@@ -426,19 +463,12 @@ public class Form implements RequestProvider, ResponseProvider
 
 		Request request = getRequest();
 		int size = size();
-		for (int i=0; i<size; i++)
+		if ((parallelReadThreshold_ > 0) && (size >= parallelReadThreshold_))
+			ok = readParallel(request, isReloaded);
+		else
 		{
-			Control<?> control = get(i);
-			boolean setRequired = false;
-			
-			if (isReloaded && (setRequired = control.isRequired()))
-				control.setRequired(false);
-				
-			if (!control.read(request))
-				ok = false;	
-
-			if (setRequired)
-				control.setRequired(true);
+			for (int i=0; i<size; i++)
+				ok &= read(get(i), request, isReloaded);
 		}
 		
 		if (!isReloaded)
@@ -448,6 +478,133 @@ public class Form implements RequestProvider, ResponseProvider
 	}
 	
 	
+	private boolean read(Control<?> control, Request request, boolean isReloaded)
+	{
+		boolean setRequired = false;
+		
+		if (isReloaded && (setRequired = control.isRequired()))
+			control.setRequired(false);
+			
+		boolean ok = control.read(request);
+
+		if (setRequired)
+			control.setRequired(true);
+		
+		return ok;
+	}
+	
+	
+	private boolean readParallel(Request request, boolean isReloaded)
+	{
+		int size = size();
+		boolean ok = true;
+		
+		// controls which need more than the parameters are read sequentially
+		for (int i=0; i<size; i++)
+		{
+			Control<?> control = get(i);
+			if (!control.readsParamsOnly())
+				ok &= read(control, request, isReloaded);
+		}
+		
+		// the other controls access a snapshot of the parameters, which 
+		// is safe to be read by multiple threads
+		Request params = new ParamSnapshot(request);
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		int errors = IntStream.range(0, size).parallel()
+			.map(i -> {
+				Control<?> control = get(i);
+				return !control.readsParamsOnly() || read(control, params, isReloaded, loader) ? 0 : 1;
+			})
+			.sum();
+		ok &= errors == 0;
+		
+		// controls with errors have raced to become the error control:
+		// determine the first one as a sequential read would do
+		clearErrorControl();
+		if (!ok)
+		{
+			for (int i=0; i<size; i++)
+			{
+				Control<?> control = get(i);
+				if (!control.isOk())
+				{
+					setErrorControl(control);
+					break;
+				}
+			}
+		}
+		return ok;
+	}
+	
+	
+	/**
+	 * Reads a control in a pool thread, using the context class loader of the request thread.
+	 */
+	private boolean read(Control<?> control, Request params, boolean isReloaded, ClassLoader loader)
+	{
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		try
+		{
+			return read(control, params, isReloaded);
+		}
+		finally
+		{
+			thread.setContextClassLoader(previous);
+		}
+	}
+	
+	
+	/**
+	 * A Request which serves parameters from the parameter map and
+	 * resolves the LocaleService once. All other methods forward to the
+	 * request, which is not thread-safe, and must not be used by controls
+	 * which are read in parallel.
+	 */
+	private static class ParamSnapshot extends RequestWrapper
+	{
+		public ParamSnapshot(Request request)
+		{
+			super(request);
+			params_ 		= request.getParamMap();
+			localeService_	= request.getLocaleService();
+		}
+		
+		
+		@Override public String getParam(String name)
+		{
+			String[] values = params_.get(name);
+			return (values != null) && (values.length > 0) ? values[0] : null;
+		}
+
+		
+		@Override public String[] getParams(String name)
+		{
+			String[] values = params_.get(name);
+			return values != null ? values : EMPTY_PARAMS;
+		}
+		
+		
+		@Override public Map<String,String[]> getParamMap()
+		{
+			return params_;
+		}
+		
+		
+		@Override public LocaleService getLocaleService()
+		{
+			return localeService_;
+		}
+		
+		
+		private static final String[] EMPTY_PARAMS = new String[0];
+		private final Map<String,String[]> params_;
+		private final LocaleService localeService_;
+	}
+	
+	
 	/**
 	 * Validates the form. Called after all controls have read their values from the request.
 	 * The method is not called when a form was reloaded.
@@ -682,5 +839,6 @@ public class Form implements RequestProvider, ResponseProvider
 	private Button defaultButton_;
 	private Control<?> errorControl_;
 	private boolean multipartEncoded_;
+	private int parallelReadThreshold_;
 	private final ArrayList<Control<?>> controls_ = new ArrayList<>();
 }
@@ -18,7 +18,10 @@ package org.civilian.form;
 
 import org.civilian.template.HtmlUtil;
 
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.Objects;
+import java.util.function.BiFunction;
 
 import org.civilian.template.CspWriter;
 import org.civilian.text.keys.KeyList;
@@ -35,6 +38,7 @@ public class Select<T> extends Control<T>
 {
 	private static final byte FLAG_CHECK_REQUEST_VALUE 	= (byte)1;
 	private static final byte FLAG_USE_OPTION_GROUPS 	= (byte)2;
+	private static final BiFunction<KeyList<?>,Object,Options> OPTIONS_FACTORY = (keyList, context) -> new Options(keyList);
 	
 	
 	/**
@@ -227,6 +231,7 @@ public class Select<T> extends Control<T>
 	 */
 	public void printOptions(CspWriter out)
 	{
+		Options options			= getOptions();
 		int keySize 			= keyList_.size();
 		boolean useOptionGroups = useOptionGroups();
 		boolean isInGroup 		= false;
@@ -241,7 +246,7 @@ public class Select<T> extends Control<T>
 				printGroupStart(out, keyList_.getText(i));
 			}
 			else
-				printOption(out, i);
+				printOption(out, i, options);
 		}
 		if (isInGroup)
 			printGroupEnd(out);
@@ -263,17 +268,39 @@ public class Select<T> extends Control<T>
 	
 	
 	/**
-	 * Prints a single option.
+	 * Prints a single option. The pre-rendered option markup is only used
+	 * if the KeyList is immutable and therefore caches it.
 	 * @param out a writer
 	 * @param i the option index
 	 */
 	public void printOption(CspWriter out, int i)
 	{
-		T value				= keyList_.getValue(i);
-		String svalue		= keyList_.getType().format(value, i);
-		String text 		= keyList_.getText(i);
-		boolean selected	= Objects.equals(value, getValue());
-		printOptionImpl(out, svalue, text, selected);
+		if (keyList_.isMutable())
+		{
+			T value = keyList_.getValue(i);
+			printOptionImpl(out, keyList_.getType().format(value, i), keyList_.getText(i), Objects.equals(value, getValue()));
+		}
+		else
+			printOption(out, i, getOptions());
+	}
+	
+	
+	private void printOption(CspWriter out, int i, Options options)
+	{
+		out.print(options.start[i]);
+		if (Objects.equals(keyList_.getValue(i), getValue()))
+			out.print(" selected");
+		out.println(options.end[i]);
+	}
+	
+	
+	/**
+	 * Returns the pre-rendered option markup of the KeyList.
+	 * It only depends on the KeyList and is therefore cached by the KeyList.
+	 */
+	private Options getOptions()
+	{
+		return keyList_.getDerived(null, OPTIONS_FACTORY);
 	}
 	
 	
@@ -321,6 +348,36 @@ public class Select<T> extends Control<T>
 	}
 	
 	
+	/**
+	 * Holds the markup of all options of a KeyList, split around
+	 * the position of the selected attribute.
+	 */
+	private static class Options
+	{
+		public <T> Options(KeyList<T> keyList)
+		{
+			int size 		= keyList.size();
+			StringWriter sw = new StringWriter();
+			PrintWriter out = new PrintWriter(sw);
+			start 			= new String[size];
+			end 			= new String[size];
+			for (int i=0; i<size; i++)
+			{
+				sw.getBuffer().setLength(0);
+				out.print("<option");
+				HtmlUtil.attr(out, "value", keyList.getType().format(keyList.getValue(i), i));
+				out.flush();
+				start[i] 	= sw.toString();
+				end[i]		= '>' + keyList.getText(i) + "</option>";
+			}
+		}
+		
+		
+		public final String[] start;
+		public final String[] end;
+	}
+	
+	
 	private KeyList<T> keyList_;
 	private int rows_;
 	private T defaultKey_;
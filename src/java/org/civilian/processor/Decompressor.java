@@ -19,7 +19,10 @@ package org.civilian.processor;
 import java.io.IOException;
 import java.io.InputStream;
 import org.civilian.Logs;
+import org.civilian.content.BoundedInflaterInputStream;
 import org.civilian.content.CompressionScheme;
+import org.civilian.content.ContentTooLargeException;
+import org.civilian.request.BadRequestException;
 import org.civilian.request.Request;
 import org.civilian.request.RequestInterceptor;
 import org.civilian.response.Response;
@@ -31,31 +34,89 @@ import org.civilian.util.http.HeaderNames;
  * Put it into the processor chain before any processors which want to read the content.
  * Decompressor uses the Content-encoding header to determine the compression scheme.
  * It recognizes and treats all schemes which are available via the {@link CompressionScheme} class.
+ * <p>
+ * The decompressed content is streamed: GZIP and deflate content is inflated with
+ * pooled Inflaters while the content is read, e.g. by a ContentSerializer.
+ * If a maximum inflated size is configured, reading fails as soon as the limit is
+ * exceeded and the request is answered with status 413 (request entity too large). 
  */
 public class Decompressor extends Processor 
 {
+	/**
+	 * Creates a Decompressor which does not limit the size of the inflated content.
+	 */
+	public Decompressor()
+	{
+		this(Long.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * Creates a Decompressor.
+	 * @param maxInflatedSize the maximum number of bytes of the decompressed content.
+	 * 		Long.MAX_VALUE means no limit.  
+	 */
+	public Decompressor(long maxInflatedSize)
+	{
+		if (maxInflatedSize < 0)
+			throw new IllegalArgumentException("maxInflatedSize must >= 0, but is " + maxInflatedSize);
+		maxInflatedSize_ = maxInflatedSize;
+	}
+	
+	
+	/**
+	 * @return the maximum number of bytes of the decompressed content.
+	 */
+	public long getMaxInflatedSize()
+	{
+		return maxInflatedSize_;
+	}
+	
+	
 	@Override public String getInfo() 
 	{
-		return getClass().getSimpleName();
+		return maxInflatedSize_ == Long.MAX_VALUE ? 
+			getClass().getSimpleName() : 
+			getClass().getSimpleName() + ", max " + maxInflatedSize_ + " bytes"; 
 	}
 
 	
 	@Override public boolean process(Request request, Response response, ProcessorChain chain) throws Exception
 	{
 		String scheme = request.getHeaders().get(HeaderNames.CONTENT_ENCODING);
-		if (scheme != null)
-			addInterceptor(request, scheme);
-		return chain.next(request, response);
+		Interceptor interceptor = scheme != null ? addInterceptor(request, scheme) : null;
+		if (interceptor == null)
+			return chain.next(request, response);
+		
+		try
+		{
+			return chain.next(request, response);
+		}
+		catch(Exception e)
+		{
+			ContentTooLargeException tooLarge = findTooLarge(e);
+			if (tooLarge != null)
+				throw new BadRequestException(Response.Status.SC413_REQUEST_ENTITY_TOO_LARGE, tooLarge.getMessage(), tooLarge, null);
+			throw e;
+		}
+		finally
+		{
+			// in async mode the content may still be read after we return
+			if (!response.isAsyncStarted())
+				interceptor.release();
+		}
 	}
 	
 	
-	private void addInterceptor(Request request, String schemeName)
+	private Interceptor addInterceptor(Request request, String schemeName)
 	{
 		CompressionScheme scheme = CompressionScheme.get(schemeName);
 		
 		if (scheme != null)
 		{
-			request.addInterceptor().forStream(new Interceptor(scheme));
+			Interceptor interceptor = new Interceptor(scheme, maxInflatedSize_);
+			request.addInterceptor().forStream(interceptor);
+			return interceptor;
 		}
 		else if (!CompressionScheme.Names.IDENTITY.equals(schemeName) && Logs.PROCESSOR.isWarnEnabled())
 		{
@@ -63,23 +124,55 @@ public class Decompressor extends Processor
 			// we don't log a warning if somebody sends it
 			Logs.PROCESSOR.warn("unhandled request compression scheme " + schemeName);
 		}
+		return null;
+	}
+	
+	
+	private static ContentTooLargeException findTooLarge(Throwable t)
+	{
+		// serializers and content readers may wrap the original exception
+		for (int depth = 0; (t != null) && (depth < 10); depth++, t = t.getCause())
+		{
+			if (t instanceof ContentTooLargeException)
+				return (ContentTooLargeException)t;
+		}
+		return null;
 	}
 	
 	
 	private static class Interceptor implements RequestInterceptor<InputStream>
 	{
-		public Interceptor(CompressionScheme scheme)
+		public Interceptor(CompressionScheme scheme, long maxSize)
 		{
-			scheme_ = scheme;
+			scheme_  = scheme;
+			maxSize_ = maxSize;
 		}
 		
 		
 		@Override public InputStream intercept(Request request, InputStream in) throws IOException
 		{
-			return scheme_.wrap(in);
+			InputStream wrapped = scheme_.wrap(in, maxSize_);
+			if (wrapped instanceof BoundedInflaterInputStream)
+				inflaterStream_ = (BoundedInflaterInputStream)wrapped;
+			return wrapped;
+		}
+		
+		
+		/**
+		 * Returns the pooled Inflater even if the content was not read to its end. 
+		 */
+		public void release()
+		{
+			if (inflaterStream_ != null)
+				inflaterStream_.release();
 		}
 		
 		
 		private final CompressionScheme scheme_;
+		private final long maxSize_;
+		private BoundedInflaterInputStream inflaterStream_;
 	}
+	
+	
+	private final long maxInflatedSize_;
 }
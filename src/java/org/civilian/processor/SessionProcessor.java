@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.processor;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.civilian.request.Request;
+import org.civilian.request.RequestWrapper;
+import org.civilian.request.Session;
+import org.civilian.request.session.SessionStore;
+import org.civilian.request.session.StoredSession;
+import org.civilian.response.Response;
+import org.civilian.response.ResponseInterceptor;
+import org.civilian.response.ResponseWrapper;
+import org.civilian.util.Check;
+
+
+/**
+ * SessionProcessor replaces the sessions of the servlet container by sessions 
+ * kept in a {@link SessionStore}. It passes a request to the next processors
+ * whose {@link Request#getSession(boolean)} method loads the session from the store.
+ * A session which was created, modified or invalidated is saved before
+ * the response content is written, before a redirect or error is sent,
+ * or when the remaining processor chain returns.
+ * Put it into the processor chain before any processors which will access the session.
+ * @see org.civilian.application.SessionConfig
+ */
+public class SessionProcessor extends Processor
+{
+	/**
+	 * Creates a new SessionProcessor.
+	 * @param store the session store
+	 */
+	public SessionProcessor(SessionStore store)
+	{
+		store_ = Check.notNull(store, "store");
+	}
+	
+	
+	/**
+	 * @return the session store.
+	 */
+	public SessionStore getStore()
+	{
+		return store_;
+	}
+	
+	
+	@Override public String getInfo() 
+	{
+		return getClass().getSimpleName() + " " + store_;
+	}
+
+	
+	@Override public boolean process(Request request, Response response, ProcessorChain chain) throws Exception
+	{
+		SessionRequest sessionRequest = new SessionRequest(request, response);
+		response.addInterceptor().forStream(sessionRequest);
+		boolean processed = chain.next(sessionRequest, sessionRequest.response_);
+		if (!response.isCommitted())
+			sessionRequest.save();
+		return processed;
+	}
+	
+	
+	/**
+	 * Closes the store.
+	 */
+	@Override public void close()
+	{
+		store_.close();
+	}
+	
+	
+	private class SessionRequest extends RequestWrapper implements ResponseInterceptor<OutputStream>
+	{
+		public SessionRequest(Request request, Response response)
+		{
+			super(request);
+			response_ = new SessionResponse(this, response);
+		}
+		
+		
+		@Override public Session getSession(boolean create)
+		{
+			if (!loaded_)
+			{
+				loaded_  = true;
+				session_ = store_.load(this);
+			}
+			if (((session_ == null) || session_.isInvalidated()) && create)
+			{
+				// an invalidated session must be removed from the store before it is replaced, 
+				// the cookie of the new session then supersedes the deleted cookie
+				save();
+				session_ = store_.create(this);
+			}
+			return (session_ != null) && !session_.isInvalidated() ? session_ : null;
+		}
+		
+		
+		public void save()
+		{
+			if ((session_ != null) && session_.isModified())
+				store_.save(session_, response_);
+		}
+
+		
+		/**
+		 * Saves the session before the content output is created, 
+		 * which is the last chance to add a cookie. 
+		 */
+		@Override public ResponseInterceptor<OutputStream> prepareIntercept(Response response)
+		{
+			save();
+			return null;
+		}
+
+
+		@Override public OutputStream intercept(OutputStream out) throws IOException
+		{
+			return out;
+		}
+		
+		
+		private final SessionResponse response_;
+		private StoredSession session_;
+		private boolean loaded_;
+	}
+	
+	
+	private static class SessionResponse extends ResponseWrapper
+	{
+		public SessionResponse(SessionRequest request, Response response)
+		{
+			super(response);
+			request_ = request;
+		}
+
+		
+		@Override public Request getRequest()
+		{
+			return request_;
+		}
+		
+		
+		@Override public void sendError(int errorCode, String message, Throwable error) throws IOException
+		{
+			request_.save();
+			super.sendError(errorCode, message, error);
+		}
+
+
+		@Override public void redirect(String url) throws IOException
+		{
+			request_.save();
+			super.redirect(url);
+		}
+
+		
+		private final SessionRequest request_;
+	}
+	
+	
+	private final SessionStore store_;
+}
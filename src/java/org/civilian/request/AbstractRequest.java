@@ -21,10 +21,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import org.civilian.application.Application;
+import org.civilian.content.ContentSerializer;
 import org.civilian.content.ContentType;
 import org.civilian.content.ContentTypeList;
 import org.civilian.resource.Path;
@@ -33,7 +35,7 @@ import org.civilian.resource.pathparam.PathParam;
 import org.civilian.text.service.LocaleService;
 import org.civilian.util.Check;
 import org.civilian.util.Iterators;
-import org.civilian.util.http.HeaderMap;
+import org.civilian.util.http.UriParams;
 
 
 /**
@@ -169,46 +171,16 @@ public abstract class AbstractRequest implements Request
 	
 	@Override public Iterator<String> getMatrixParamNames()
 	{
-		return getMatrixParams().iterator();
+		return getMatrixParams().getNames();
 	}
 
 	
-	private HeaderMap getMatrixParams()
+	private UriParams getMatrixParams()
 	{
 		if (readExt().matrixParams == null)
-			parseMatrixParams();
+			writeExt().matrixParams = UriParams.ofMatrix(getOriginalPath());
 		return readExt().matrixParams;
 	}
-
-	
-	private void parseMatrixParams()
-	{
-		String uri = getOriginalPath();
-		
-		int slash = uri.lastIndexOf('/');
-		int colon = uri.indexOf(';', slash + 1);
-		if (colon < 0)
-			writeExt().matrixParams = HeaderMap.EMPTY;
-		else
-		{
-			HeaderMap matrixParams = writeExt().matrixParams = new HeaderMap();
-			
-			int start = colon + 1;
-			do
-			{
-				int end = uri.indexOf(';', start);
-				if (end < 0)
-					end = uri.length();
-				int eq  = uri.indexOf('=', start);
-				if ((eq < 0) || (eq > end))
-					matrixParams.add(uri.substring(start, end), "");
-				else if (eq > start)
-					matrixParams.add(uri.substring(start, eq), uri.substring(eq + 1, end));
-				start = end + 1;
-			}
-			while(start < uri.length());
-		}
-	}
 	
 
 	//----------------------------
@@ -400,6 +372,25 @@ public abstract class AbstractRequest implements Request
 	}
 	
 	
+	/**
+	 * Reads the content using the given ContentSerializer. If the serializer
+	 * {@link ContentSerializer#supportsBytes() supports bytes}, the content was not accessed yet
+	 * and no reader interceptor was added, the serializer reads from the content stream. 
+	 */
+	@Override public <T> T readContent(ContentSerializer serializer, Class<T> type, java.lang.reflect.Type genericType) 
+		throws Exception
+	{
+		if (serializer.supportsBytes() && (contentInput_ == null) && (readExt().readerInterceptor == null))
+		{
+			if (getCharEncoding() == null)
+				setDefaultCharEncoding();
+			return serializer.read(type, genericType, getContentStream(), Charset.forName(getCharEncoding()));
+		}
+		else
+			return serializer.read(type, genericType, getContentReader());
+	}
+	
+	
 	protected abstract Reader getContentReaderImpl() throws IOException; 
 
 	
@@ -489,7 +480,7 @@ public abstract class AbstractRequest implements Request
 	 */
 	private static class Extension
 	{
-		public HeaderMap matrixParams;
+		public UriParams matrixParams;
 		public ContentType contentType;
 		public RequestInterceptor<InputStream> streamInterceptor;
 		public RequestInterceptor<Reader> readerInterceptor;
@@ -43,12 +43,35 @@ public class BadRequestException extends Exception
 	 * @param errorValue an error value
 	 */
 	public BadRequestException(String message, Throwable cause, String errorValue)
+	{
+		this(Response.Status.SC400_BAD_REQUEST, message, cause, errorValue);
+	}
+	
+	
+	/**
+	 * Creates a new BadRequestException.
+	 * @param statusCode a 4xx response status code 
+	 * @param message a diagnostic message which can be shown to the client.
+	 * @param cause an exception which caused the error in the first place
+	 * @param errorValue an error value
+	 */
+	public BadRequestException(int statusCode, String message, Throwable cause, String errorValue)
 	{
 		super(message, cause);
+		statusCode_ = statusCode;
 		errorValue_ = errorValue;
 	}
 	
 	
+	/**
+	 * @return the response status code, by default 400 (bad request).
+	 */
+	public int getStatusCode()
+	{
+		return statusCode_;
+	}
+	
+	
 	/**
 	 * @return the value which caused the exception.
 	 */
@@ -58,5 +81,6 @@ public class BadRequestException extends Exception
 	}
 	
 
+	private final int statusCode_;
 	private final String errorValue_;
 }
@@ -18,11 +18,14 @@ package org.civilian.request;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import jakarta.servlet.http.Cookie;
 
 
 /**
  * A list of cookies.
+ * Lookups by name use an index which is built on first use
+ * and rebuilt when the list is modified.
  */
 public class CookieList extends ArrayList<Cookie>
 {
@@ -54,14 +57,38 @@ public class CookieList extends ArrayList<Cookie>
 	 */
 	public Cookie get(String name)
 	{
-		if (name != null)
+		return name != null ? getIndex().get(name) : null;
+	}
+	
+	
+	private HashMap<String,Cookie> getIndex()
+	{
+		if ((index_ == null) || (indexModCount_ != modCount))
 		{
+			HashMap<String,Cookie> index = new HashMap<>();
 			for (Cookie c : this)
 			{
-				if ((c != null) && name.equals(c.getName()))
-					return c;
+				if ((c != null) && (c.getName() != null))
+					index.putIfAbsent(c.getName(), c);
 			}
+			index_ 			= index;
+			indexModCount_	= modCount;
 		}
-		return null;
+		return index_;
+	}
+	
+	
+	/**
+	 * Replaces the cookie at the given position.
+	 * Overridden to invalidate the name index.
+	 */
+	@Override public Cookie set(int index, Cookie cookie)
+	{
+		index_ = null;
+		return super.set(index, cookie);
 	}
+	
+	
+	private transient HashMap<String,Cookie> index_;
+	private transient int indexModCount_;
 }
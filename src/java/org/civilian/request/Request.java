@@ -575,7 +575,7 @@ public interface Request extends RequestProvider, PathParamProvider, PathProvide
 		
 		try
 		{
-			return reader.read(type, genericType, getContentReader());
+			return readContent(reader, type, genericType);
 		}
 		catch(Exception e)
 		{
@@ -588,6 +588,23 @@ public interface Request extends RequestProvider, PathParamProvider, PathProvide
 	}
 
 	
+	/**
+	 * Reads the content using the given ContentSerializer. 
+	 * The default implementation passes the {@link #getContentReader() content reader} to the serializer.
+	 * @param serializer the serializer 
+	 * @param type the type of the expected object
+	 * @param genericType the generic type of the expected object or null not known
+	 * @param <T> the class type
+	 * @throws Exception if reading throws an exception
+	 * @return the content object
+	 */
+	public default <T> T readContent(ContentSerializer serializer, Class<T> type, java.lang.reflect.Type genericType) 
+		throws Exception
+	{
+		return serializer.read(type, genericType, getContentReader());
+	}
+
+	
 	/**
 	 * Returns a InterceptorBuilder which allows to add a interceptor.
 	 * @return the builder
@@ -23,6 +23,7 @@ import java.io.UnsupportedEncodingException;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import org.civilian.content.ContentSerializer;
 import org.civilian.content.ContentType;
 import org.civilian.content.ContentTypeList;
 import org.civilian.resource.Path;
@@ -268,6 +269,13 @@ public class RequestWrapper implements Request
 	}
 
 
+	@Override public <T> T readContent(ContentSerializer serializer, Class<T> type, java.lang.reflect.Type genericType) 
+		throws Exception
+	{
+		return request_.readContent(serializer, type, genericType);
+	}
+
+
 	@Override public void setCharEncoding(String encoding) throws UnsupportedEncodingException
 	{
 		request_.setCharEncoding(encoding);
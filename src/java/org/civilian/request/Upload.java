@@ -17,9 +17,16 @@ package org.civilian.request;
 
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Checksum;
+import org.civilian.util.BufferPool;
+import org.civilian.util.Check;
 
 
 /**
@@ -67,13 +74,78 @@ public abstract class Upload
 	 */
 	public void write(File file) throws IOException
 	{
-		try (FileOutputStream out = new FileOutputStream(file))
+		write(file.toPath(), null);
+	}
+
+	
+	/**
+	 * Writes the upload to the specified file. An existing file is overwritten.
+	 * @param file a file
+	 * @param checksum a checksum which is updated with the upload content, or null
+	 * @return the number of written bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public long write(Path file, Checksum checksum) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, 
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
 		{
-			getInputStream().transferTo(out);
+			return write(channel, checksum);
 		}
 	}
 
 	
+	/**
+	 * Moves the upload to the specified file.
+	 * Unlike {@link #write(Path, Checksum)} implementations may move a temporary file
+	 * of the upload instead of copying the content. Afterwards the upload content
+	 * cannot be read again, and depending on the servlet container the method fails
+	 * if the file already exists.
+	 * The default implementation copies the content. 
+	 * @param file a file
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void moveTo(Path file) throws IOException
+	{
+		write(file, null);
+	}
+
+	
+	/**
+	 * Writes the upload content to a channel, using a large pooled buffer.
+	 * Size and checksum are computed while the content is written.
+	 * The channel is not closed.
+	 * @param channel a channel, e.g. a FileChannel
+	 * @param checksum a checksum which is updated with the upload content, or null
+	 * @return the number of written bytes
+	 * @throws IOException if an I/O error occurs
+	 */
+	public long write(WritableByteChannel channel, Checksum checksum) throws IOException
+	{
+		Check.notNull(channel, "channel");
+		long total = 0L;
+		byte[] buffer = BUFFERS.acquire();
+		try (InputStream in = getInputStream())
+		{
+			int n;
+			while ((n = in.read(buffer)) >= 0)
+			{
+				if (checksum != null)
+					checksum.update(buffer, 0, n);
+				ByteBuffer bb = ByteBuffer.wrap(buffer, 0, n);
+				while (bb.hasRemaining())
+					channel.write(bb);
+				total += n;
+			}
+		}
+		finally
+		{
+			BUFFERS.release(buffer);
+		}
+		return total;
+	}
+
+	
 	/**
 	 * @return the name of the upload parameter. 
 	 */
@@ -85,4 +157,7 @@ public abstract class Upload
 	 * filename of the uploaded file.
 	 */
 	public abstract String getFileName();
+	
+	
+	private static final BufferPool BUFFERS = new BufferPool(64 * 1024, 16);
 }
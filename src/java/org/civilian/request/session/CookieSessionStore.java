@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.request.session;
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import jakarta.servlet.http.Cookie;
+import org.civilian.Logs;
+import org.civilian.request.Request;
+import org.civilian.response.Response;
+import org.civilian.util.Check;
+
+
+/**
+ * CookieSessionStore keeps the session state in a cookie on the client.
+ * The serialized session is encrypted with AES-GCM and signed with a HMAC-SHA256.
+ * Both keys are derived from a secret which must be shared by all nodes
+ * serving the application, therefore the nodes do not need sticky or replicated sessions.
+ * Since browsers limit cookies to about 4 KB, only small attribute maps
+ * should be stored in a cookie session. 
+ */
+public class CookieSessionStore implements SessionStore
+{
+	/**
+	 * The maximum length of the cookie value.
+	 */
+	public static final int MAX_COOKIE_LENGTH = 4000;
+	
+	
+	/**
+	 * Creates a new CookieSessionStore.
+	 * @param secret the secret used to derive encryption and signature keys. It must have at least 16 characters.
+	 * @param cookieName the name of the session cookie
+	 * @param cookiePath the path of the session cookie, usually the application path
+	 * @param maxInactiveInterval the max inactive interval of new sessions in seconds
+	 */
+	public CookieSessionStore(String secret, String cookieName, String cookiePath, int maxInactiveInterval)
+	{
+		Check.notNull(secret, "secret");
+		if (secret.length() < 16)
+			throw new IllegalArgumentException("session secret must have at least 16 characters");
+		cookieName_ 			= Check.notEmpty(cookieName, "cookieName");
+		cookiePath_ 			= Check.notNull(cookiePath, "cookiePath");
+		maxInactiveInterval_	= maxInactiveInterval;
+		
+		byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+		encryptionKey_	= new SecretKeySpec(Arrays.copyOf(deriveKey(secretBytes, "encryption"), 16), "AES");
+		signatureKey_	= new SecretKeySpec(deriveKey(secretBytes, "signature"), MAC_ALGORITHM);
+	}
+	
+	
+	private static byte[] deriveKey(byte[] secret, String purpose)
+	{
+		try
+		{
+			Mac mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(new SecretKeySpec(secret, MAC_ALGORITHM));
+			return mac.doFinal(purpose.getBytes(StandardCharsets.US_ASCII));
+		}
+		catch (GeneralSecurityException e)
+		{
+			throw new IllegalStateException("cannot derive session key", e);
+		}
+	}
+
+	
+	/**
+	 * @return the name of the session cookie.
+	 */
+	public String getCookieName()
+	{
+		return cookieName_;
+	}
+	
+	
+	/**
+	 * Decodes the session cookie of the request. 
+	 * @return the session or null if the request has no session cookie, 
+	 * 		or the cookie is corrupted, forged or expired. 
+	 */
+	@Override public StoredSession load(Request request)
+	{
+		Cookie cookie = request.getCookies().get(cookieName_);
+		if (cookie == null)
+			return null;
+		StoredSession session = decode(cookie.getValue());
+		return (session != null) && session.access(System.currentTimeMillis()) ? session : null;
+	}
+
+
+	@Override public StoredSession create(Request request)
+	{
+		return new StoredSession(maxInactiveInterval_);
+	}
+
+	
+	/**
+	 * Writes the session cookie, or deletes the cookie if the session was invalidated. 
+	 * @throws IllegalStateException if the encoded session exceeds {@link #MAX_COOKIE_LENGTH}
+	 */
+	@Override public void save(StoredSession session, Response response)
+	{
+		Cookie cookie;
+		if (session.isInvalidated())
+		{
+			cookie = new Cookie(cookieName_, "");
+			cookie.setMaxAge(0);
+		}
+		else
+		{
+			cookie = new Cookie(cookieName_, encode(session));
+			if (session.getMaxInactiveInterval() > 0)
+				cookie.setMaxAge(session.getMaxInactiveInterval());
+		}
+		cookie.setPath(cookiePath_);
+		cookie.setHttpOnly(true);
+		cookie.setSecure(response.getRequest().getSecurity().isSecure());
+		response.addCookie(cookie);
+		session.setSaved();
+	}
+	
+	
+	/**
+	 * Encrypts and signs the session state.
+	 * @param session the session
+	 * @return the cookie value
+	 */
+	public String encode(StoredSession session)
+	{
+		byte[] data = session.serialize();
+		try
+		{
+			byte[] iv = new byte[IV_LENGTH];
+			RANDOM.nextBytes(iv);
+			
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.ENCRYPT_MODE, encryptionKey_, new GCMParameterSpec(TAG_BITS, iv));
+			byte[] payload = Arrays.copyOf(iv, IV_LENGTH + cipher.getOutputSize(data.length));
+			cipher.doFinal(data, 0, data.length, payload, IV_LENGTH);
+			
+			Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+			String value = encoder.encodeToString(payload) + '.' + encoder.encodeToString(sign(payload));
+			if (value.length() > MAX_COOKIE_LENGTH)
+				throw new IllegalStateException("session " + session.getId() + " too large for a cookie: " + value.length() + " characters");
+			return value;
+		}
+		catch (GeneralSecurityException e)
+		{
+			throw new IllegalStateException("cannot encrypt session " + session.getId(), e);
+		}
+	}
+	
+	
+	/**
+	 * Verifies and decrypts a cookie value.
+	 * The signature is checked before any decryption or deserialization takes place.
+	 * @param value the cookie value
+	 * @return the session or null if the value is corrupted or forged.
+	 */
+	public StoredSession decode(String value)
+	{
+		int dot = value != null ? value.lastIndexOf('.') : -1;
+		if (dot < 0)
+			return null;
+		try
+		{
+			Base64.Decoder decoder = Base64.getUrlDecoder();
+			byte[] payload 		= decoder.decode(value.substring(0, dot));
+			byte[] signature	= decoder.decode(value.substring(dot + 1));
+			if ((payload.length <= IV_LENGTH) || !MessageDigest.isEqual(signature, sign(payload)))
+				return null;
+			
+			Cipher cipher = Cipher.getInstance(CIPHER_ALGORITHM);
+			cipher.init(Cipher.DECRYPT_MODE, encryptionKey_, new GCMParameterSpec(TAG_BITS, payload, 0, IV_LENGTH));
+			byte[] data = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+			return StoredSession.deserialize(data);
+		}
+		catch (IllegalArgumentException | GeneralSecurityException | IOException e)
+		{
+			if (Logs.REQUEST.isDebugEnabled())
+				Logs.REQUEST.debug("rejected session cookie: " + e.getMessage());
+			return null;
+		}
+	}
+
+	
+	private byte[] sign(byte[] payload) throws GeneralSecurityException
+	{
+		Mac mac = Mac.getInstance(MAC_ALGORITHM);
+		mac.init(signatureKey_);
+		return mac.doFinal(payload);
+	}
+	
+	
+	@Override public String toString()
+	{
+		return "cookie:" + cookieName_;
+	}
+
+	
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+	private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+	private static final int IV_LENGTH = 12;
+	private static final int TAG_BITS = 128;
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private final String cookieName_;
+	private final String cookiePath_;
+	private final int maxInactiveInterval_;
+	private final SecretKeySpec encryptionKey_;
+	private final SecretKeySpec signatureKey_;
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.request.session;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.servlet.http.Cookie;
+import org.civilian.Logs;
+import org.civilian.request.Request;
+import org.civilian.response.Response;
+import org.civilian.util.Check;
+
+
+/**
+ * OffHeapSessionStore keeps serialized sessions outside of the Java heap.
+ * The client only receives a cookie with the session id.<p>
+ * The store is a fixed size buffer which is either a direct buffer or memory-mapped file.
+ * If a file is used, sessions survive a restart of the application.
+ * The buffer is divided into pages of 64 KB. When needed, a page is assigned to a slab class 
+ * and divided into equally sized slots (256 bytes to 64 KB) which each hold a serialized session.
+ * Only a small index entry per session remains on the heap, the deserialized
+ * session lives only for the duration of a request.<p>
+ * Sessions which have been idle longer than their max inactive interval are evicted.
+ * If a slab class is exhausted, pages without sessions are returned to the pool of free pages
+ * and can be assigned to another slab class. If no page is free, the least recently accessed session 
+ * of that class is evicted, or, if the class has no sessions, all sessions on the page of the least 
+ * recently accessed session.
+ * If requests of the same session run concurrently, the last saved state wins. 
+ */
+public class OffHeapSessionStore implements SessionStore
+{
+	/**
+	 * The page size.
+	 */
+	public static final int PAGE_SIZE = 64 * 1024;
+	
+	
+	/**
+	 * The maximum size of a serialized session.
+	 */
+	public static final int MAX_SESSION_SIZE = PAGE_SIZE - 4;
+	
+	
+	/**
+	 * The maximum size of the store: the header page and as many data pages
+	 * as fit into the page table of the header page (about 1 GB).
+	 */
+	public static final long MAX_SIZE = (1L + (PAGE_SIZE - OffHeapSessionStore.HEADER_SIZE) / 4) * PAGE_SIZE;
+	
+	
+	/**
+	 * Creates a new OffHeapSessionStore.
+	 * @param file the memory-mapped file or null if the store should use a direct buffer.
+	 * 		If the file exists and has a compatible layout, its sessions are restored.
+	 * @param size the size of the store in bytes, at least two pages and at most {@link #MAX_SIZE}
+	 * @param cookieName the name of the session cookie
+	 * @param cookiePath the path of the session cookie, usually the application path
+	 * @param maxInactiveInterval the max inactive interval of new sessions in seconds
+	 * @throws IOException if the file cannot be mapped
+	 */
+	public OffHeapSessionStore(Path file, long size, String cookieName, String cookiePath, int maxInactiveInterval) throws IOException
+	{
+		if ((size < 2 * PAGE_SIZE) || (size > MAX_SIZE))
+			throw new IllegalArgumentException("invalid store size " + size);
+		cookieName_ 			= Check.notEmpty(cookieName, "cookieName");
+		cookiePath_ 			= Check.notNull(cookiePath, "cookiePath");
+		maxInactiveInterval_	= maxInactiveInterval;
+		pageCount_				= (int)(size / PAGE_SIZE) - 1; // first page holds the header
+		file_ 					= file;
+		buffer_ 				= file != null ? map(file, (pageCount_ + 1L) * PAGE_SIZE) : ByteBuffer.allocateDirect((pageCount_ + 1) * PAGE_SIZE);
+		pageSessions_			= new int[pageCount_];
+		for (int i=0; i<freeSlots_.length; i++)
+			freeSlots_[i] = new ArrayDeque<>();
+		
+		if ((buffer_.getLong(0) == MAGIC) && (buffer_.getInt(8) == pageCount_))
+			restore();
+		else
+		{
+			buffer_.putLong(0, MAGIC);
+			buffer_.putInt(8, pageCount_);
+			for (int i=0; i<pageCount_; i++)
+			{
+				buffer_.putInt(pageTableOffset(i), 0);
+				freePages_.add(Integer.valueOf(i));
+			}
+		}
+	}
+	
+	
+	private static MappedByteBuffer map(Path file, long size) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+		{
+			if (channel.size() != size)
+			{
+				// a file of a different size cannot be restored
+				channel.truncate(0);
+			}
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+		}
+	}
+	
+	
+	/**
+	 * Rebuilds the index from the pages of a mapped file.
+	 */
+	private void restore()
+	{
+		long now = System.currentTimeMillis();
+		for (int page=0; page<pageCount_; page++)
+		{
+			int slotSize = buffer_.getInt(pageTableOffset(page));
+			int slabClass = slabClass(slotSize - SLOT_HEADER);
+			if ((slabClass < 0) || (slotSize != slotSize(slabClass)))
+			{
+				buffer_.putInt(pageTableOffset(page), 0);
+				freePages_.add(Integer.valueOf(page));
+				continue;
+			}
+			for (int offset=pageOffset(page); offset<pageOffset(page + 1); offset += slotSize)
+			{
+				StoredSession session = null;
+				int length = buffer_.getInt(offset);
+				if ((length > 0) && (length <= slotSize - SLOT_HEADER))
+				{
+					try
+					{
+						session = StoredSession.deserialize(read(offset, length));
+					}
+					catch (IOException e)
+					{
+						Logs.REQUEST.warn("cannot restore session at offset " + offset, e);
+					}
+				}
+				if ((session != null) && 
+					!StoredSession.isExpired(session.getLastAccessedTime(), session.getMaxInactiveInterval(), now) && 
+					!index_.containsKey(session.getId()))
+				{
+					index_.put(session.getId(), new Entry(offset, slabClass, session));
+					pageSessions_[page]++;
+				}
+				else
+					free(offset, slabClass);
+			}
+		}
+	}
+
+	
+	/**
+	 * @return the name of the session cookie.
+	 */
+	public String getCookieName()
+	{
+		return cookieName_;
+	}
+
+	
+	/**
+	 * @return the number of stored sessions.
+	 */
+	public int getSessionCount()
+	{
+		lock_.lock();
+		try
+		{
+			return index_.size();
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+	
+	
+	/**
+	 * Reads the session whose id is transmitted in the session cookie.
+	 * @return the session or null if the cookie is missing or the session unknown or expired.
+	 */
+	@Override public StoredSession load(Request request)
+	{
+		Cookie cookie = request.getCookies().get(cookieName_);
+		if (cookie == null)
+			return null;
+		
+		long now = System.currentTimeMillis();
+		byte[] data;
+		lock_.lock();
+		try
+		{
+			if (now - lastSweep_ >= SWEEP_INTERVAL)
+				evictExpired(now);
+			Entry entry = index_.get(cookie.getValue());
+			if (entry == null)
+				return null;
+			if (entry.isExpired(now))
+			{
+				remove(cookie.getValue(), entry);
+				return null;
+			}
+			data = read(entry.offset, buffer_.getInt(entry.offset));
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+		
+		try
+		{
+			StoredSession session = StoredSession.deserialize(data);
+			return session.access(now) ? session : null;
+		}
+		catch (IOException e)
+		{
+			Logs.REQUEST.warn("cannot read session " + cookie.getValue(), e);
+			return null;
+		}
+	}
+	
+	
+	@Override public StoredSession create(Request request)
+	{
+		return new StoredSession(maxInactiveInterval_);
+	}
+
+	
+	/**
+	 * Writes the serialized session into the store and sets the session cookie
+	 * if the session is new. An invalidated session is removed and its cookie deleted.
+	 * @throws IllegalStateException if the serialized session exceeds {@link #MAX_SESSION_SIZE}
+	 * 		or the store is exhausted 
+	 */
+	@Override public void save(StoredSession session, Response response)
+	{
+		byte[] data = session.isInvalidated() ? null : session.serialize();
+		if ((data != null) && (data.length > MAX_SESSION_SIZE))
+			throw new IllegalStateException("session " + session.getId() + " too large: " + data.length + " bytes");
+		
+		lock_.lock();
+		try
+		{
+			Entry entry = index_.get(session.getId());
+			if (data == null)
+			{
+				if (entry != null)
+					remove(session.getId(), entry);
+			}
+			else
+			{
+				int slabClass = slabClass(data.length);
+				if ((entry != null) && (entry.slabClass != slabClass))
+				{
+					remove(session.getId(), entry);
+					entry = null;
+				}
+				if (entry == null)
+				{
+					entry = new Entry(allocate(slabClass), slabClass, session);
+					index_.put(session.getId(), entry);
+				}
+				entry.lastAccessedTime		= session.getLastAccessedTime();
+				entry.maxInactiveInterval	= session.getMaxInactiveInterval();
+				write(entry.offset, data);
+			}
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+
+		if (session.isNew() || session.isInvalidated())
+		{
+			Cookie cookie = new Cookie(cookieName_, session.isInvalidated() ? "" : session.getId());
+			if (session.isInvalidated())
+				cookie.setMaxAge(0);
+			cookie.setPath(cookiePath_);
+			cookie.setHttpOnly(true);
+			cookie.setSecure(response.getRequest().getSecurity().isSecure());
+			response.addCookie(cookie);
+		}
+		session.setSaved();
+	}
+	
+	
+	private int allocate(int slabClass)
+	{
+		ArrayDeque<Integer> free = freeSlots_[slabClass];
+		if (free.isEmpty() && freePages_.isEmpty())
+		{
+			evictExpired(System.currentTimeMillis());
+			if (free.isEmpty())
+				reclaimPages();
+			if (free.isEmpty() && freePages_.isEmpty())
+				evictLeastRecent(slabClass);
+		}
+		if (free.isEmpty())
+			assignPage(freePages_.poll().intValue(), slabClass);
+		
+		int offset = free.pop().intValue();
+		pageSessions_[page(offset)]++;
+		return offset;
+	}
+	
+	
+	/**
+	 * Returns pages which hold no session to the free pages,
+	 * so that they can be assigned to another slab class.
+	 */
+	private void reclaimPages()
+	{
+		boolean[] reclaim = new boolean[pageCount_];
+		boolean found = false;
+		for (int page=0; page<pageCount_; page++)
+		{
+			if ((pageSessions_[page] == 0) && (buffer_.getInt(pageTableOffset(page)) != 0))
+			{
+				reclaim[page] = true;
+				found = true;
+				buffer_.putInt(pageTableOffset(page), 0);
+				freePages_.add(Integer.valueOf(page));
+			}
+		}
+		if (found)
+		{
+			for (ArrayDeque<Integer> free : freeSlots_)
+				free.removeIf(offset -> reclaim[page(offset.intValue())]);
+		}
+	}
+	
+	
+	private void assignPage(int page, int slabClass)
+	{
+		int slotSize = slotSize(slabClass);
+		buffer_.putInt(pageTableOffset(page), slotSize);
+		for (int offset=pageOffset(page); offset<pageOffset(page + 1); offset += slotSize)
+			free(offset, slabClass);
+	}
+
+	
+	private void evictExpired(long now)
+	{
+		lastSweep_ = now;
+		for (Iterator<Entry> it = index_.values().iterator(); it.hasNext(); )
+		{
+			Entry entry = it.next();
+			if (entry.isExpired(now))
+			{
+				it.remove();
+				release(entry);
+			}
+		}
+	}
+	
+	
+	private void evictLeastRecent(int slabClass)
+	{
+		String lruId = null;
+		Entry lru = null;
+		for (Map.Entry<String,Entry> e : index_.entrySet())
+		{
+			Entry entry = e.getValue();
+			if ((entry.slabClass == slabClass) && ((lru == null) || (entry.lastAccessedTime < lru.lastAccessedTime)))
+			{
+				lruId = e.getKey();
+				lru = entry;
+			}
+		}
+		if (lru != null)
+		{
+			Logs.REQUEST.warn("session store full, evicting session " + lruId);
+			remove(lruId, lru);
+		}
+		else
+			evictLeastRecentPage();
+	}
+	
+	
+	/**
+	 * Evicts all sessions on the page of the least recently accessed session
+	 * and returns the page to the free pages.
+	 */
+	private void evictLeastRecentPage()
+	{
+		Entry lru = null;
+		for (Entry entry : index_.values())
+		{
+			if ((lru == null) || (entry.lastAccessedTime < lru.lastAccessedTime))
+				lru = entry;
+		}
+		if (lru == null)
+			throw new IllegalStateException("session store exhausted");
+		
+		int page = page(lru.offset);
+		Logs.REQUEST.warn("session store full, evicting " + pageSessions_[page] + " sessions of page " + page);
+		for (Iterator<Entry> it = index_.values().iterator(); it.hasNext(); )
+		{
+			Entry entry = it.next();
+			if (page(entry.offset) == page)
+			{
+				it.remove();
+				release(entry);
+			}
+		}
+		reclaimPages();
+	}
+	
+	
+	private void remove(String id, Entry entry)
+	{
+		index_.remove(id);
+		release(entry);
+	}
+	
+	
+	private void release(Entry entry)
+	{
+		free(entry.offset, entry.slabClass);
+		pageSessions_[page(entry.offset)]--;
+	}
+	
+	
+	private void free(int offset, int slabClass)
+	{
+		buffer_.putInt(offset, 0);
+		freeSlots_[slabClass].push(Integer.valueOf(offset));
+	}
+	
+	
+	private byte[] read(int offset, int length)
+	{
+		byte[] data = new byte[length];
+		ByteBuffer b = buffer_.duplicate();
+		b.position(offset + SLOT_HEADER);
+		b.get(data);
+		return data;
+	}
+	
+	
+	private void write(int offset, byte[] data)
+	{
+		ByteBuffer b = buffer_.duplicate();
+		b.position(offset + SLOT_HEADER);
+		b.put(data);
+		buffer_.putInt(offset, data.length);
+	}
+
+	
+	private static int slabClass(int dataLength)
+	{
+		for (int i=0; i<SLAB_CLASSES; i++)
+		{
+			if (dataLength <= slotSize(i) - SLOT_HEADER)
+				return i;
+		}
+		return -1;
+	}
+	
+	
+	private static int slotSize(int slabClass)
+	{
+		return MIN_SLOT_SIZE << slabClass;
+	}
+	
+	
+	private static int pageTableOffset(int page)
+	{
+		return HEADER_SIZE + 4 * page;
+	}
+	
+	
+	private static int pageOffset(int page)
+	{
+		return (page + 1) * PAGE_SIZE;
+	}
+	
+	
+	private static int page(int offset)
+	{
+		return offset / PAGE_SIZE - 1;
+	}
+	
+	
+	/**
+	 * Flushes a memory-mapped file.
+	 */
+	@Override public void close()
+	{
+		if (buffer_ instanceof MappedByteBuffer)
+		{
+			lock_.lock();
+			try
+			{
+				((MappedByteBuffer)buffer_).force();
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+	}
+	
+	
+	@Override public String toString()
+	{
+		return "offheap:" + (file_ != null ? file_.toString() : "direct");
+	}
+
+	
+	private static class Entry
+	{
+		public Entry(int offset, int slabClass, StoredSession session)
+		{
+			this.offset 				= offset;
+			this.slabClass				= slabClass;
+			this.lastAccessedTime		= session.getLastAccessedTime();
+			this.maxInactiveInterval	= session.getMaxInactiveInterval();
+		}
+		
+		
+		public boolean isExpired(long now)
+		{
+			return StoredSession.isExpired(lastAccessedTime, maxInactiveInterval, now);
+		}
+		
+		
+		public final int offset;
+		public final int slabClass;
+		public long lastAccessedTime;
+		public int maxInactiveInterval;
+	}
+	
+
+	private static final long MAGIC 			= 0x4349565345535331L;
+	private static final int HEADER_SIZE 		= 16;
+	private static final int SLOT_HEADER		= 4;
+	private static final int MIN_SLOT_SIZE		= 256;
+	private static final int SLAB_CLASSES		= 9; // 256 B .. 64 KB
+	private static final long SWEEP_INTERVAL	= 60 * 1000L;
+	private final String cookieName_;
+	private final String cookiePath_;
+	private final int maxInactiveInterval_;
+	private final int pageCount_;
+	private final Path file_;
+	private final ByteBuffer buffer_;
+	private final int[] pageSessions_; // number of sessions per page
+	private final Map<String,Entry> index_ = new HashMap<>();
+	@SuppressWarnings("unchecked")
+	private final ArrayDeque<Integer>[] freeSlots_ = new ArrayDeque[SLAB_CLASSES];
+	private final ArrayDeque<Integer> freePages_ = new ArrayDeque<>();
+	private final ReentrantLock lock_ = new ReentrantLock();
+	private long lastSweep_;
+}
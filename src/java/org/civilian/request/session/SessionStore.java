@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.request.session;
+
+
+import org.civilian.request.Request;
+import org.civilian.response.Response;
+
+
+/**
+ * A SessionStore loads and saves {@link StoredSession StoredSessions}.
+ * It allows to keep session state without relying on the session management
+ * of the servlet container. 
+ * @see org.civilian.processor.SessionProcessor
+ */
+public interface SessionStore
+{
+	/**
+	 * Loads the session associated with a request.
+	 * @param request the request
+	 * @return the session or null, if the request has no valid session. 
+	 */
+	public StoredSession load(Request request);
+
+	
+	/**
+	 * Creates a new session.
+	 * @param request the request
+	 * @return the session 
+	 */
+	public StoredSession create(Request request);
+
+
+	/**
+	 * Saves a session which was created, modified or invalidated 
+	 * during request processing. The store may set cookies on the response
+	 * and should call {@link StoredSession#setSaved()} when done.
+	 * @param session the session 
+	 * @param response the response 
+	 */
+	public void save(StoredSession session, Response response);
+
+	
+	/**
+	 * Called when the application closes. The store should free any resources.
+	 * The default implementation does nothing.
+	 */
+	public default void close()
+	{
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.request.session;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.civilian.request.Session;
+import org.civilian.util.Check;
+import org.civilian.util.ClassUtil;
+
+
+/**
+ * StoredSession is a Session which is kept by a {@link SessionStore} instead of the servlet container.
+ * Its state (id, timestamps and attributes) can be serialized into a small byte array.
+ * Attribute values therefore must be Serializable.<p>
+ * A StoredSession tracks if it was modified during a request so that the
+ * store only needs to re-encode the session when its state actually changed.
+ * Since a store cannot detect if a mutable attribute value is changed after it was read,
+ * reading an attribute whose value is not a String, Number, Boolean, Character or Enum
+ * also marks the session as modified.
+ */
+public class StoredSession implements Session
+{
+	/**
+	 * Creates a new session with a random id.
+	 * @param maxInactiveInterval the max inactive interval in seconds, or a value &lt;= 0 if the session never times out
+	 */
+	public StoredSession(int maxInactiveInterval)
+	{
+		this(createId(), System.currentTimeMillis(), maxInactiveInterval);
+		isNew_ 		= true;
+		modified_	= true;
+	}
+	
+	
+	private StoredSession(String id, long creationTime, int maxInactiveInterval)
+	{
+		id_ 					= id;
+		creationTime_ 			= creationTime;
+		lastAccessedTime_		= creationTime;
+		maxInactiveInterval_ 	= maxInactiveInterval;
+	}
+	
+	
+	private static String createId()
+	{
+		byte[] bytes = new byte[16];
+		RANDOM.nextBytes(bytes);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+	
+	
+	/**
+	 * Reads a session from the byte array produced by {@link #serialize()}.
+	 * The data must come from a trusted source, e.g. it was checked
+	 * against a signature before.
+	 * @param data the data
+	 * @return the session
+	 * @throws IOException if the data is corrupted
+	 */
+	public static StoredSession deserialize(byte[] data) throws IOException
+	{
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data)))
+		{
+			StoredSession session = new StoredSession(in.readUTF(), in.readLong(), in.readInt());
+			session.lastAccessedTime_ = in.readLong();
+			int count = in.readInt();
+			for (int i=0; i<count; i++)
+			{
+				String name = in.readUTF();
+				session.attributes_.put(name, in.readObject());
+			}
+			return session;
+		}
+		catch (ClassNotFoundException | ClassCastException e)
+		{
+			throw new IOException("invalid session data", e);
+		}
+	}
+	
+	
+	/**
+	 * Serializes the session state.
+	 * @return the data
+	 */
+	public byte[] serialize()
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 + 32 * attributes_.size());
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeUTF(id_);
+			out.writeLong(creationTime_);
+			out.writeInt(maxInactiveInterval_);
+			out.writeLong(lastAccessedTime_);
+			out.writeInt(attributes_.size());
+			for (Map.Entry<String,Object> entry : attributes_.entrySet())
+			{
+				out.writeUTF(entry.getKey());
+				out.writeObject(entry.getValue());
+			}
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException("cannot serialize session " + id_, e);
+		}
+		return bytes.toByteArray();
+	}
+	
+	
+	/**
+	 * Notifies the session that it is accessed by a request.
+	 * If the last access lies back more than a quarter of the max inactive interval,
+	 * the session is marked as modified so that the store refreshes its timestamp.
+	 * @param now the current time in milliseconds
+	 * @return false if the session has expired
+	 * @see #isExpired(long, int, long)
+	 */
+	public boolean access(long now)
+	{
+		if (isExpired(lastAccessedTime_, maxInactiveInterval_, now))
+			return false;
+		if ((maxInactiveInterval_ > 0) && (now - lastAccessedTime_ > maxInactiveInterval_ * 250L))
+			modified_ = true;
+		lastAccessedTime_ = now;
+		return true;
+	}
+	
+	
+	/**
+	 * Tests if a session has expired. Since stores refresh the stored access time only
+	 * after a quarter of the max inactive interval has passed, a session
+	 * expires between one and 1.25 max inactive intervals after its last request. 
+	 * @param lastAccessedTime the stored last access time
+	 * @param maxInactiveInterval the max inactive interval in seconds
+	 * @param now the current time
+	 * @return is the session expired? 
+	 */
+	public static boolean isExpired(long lastAccessedTime, int maxInactiveInterval, long now)
+	{
+		return (maxInactiveInterval > 0) && (now - lastAccessedTime > maxInactiveInterval * 1250L);
+	}
+	
+	
+	@Override public long getCreationTime()
+	{
+		return creationTime_;
+	}
+	
+
+	@Override public String getId()
+	{
+		return id_;
+	}
+
+	
+	@Override public long getLastAccessedTime()
+	{
+		return lastAccessedTime_;
+	}
+
+
+	@Override public void setMaxInactiveInterval(int seconds)
+	{
+		if (seconds != maxInactiveInterval_)
+		{
+			maxInactiveInterval_ = seconds;
+			modified_ = true;
+		}
+	}
+
+	
+	@Override public int getMaxInactiveInterval()
+	{
+		return maxInactiveInterval_;
+	}
+
+	
+	@Override public Object getAttribute(String name)
+	{
+		Object value = attributes_.get(name);
+		if ((value != null) && !isImmutable(value))
+			modified_ = true;
+		return value;
+	}
+	
+	
+	private static boolean isImmutable(Object value)
+	{
+		return (value instanceof String) || 
+			(value instanceof Number) ||
+			(value instanceof Boolean) ||
+			(value instanceof Character) ||
+			(value instanceof Enum);
+	}
+
+
+	@Override public Iterator<String> getAttributeNames()
+	{
+		return Collections.unmodifiableSet(attributes_.keySet()).iterator();
+	}
+
+	
+	/**
+	 * Sets a session attribute.
+	 * @param name the name
+	 * @param value the value, must be Serializable. If null, the attribute is removed. 
+	 * @throws IllegalArgumentException if the value is not Serializable
+	 */
+	@Override public void setAttribute(String name, Object value)
+	{
+		Check.notNull(name, "name");
+		if (value == null)
+			removeAttribute(name);
+		else if (!(value instanceof Serializable))
+			throw new IllegalArgumentException("attribute '" + name + "' is not Serializable: " + value.getClass().getName());
+		else
+		{
+			Object oldValue = attributes_.put(name, value);
+			if (!value.equals(oldValue) || !isImmutable(value))
+				modified_ = true;
+		}
+	}
+
+	
+	@Override public void removeAttribute(String name)
+	{
+		if (attributes_.remove(name) != null)
+			modified_ = true;
+	}
+
+	
+	/**
+	 * Removes all attributes and marks the session as invalid.
+	 */
+	@Override public void invalidate()
+	{
+		attributes_.clear();
+		invalidated_ = true;
+		modified_	 = true;
+	}
+	
+	
+	/**
+	 * @return if the session was invalidated.
+	 */
+	public boolean isInvalidated()
+	{
+		return invalidated_;
+	}
+
+	
+	@Override public boolean isNew()
+	{
+		return isNew_;
+	}
+
+	
+	/**
+	 * @return if the session was created or its state changed since it was loaded or last saved. 
+	 */
+	public boolean isModified()
+	{
+		return modified_;
+	}
+	
+	
+	/**
+	 * Called by the store when the session state was saved.
+	 */
+	public void setSaved()
+	{
+		modified_ = false;
+	}
+
+
+	@Override public <T> T unwrap(Class<T> implClass)
+	{
+		return ClassUtil.unwrap(this, implClass);
+	}
+	
+	
+	@Override public String toString()
+	{
+		return "StoredSession[" + id_ + ']';
+	}
+
+	
+	private static final SecureRandom RANDOM = new SecureRandom();
+	private final String id_;
+	private final long creationTime_;
+	private final Map<String,Object> attributes_ = new LinkedHashMap<>();
+	private long lastAccessedTime_;
+	private int maxInactiveInterval_;
+	private boolean isNew_;
+	private boolean modified_;
+	private boolean invalidated_;
+}
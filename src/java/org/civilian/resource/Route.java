@@ -96,6 +96,16 @@ public abstract class Route
 	}
 	
 	
+	/**
+	 * @return an estimate of the length of a path built from this route.
+	 * Used to presize the buffer when building Urls.
+	 */
+	int lengthEstimate()
+	{
+		return 1;
+	}
+	
+	
 	protected abstract Route add(Route route);
 
 	
@@ -276,6 +286,12 @@ class ConstantRoute extends Route
 	}
 
 	
+	@Override int lengthEstimate()
+	{
+		return path_.length();
+	}
+
+	
 	@Override public void build(Object[] pathParams, StringBuilder s)
 	{
 		removeLastSlash(s);
@@ -332,6 +348,12 @@ class PathParamRoute<T> extends Route
 	}
 
 	
+	@Override int lengthEstimate()
+	{
+		return PATH_PARAM_ESTIMATE;
+	}
+
+	
 	@SuppressWarnings("unchecked")
 	@Override public void build(Object[] pathParams, StringBuilder s)
 	{
@@ -352,6 +374,7 @@ class PathParamRoute<T> extends Route
 	}
 	
 	
+	private static final int PATH_PARAM_ESTIMATE = 16;
 	private final int ppIndex_;
 	private final PathParam<T> pathParam_;
 }
@@ -361,11 +384,7 @@ class RouteList extends Route
 {
 	public RouteList(Route... list)
 	{
-		list_ = list;
-		int count = 0;
-		for (Route route : list)
-			count += route.getPathParamCount();
-		pathParamCount_ = count;
+		this(countPathParams(list), list);
 	}
 	
 	
@@ -373,6 +392,19 @@ class RouteList extends Route
 	{
 		list_ = list;
 		pathParamCount_ = pathParamCount;
+		int estimate = 0;
+		for (Route route : list)
+			estimate += route.lengthEstimate();
+		lengthEstimate_ = estimate;
+	}
+	
+	
+	private static int countPathParams(Route[] list)
+	{
+		int count = 0;
+		for (Route route : list)
+			count += route.getPathParamCount();
+		return count;
 	}
 
 	
@@ -388,6 +420,12 @@ class RouteList extends Route
 	}
 
 	
+	@Override int lengthEstimate()
+	{
+		return lengthEstimate_;
+	}
+
+	
 	@Override public PathParam<?> getPathParam(int index)
 	{
 		for (int i=0; i<list_.length; i++)
@@ -458,4 +496,5 @@ class RouteList extends Route
 	
 	private final Route[] list_;
 	private final int pathParamCount_;
+	private final int lengthEstimate_;
 }
\ No newline at end of file
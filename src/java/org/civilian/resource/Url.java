@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import org.civilian.resource.pathparam.PathParam;
 import org.civilian.resource.pathparam.PathParamProvider;
 import org.civilian.response.Response;
+import org.civilian.template.CspWriter;
 import org.civilian.text.service.LocaleService;
 import org.civilian.text.service.LocaleServiceProvider;
 import org.civilian.text.type.TypeSerializer;
@@ -42,8 +43,11 @@ import org.civilian.util.http.UriEncoder;
  * to parameter strings is supported.
  * <p>
  * Path parameter values and parameter values are automatically percent encoded.
+ * <p>
+ * A Url can be reused to print many links, e.g. by changing its path parameters between calls 
+ * to {@link #writeTo(CspWriter)}. It then reuses its internal buffers. 
  */
-public class Url implements PathParamProvider
+public class Url implements PathParamProvider, CspWriter.Printable
 {
 	/**
 	 * Creates a Url consisting of the given string value. 
@@ -79,6 +83,7 @@ public class Url implements PathParamProvider
 	public Url setResource(Resource resource)
 	{
 		resource_ 	= resource;
+		mainPart_	= null;
 		int ppCount = resource != null ? resource.getRoute().getPathParamCount() : 0;
 		pathParams_	= ppCount > 0 ? new Object[ppCount] : EMPTY_PATH_PARAMS;
 		return this;
@@ -570,13 +575,99 @@ public class Url implements PathParamProvider
 	 */
 	public String toString(boolean mainPart, boolean queryString)
 	{
-		StringBuilder s = new StringBuilder();
+		if (mainPart && (!queryString || !hasQueryOrFragment()) && (pathParams_.length == 0))
+			return getConstantMainPart();
+		
+		StringBuilder s = new StringBuilder(lengthEstimate());
+		append(s, mainPart, queryString);
+		return s.toString();
+	}
+	
+	
+	/**
+	 * Writes the Url to a CspWriter, without creating an intermediate string.
+	 * @param out the writer
+	 */
+	public void writeTo(CspWriter out)
+	{
+		Check.notNull(out, "out");
+		if ((pathParams_.length == 0) && !hasQueryOrFragment())
+			out.write(getConstantMainPart());
+		else
+		{
+			if (buffer_ == null)
+				buffer_ = new StringBuilder(lengthEstimate());
+			else
+				buffer_.setLength(0);
+			append(buffer_, true, true);
+			
+			int length = buffer_.length();
+			if ((chars_ == null) || (chars_.length < length))
+				chars_ = new char[Math.max(length, 2 * buffer_.capacity())];
+			buffer_.getChars(0, length, chars_, 0);
+			out.write(chars_, 0, length);
+		}
+	}
+	
+	
+	/**
+	 * Implements CspWriter.Printable. Calls {@link #writeTo(CspWriter)}.
+	 */
+	@Override public void print(CspWriter out)
+	{
+		writeTo(out);
+	}
+	
+	
+	private boolean hasQueryOrFragment()
+	{
+		return hasQueryParams() || (fragment_ != null);
+	}
+	
+	
+	/**
+	 * Returns the main part, when the Url does not have path parameters.
+	 * In this case the main part is constant and only built once.  
+	 */
+	private String getConstantMainPart()
+	{
+		if (mainPart_ == null)
+		{
+			StringBuilder s = new StringBuilder(lengthEstimate());
+			appendMainPart(s);
+			mainPart_ = s.toString();
+		}
+		return mainPart_;
+	}
+	
+	
+	private int lengthEstimate()
+	{
+		int estimate = path_.length() + 16;
+		if (resource_ != null)
+			estimate += resource_.getRoute().lengthEstimate();
+		if (queryParams_ != null)
+			estimate += 16 * queryParams_.size();
+		return estimate;
+	}
+	
+	
+	private void appendMainPart(StringBuilder s)
+	{
+		s.append(path_);
+		if (resource_ != null)
+			resource_.getRoute().build(pathParams_, s);
+	}
+	
+	
+	private void append(StringBuilder s, boolean mainPart, boolean queryString)
+	{
 		if (mainPart)
 		{
-			if (path_ != null)
-				s.append(path_);
-			if (resource_ != null)
-				resource_.getRoute().build(pathParams_, s);
+			if (pathParams_.length == 0)
+				s.append(getConstantMainPart());
+			else
+				appendMainPart(s);
 		}
 		if (queryString)
 		{
@@ -592,8 +683,6 @@ public class Url implements PathParamProvider
 			if (fragment_ != null)
 				s.append('#').append(fragment_);
 		}
-		
-		return s.toString();
 	}
 
 	
@@ -604,5 +693,8 @@ public class Url implements PathParamProvider
 	private final String path_;
 	private final LocaleServiceProvider lsProvider_;
 	private String fragment_;
+	private String mainPart_;
+	private StringBuilder buffer_;
+	private char[] chars_;
 	private static final Object[] EMPTY_PATH_PARAMS = new Object[0];
 }
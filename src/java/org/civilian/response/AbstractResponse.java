@@ -20,12 +20,13 @@ import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.stream.Stream;
 import org.civilian.Logs;
 import org.civilian.content.ContentSerializer;
 import org.civilian.content.ContentType;
@@ -33,6 +34,7 @@ import org.civilian.request.Request;
 import org.civilian.template.Template;
 import org.civilian.text.service.LocaleService;
 import org.civilian.util.Check;
+import org.civilian.util.IoUtil;
 import org.civilian.util.Iterators;
 
 
@@ -148,7 +150,7 @@ public abstract class AbstractResponse implements Response
 		
 		ContentSerializer serializer = getOwner().getContentSerializers().get(contentType);
 		if (serializer != null)
-			serializer.write(object, getContentWriter());
+			writeContent(serializer, object);
 		else if (object instanceof String)
 			getContentWriter().write((String)object);
 		else
@@ -158,6 +160,81 @@ public abstract class AbstractResponse implements Response
 	}
 	
 	
+	/**
+	 * Writes the object using the serializer. Streams and iterators
+	 * are passed to the serializer as sequence of elements, to allow for incremental 
+	 * serialization.
+	 * If the serializer {@link ContentSerializer#supportsBytes() supports bytes}, no content
+	 * writer was obtained yet and no writer interceptor was added, the serializer writes
+	 * to the content stream. A later call to {@link #getContentWriter()} still succeeds
+	 * and returns a writer on top of that stream.
+	 */
+	private void writeContent(ContentSerializer serializer, Object object) throws Exception
+	{
+		if (object instanceof Stream)
+		{
+			try (Stream<?> stream = (Stream<?>)object)
+			{
+				writeElements(serializer, stream.iterator());
+			}
+		}
+		else if (object instanceof Iterator)
+			writeElements(serializer, (Iterator<?>)object);
+		else if (canWriteBytes(serializer))
+		{
+			Charset charset = getContentCharset(); // must be called before the stream is obtained
+			serializer.write(object, getSerializerStream(), charset);
+		}
+		else
+			serializer.write(object, getContentWriter());
+	}
+	
+	
+	private void writeElements(ContentSerializer serializer, Iterator<?> elements) throws Exception
+	{
+		if (canWriteBytes(serializer))
+		{
+			Charset charset = getContentCharset(); // must be called before the stream is obtained
+			serializer.writeElements(elements, getSerializerStream(), charset);
+		}
+		else
+			serializer.writeElements(elements, getContentWriter());
+	}
+	
+	
+	/**
+	 * Returns the content stream for a serializer. If the stream is created by this call,
+	 * it is not exposed as content stream: getContentWriter() can still be called afterwards.
+	 */
+	private OutputStream getSerializerStream() throws IOException
+	{
+		if (contentOutput_ == null)
+		{
+			initContentOutput(false /*we want a stream*/);
+			serializerStream_ = true;
+		}
+		return (OutputStream)contentOutput_;
+	}
+	
+	
+	private boolean canWriteBytes(ContentSerializer serializer)
+	{
+		return serializer.supportsBytes() && !(contentOutput_ instanceof Writer) && (readExt().writerInterceptor == null);
+	}
+	
+	
+	/**
+	 * Returns the charset for content which is written to the content stream,
+	 * initializing the encoding with the application encoding if not yet set.
+	 */
+	private Charset getContentCharset()
+	{
+		if (charEncoding_ == null)
+			setCharEncoding(getOwner().getDefaultEncoding().name());
+		return charEncoding_ != null ? Charset.forName(charEncoding_) : getOwner().getDefaultEncoding();
+	}
+	
+	
 	private void writeTemplate(Template template, String contentType) throws Exception
 	{
 		if (contentType != null)
@@ -214,7 +291,13 @@ public abstract class AbstractResponse implements Response
 
 	@Override public PrintWriter getContentWriter() throws IOException
 	{
-		if (!(contentOutput_ instanceof Writer))
+		if (serializerStream_)
+		{
+			// the stream was only used by a serializer: continue with a writer on top of it
+			serializerStream_ = false;
+			contentOutput_ = new PrintWriter(IoUtil.createWriter((OutputStream)contentOutput_, charEncoding_));
+		}
+		else if (!(contentOutput_ instanceof Writer))
 			initContentOutput(true /*we want a writer*/);
 		return (PrintWriter)contentOutput_;
 	}
@@ -224,6 +307,7 @@ public abstract class AbstractResponse implements Response
 	{
 		if (!(contentOutput_ instanceof OutputStream))
 			initContentOutput(false /*we want a stream*/);
+		serializerStream_ = false;
 		return (OutputStream)contentOutput_;
 	}
 	
@@ -318,7 +402,7 @@ public abstract class AbstractResponse implements Response
 		if ((streamInterceptor != null) || (writerInterceptor != null))
 			contentOutput_ = new InterceptedPrintWriter(originalStream, streamInterceptor, writerInterceptor, charEncoding_);
 		else
-			contentOutput_ = new PrintWriter(new OutputStreamWriter(originalStream, charEncoding_));
+			contentOutput_ = new PrintWriter(IoUtil.createWriter(originalStream, charEncoding_));
 	}
 		
 
@@ -328,7 +412,7 @@ public abstract class AbstractResponse implements Response
 	private void initContentWriterForError() throws IOException
 	{
 		if (contentOutput_ instanceof OutputStream)
-			contentOutput_ = new OutputStreamWriter((OutputStream)contentOutput_, getCharEncoding());
+			contentOutput_ = IoUtil.createWriter((OutputStream)contentOutput_, getCharEncoding());
 		contentOutput_ = new PrintWriter((Writer)contentOutput_);
 	}
 	
@@ -523,6 +607,7 @@ public abstract class AbstractResponse implements Response
 		contentLanguage_	= null;
 		charEncoding_		= null;
 		contentOutput_		= null;
+		serializerStream_	= false;
 		extension_			= null;
 		resetAsyncContext();
 	}
@@ -640,6 +725,7 @@ public abstract class AbstractResponse implements Response
 	private final ResponseOwner owner_;
 	private LocaleService localeService_;
 	private Flushable contentOutput_;
+	private boolean serializerStream_;
 	// we duplicate the encoding since we want to know if an encoding was explicitly set
 	// (the servlet response returns ISO-8859-1 if no encoding was set).
 	private String charEncoding_;
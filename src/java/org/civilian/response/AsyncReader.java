@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.response;
+
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.civilian.util.BufferPool;
+import org.civilian.util.Check;
+
+
+/**
+ * AsyncReader reads the request content from an {@link AsyncInput} without blocking.<p>
+ * Whenever the container signals that input is available, the reader reads 
+ * all data which can be read without blocking and passes it in chunks to its {@link Handler}.
+ * When all content has been read, or an error occurred, the stage returned 
+ * by {@link #getCompletion()} completes.
+ */
+public class AsyncReader implements AsyncInputListener
+{
+	/**
+	 * Receives the chunks read by an AsyncReader.
+	 */
+	public interface Handler
+	{
+		/**
+		 * Called for each chunk of data.
+		 * @param data a buffer containing the data. The buffer is reused 
+		 * 		after the call returns and its content must be copied if needed later. 
+		 * @param length the number of bytes in the buffer
+		 * @throws Exception if an error occurs. The reader then stops and completes exceptionally.
+		 */
+		public void onChunk(byte[] data, int length) throws Exception;
+	}
+	
+	
+	/**
+	 * Creates a new AsyncReader and registers it as listener of the input.
+	 * @param input the input
+	 * @param handler receives the data
+	 */
+	public AsyncReader(AsyncInput input, Handler handler)
+	{
+		input_		= Check.notNull(input, "input");
+		handler_	= Check.notNull(handler, "handler");
+		stream_		= input.getStream();
+		input.setListener(this);
+	}
+
+	
+	/**
+	 * @return the number of bytes read so far.
+	 */
+	public long getBytesRead()
+	{
+		return bytesRead_;
+	}
+
+	
+	/**
+	 * @return a stage which completes with the number of bytes read when all
+	 * 		data was read, or completes exceptionally if an error occurred.
+	 */
+	public CompletionStage<Long> getCompletion()
+	{
+		return completion_;
+	}
+	
+	
+	@Override public void onInputAvailable()
+	{
+		if (completion_.isDone())
+			return;
+		
+		byte[] buffer = BufferPool.DEFAULT.acquire();
+		try
+		{
+			while (input_.isReady() && !input_.isFinished())
+			{
+				int n = stream_.read(buffer);
+				if (n < 0)
+					break;
+				if (n > 0)
+				{
+					bytesRead_ += n;
+					handler_.onChunk(buffer, n);
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			onInputError(e);
+		}
+		finally
+		{
+			BufferPool.DEFAULT.release(buffer);
+		}
+	}
+
+
+	@Override public void onInputEnd()
+	{
+		completion_.complete(Long.valueOf(bytesRead_));
+	}
+
+
+	@Override public void onInputError(Throwable error)
+	{
+		completion_.completeExceptionally(error);
+	}
+	
+	
+	private final AsyncInput input_;
+	private final InputStream stream_;
+	private final Handler handler_;
+	private final CompletableFuture<Long> completion_ = new CompletableFuture<>();
+	private volatile long bytesRead_;
+}
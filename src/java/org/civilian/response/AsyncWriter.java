@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.response;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.ReentrantLock;
+import org.civilian.util.BufferPool;
+import org.civilian.util.Check;
+
+
+/**
+ * AsyncWriter writes to an {@link AsyncOutput} without blocking.<p>
+ * Data passed to the write methods is queued and written to the output 
+ * whenever the container signals that the output is ready. Callers never block:
+ * they can check the back-pressure signal returned by the write methods or {@link #isWritable()}
+ * and register a drain listener which is called when the pending data has been written.<br>
+ * After {@link #close()} is called and all queued data has been written, 
+ * the stage returned by {@link #getCompletion()} completes. If writing fails, the 
+ * stage completes exceptionally.
+ */
+public class AsyncWriter implements AsyncOutputListener
+{
+	/**
+	 * Creates a new AsyncWriter and registers it as listener of the output.
+	 * @param output the output
+	 * @param highWaterMark the number of pending bytes above which 
+	 * 		the writer signals back-pressure
+	 */
+	public AsyncWriter(AsyncOutput output, int highWaterMark)
+	{
+		output_			= Check.notNull(output, "output");
+		stream_			= output.getStream();
+		highWaterMark_	= Check.greaterEquals(highWaterMark, 0, "highWaterMark");
+		output.setListener(this);
+	}
+	
+	
+	/**
+	 * Sets a listener which is called when the writer becomes writable again 
+	 * after it had signaled back-pressure.
+	 * @param listener the listener or null 
+	 */
+	public void setDrainListener(Runnable listener)
+	{
+		drainListener_ = listener;
+	}
+	
+	
+	/**
+	 * Queues a byte array for writing. The array is not copied 
+	 * and must not be modified afterwards.
+	 * @param bytes the bytes 
+	 * @return true if the writer is still writable, false if the caller should 
+	 * 		wait for the drain listener before writing more data.
+	 */
+	public boolean write(byte[] bytes)
+	{
+		Check.notNull(bytes, "bytes");
+		return write(ByteBuffer.wrap(bytes));
+	}
+	
+	
+	/**
+	 * Queues a part of a byte array for writing. The array is not copied 
+	 * and must not be modified afterwards.
+	 * @param bytes the bytes 
+	 * @param offset the start offset 
+	 * @param length the number of bytes
+	 * @return true if the writer is still writable
+	 * @see #write(byte[])
+	 */
+	public boolean write(byte[] bytes, int offset, int length)
+	{
+		Check.notNull(bytes, "bytes");
+		return write(ByteBuffer.wrap(bytes, offset, length));
+	}
+	
+	
+	/**
+	 * Queues the remaining bytes of a buffer for writing. The buffer is not copied,
+	 * and must not be modified afterwards.
+	 * @param buffer the buffer
+	 * @return true if the writer is still writable
+	 * @see #write(byte[])
+	 */
+	public boolean write(ByteBuffer buffer)
+	{
+		Check.notNull(buffer, "buffer");
+		lock_.lock();
+		try
+		{
+			if (closed_)
+				throw new IllegalStateException("closed");
+			if (buffer.hasRemaining())
+			{
+				queue_.add(buffer);
+				pending_ += buffer.remaining();
+				drain();
+			}
+			blocked_ = pending_ > highWaterMark_;
+			return !blocked_;
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+	
+	
+	/**
+	 * @return if the number of pending bytes does not exceed the high water mark.
+	 */
+	public boolean isWritable()
+	{
+		return getPendingBytes() <= highWaterMark_;
+	}
+	
+	
+	/**
+	 * @return the number of queued bytes not yet written to the output.
+	 */
+	public long getPendingBytes()
+	{
+		lock_.lock();
+		try
+		{
+			return pending_;
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+
+	
+	/**
+	 * Closes the writer. The completion stage completes when all 
+	 * queued data has been written.
+	 */
+	public void close()
+	{
+		lock_.lock();
+		try
+		{
+			if (!closed_)
+			{
+				closed_ = true;
+				drain();
+			}
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+	
+	
+	/**
+	 * @return a stage which completes when the writer was closed and all data was written,
+	 * 		or completes exceptionally if an error occurred.
+	 */
+	public CompletionStage<Void> getCompletion()
+	{
+		return completion_;
+	}
+	
+	
+	/**
+	 * Writes queued buffers as long as the output is ready. 
+	 * Must be called while holding the lock.
+	 */
+	private void drain()
+	{
+		if (completion_.isDone())
+			return;
+		try
+		{
+			while (output_.isReady())
+			{
+				ByteBuffer buffer = queue_.peek();
+				if (buffer == null)
+				{
+					stream_.flush();
+					if (closed_)
+						completion_.complete(null);
+					break;
+				}
+				pending_ -= writeBuffer(buffer);
+				if (!buffer.hasRemaining())
+					queue_.poll();
+			}
+		}
+		catch (IOException e)
+		{
+			fail(e);
+		}
+	}
+	
+	
+	/**
+	 * Writes the buffer, or a part of it if it is not backed by an array. 
+	 * @return the number of bytes written 
+	 */
+	private int writeBuffer(ByteBuffer buffer) throws IOException
+	{
+		int length = buffer.remaining();
+		if (buffer.hasArray())
+		{
+			stream_.write(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+			buffer.position(buffer.limit());
+		}
+		else
+		{
+			byte[] chunk = BufferPool.DEFAULT.acquire();
+			try
+			{
+				length = Math.min(length, chunk.length);
+				buffer.get(chunk, 0, length);
+				stream_.write(chunk, 0, length);
+			}
+			finally
+			{
+				BufferPool.DEFAULT.release(chunk);
+			}
+		}
+		return length;
+	}
+	
+	
+	private void fail(Throwable error)
+	{
+		queue_.clear();
+		pending_ = 0;
+		closed_ = true;
+		completion_.completeExceptionally(error);
+	}
+
+
+	@Override public void onOutputPossible()
+	{
+		boolean notify;
+		lock_.lock();
+		try
+		{
+			drain();
+			notify = blocked_ && (pending_ <= highWaterMark_) && !closed_;
+			if (notify)
+				blocked_ = false;
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+		
+		Runnable listener = drainListener_;
+		if (notify && (listener != null))
+			listener.run();
+	}
+	
+	
+	@Override public void onOutputError(Throwable error)
+	{
+		lock_.lock();
+		try
+		{
+			fail(error);
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+	}
+	
+	
+	private final AsyncOutput output_;
+	private final OutputStream stream_;
+	private final int highWaterMark_;
+	private final ArrayDeque<ByteBuffer> queue_ = new ArrayDeque<>();
+	private final ReentrantLock lock_ = new ReentrantLock();
+	private final CompletableFuture<Void> completion_ = new CompletableFuture<>();
+	private volatile Runnable drainListener_;
+	private long pending_;
+	private boolean closed_;
+	private boolean blocked_;
+}
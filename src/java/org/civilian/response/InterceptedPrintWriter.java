@@ -3,9 +3,9 @@ package org.civilian.response;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.Writer;
+import org.civilian.util.IoUtil;
 
 
 class InterceptedPrintWriter extends PrintWriter implements InterceptedOutput
@@ -15,7 +15,7 @@ class InterceptedPrintWriter extends PrintWriter implements InterceptedOutput
 		String contentEncoding) throws IOException
 	{
 		OutputStream out = ResponseInterceptorChain.intercept(originalStream, streamInterceptor);
-		return new OutputStreamWriter(out, contentEncoding);
+		return IoUtil.createWriter(out, contentEncoding);
 	}
 	
 	
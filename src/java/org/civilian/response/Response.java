@@ -511,7 +511,10 @@ public interface Response extends RequestProvider, ResponseProvider, LocaleServi
 	 * is set to text/plain. Else an exception is raised.<br>
 	 * The content-type of the response is then set to the calculated content-type.
 	 * and the object is written to the response using a {@link ContentSerializer} for
-	 * that content-type.
+	 * that content-type.<br>
+	 * If the object is a {@link java.util.stream.Stream} or {@link java.util.Iterator} its elements are
+	 * passed to {@link ContentSerializer#writeElements(java.util.Iterator, java.io.Writer)} which allows
+	 * to serialize large results incrementally. A stream is closed after it was written.
 	 * @param object a object containing the data. If null the method does nothing.
 	 * @param contentType a content type. Can be null, if the content-type was already set on
 	 * 		the response
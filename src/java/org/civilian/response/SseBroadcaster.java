@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.response;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.civilian.util.Check;
+import org.civilian.util.http.HeaderNames;
+
+
+/**
+ * SseBroadcaster pushes 
+ * <a href="https://html.spec.whatwg.org/multipage/server-sent-events.html">server-sent events</a>
+ * to many clients.<p>
+ * Clients are registered by {@link #subscribe(Response)} or {@link #subscribe(AsyncContext)}.
+ * Each event passed to {@link #broadcast(String, String, String)} is encoded once into a byte array 
+ * which is then shared by all subscribers.<br>
+ * Subscribers are written via the non-blocking {@link AsyncOutput}: every subscriber has a bounded 
+ * queue of pending events which is drained whenever its output is ready. A broadcast 
+ * therefore never blocks on a slow client. A subscriber whose queue is full is evicted and 
+ * its AsyncContext is completed.<br>
+ * If a heartbeat interval is set, idle subscribers receive a comment line in that
+ * interval, to keep connections open through proxies and detect dead clients.
+ */
+public class SseBroadcaster implements AutoCloseable
+{
+	/**
+	 * The content type of an event stream.
+	 */
+	public static final String CONTENT_TYPE = "text/event-stream";
+	
+	
+	private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+	
+	
+	/**
+	 * Creates a new SseBroadcaster.
+	 * @param queueCapacity the maximum number of events queued for a subscriber
+	 * 		before it is considered a slow consumer and evicted. 
+	 * @param heartbeatMillis the heartbeat interval in milliseconds. If &lt;= 0 no heartbeats are sent.
+	 */
+	public SseBroadcaster(int queueCapacity, long heartbeatMillis)
+	{
+		queueCapacity_ = Check.greaterEquals(queueCapacity, 1, "queueCapacity");
+		if (heartbeatMillis > 0)
+		{
+			timer_ = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "SseBroadcaster-heartbeat");
+				thread.setDaemon(true);
+				return thread;
+			});
+			heartbeat_ = timer_.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+		}
+		else
+		{
+			timer_		= null;
+			heartbeat_	= null;
+		}
+	}
+	
+	
+	/**
+	 * Prepares the response for an event stream, puts it into asynchronous mode 
+	 * and subscribes it.
+	 * @param response the response
+	 * @return the subscriber
+	 * @throws IOException if an I/O error occurs
+	 */
+	public Subscriber subscribe(Response response) throws IOException
+	{
+		Check.notNull(response, "response");
+		response.setContentType(CONTENT_TYPE);
+		response.getHeaders().set(HeaderNames.CACHE_CONTROL, "no-cache");
+		return subscribe(response.startAsync());
+	}
+	
+	
+	/**
+	 * Subscribes an AsyncContext. The context timeout is turned off and 
+	 * the subscriber is removed when the context completes, times out or fails. 
+	 * @param context the context
+	 * @return the subscriber
+	 * @throws IOException if an I/O error occurs
+	 */
+	public Subscriber subscribe(AsyncContext context) throws IOException
+	{
+		Check.notNull(context, "context");
+		if (closed_)
+			throw new IllegalStateException("closed");
+		
+		Subscriber subscriber = new Subscriber(context);
+		context.setTimeout(0);
+		context.addEventListener(subscriber);
+		subscriber.output_.setListener(subscriber);
+		subscribers_.add(subscriber);
+		return subscriber;
+	}
+	
+	
+	/**
+	 * @return the number of current subscribers.
+	 */
+	public int getSubscriberCount()
+	{
+		return subscribers_.size();
+	}
+	
+	
+	/**
+	 * Broadcasts an unnamed event.
+	 * @param data the event data
+	 */
+	public void broadcast(String data)
+	{
+		broadcast(null, null, data);
+	}
+	
+	
+	/**
+	 * Broadcasts an event to all subscribers.
+	 * @param id the event id or null
+	 * @param name the event name or null
+	 * @param data the event data. Multiline data is split into several data fields. 
+	 */
+	public void broadcast(String id, String name, String data)
+	{
+		broadcastBytes(encode(id, name, data), false);
+	}
+	
+	
+	/**
+	 * Encodes an event.
+	 * @param id the event id or null
+	 * @param name the event name or null
+	 * @param data the event data
+	 * @return the UTF-8 encoded event  
+	 */
+	public static byte[] encode(String id, String name, String data)
+	{
+		Check.notNull(data, "data");
+		StringBuilder s = new StringBuilder(data.length() + 32);
+		if (id != null)
+			s.append("id: ").append(id).append('\n');
+		if (name != null)
+			s.append("event: ").append(name).append('\n');
+		
+		int start = 0;
+		int n = data.length();
+		while (true)
+		{
+			int end = start;
+			while ((end < n) && (data.charAt(end) != '\n') && (data.charAt(end) != '\r'))
+				end++;
+			s.append("data: ").append(data, start, end).append('\n');
+			if (end == n)
+				break;
+			start = end + 1;
+			if ((data.charAt(end) == '\r') && (start < n) && (data.charAt(start) == '\n'))
+				start++;
+		}
+		s.append('\n');
+		return s.toString().getBytes(StandardCharsets.UTF_8);
+	}
+	
+	
+	private void heartbeat()
+	{
+		broadcastBytes(HEARTBEAT, true);
+	}
+	
+	
+	private void broadcastBytes(byte[] event, boolean idleOnly)
+	{
+		for (Subscriber subscriber : subscribers_)
+			subscriber.send(event, idleOnly);
+	}
+	
+	
+	/**
+	 * Stops the heartbeat and completes all subscribers.
+	 */
+	@Override public void close()
+	{
+		closed_ = true;
+		if (timer_ != null)
+		{
+			heartbeat_.cancel(false);
+			timer_.shutdown();
+		}
+		for (Subscriber subscriber : subscribers_)
+			subscriber.evict();
+	}
+	
+	
+	/**
+	 * Subscriber represents a single client of the broadcaster.
+	 */
+	public class Subscriber implements AsyncOutputListener, AsyncEventListener
+	{
+		private Subscriber(AsyncContext context) throws IOException
+		{
+			context_ 	= context;
+			output_		= context.getAsyncOutput();
+			stream_		= output_.getStream();
+		}
+		
+		
+		/**
+		 * @return the AsyncContext of the subscriber.
+		 */
+		public AsyncContext getContext()
+		{
+			return context_;
+		}
+		
+		
+		/**
+		 * @return the number of events waiting to be written. 
+		 */
+		public int getPendingCount()
+		{
+			lock_.lock();
+			try
+			{
+				return queue_.size();
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+		
+		
+		/**
+		 * Sends an event to this subscriber only.
+		 * @param id the event id or null
+		 * @param name the event name or null
+		 * @param data the event data
+		 */
+		public void send(String id, String name, String data)
+		{
+			send(encode(id, name, data), false);
+		}
+		
+		
+		private void send(byte[] event, boolean idleOnly)
+		{
+			boolean overflow = false;
+			lock_.lock();
+			try
+			{
+				if (evicted_ || (idleOnly && !queue_.isEmpty()))
+					return;
+				if (queue_.size() >= queueCapacity_)
+					overflow = true;
+				else
+				{
+					queue_.add(event);
+					drain();
+				}
+			}
+			catch (IOException e)
+			{
+				overflow = true;
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+			if (overflow)
+				evict();
+		}
+		
+		
+		/**
+		 * Writes queued events as long as the output is ready.
+		 * Must be called while holding the lock. 
+		 */
+		private void drain() throws IOException
+		{
+			while (output_.isReady())
+			{
+				byte[] event = queue_.poll();
+				if (event == null)
+				{
+					stream_.flush();
+					return;
+				}
+				stream_.write(event);
+			}
+		}
+
+		
+		@Override public void onOutputPossible() throws IOException
+		{
+			lock_.lock();
+			try
+			{
+				if (!evicted_)
+					drain();
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+
+		
+		@Override public void onOutputError(Throwable error)
+		{
+			evict();
+		}
+
+
+		@Override public void onEvent(AsyncEvent event)
+		{
+			if (event.getType() != AsyncEvent.Type.START)
+				remove();
+		}
+		
+		
+		/**
+		 * Unsubscribes and completes the AsyncContext.
+		 */
+		public void evict()
+		{
+			if (remove())
+				context_.complete();
+		}
+		
+		
+		private boolean remove()
+		{
+			lock_.lock();
+			try
+			{
+				if (evicted_)
+					return false;
+				evicted_ = true;
+				queue_.clear();
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+			subscribers_.remove(this);
+			return true;
+		}
+		
+		
+		/**
+		 * @return if the subscriber was removed from the broadcaster.
+		 */
+		public boolean isEvicted()
+		{
+			return evicted_;
+		}
+		
+		
+		private final AsyncContext context_;
+		private final AsyncOutput output_;
+		private final OutputStream stream_;
+		private final ArrayDeque<byte[]> queue_ = new ArrayDeque<>();
+		private final ReentrantLock lock_ = new ReentrantLock(); 
+		private volatile boolean evicted_;
+	}
+	
+	
+	private final int queueCapacity_;
+	private final ScheduledExecutorService timer_;
+	private final ScheduledFuture<?> heartbeat_;
+	private final Set<Subscriber> subscribers_ = ConcurrentHashMap.newKeySet();
+	private volatile boolean closed_;
+}
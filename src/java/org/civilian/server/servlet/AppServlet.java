@@ -17,6 +17,7 @@ package org.civilian.server.servlet;
 
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
@@ -32,6 +33,7 @@ import org.civilian.application.Application;
 import org.civilian.response.Response;
 import org.civilian.server.Server;
 import org.civilian.util.Check;
+import org.civilian.util.VirtualThreads;
 
 
 /**
@@ -54,6 +56,7 @@ public class AppServlet implements Servlet
 	 */
 	public AppServlet()
 	{
+		virtualThreads_ = VirtualThreads::start;
 	}
 	
 	
@@ -64,7 +67,19 @@ public class AppServlet implements Servlet
 	 */
 	public AppServlet(Application app)
 	{
-		app_ = Check.notNull(app, "app");	
+		this(app, VirtualThreads::start);
+	}
+	
+	
+	/**
+	 * Constructor used by tests.
+	 * @param app the application
+	 * @param virtualThreads starts a runnable on a new virtual thread
+	 */
+	AppServlet(Application app, Executor virtualThreads)
+	{
+		app_ 			= Check.notNull(app, "app");	
+		virtualThreads_	= Check.notNull(virtualThreads, "virtualThreads");
 	}
 	
 	
@@ -160,7 +175,37 @@ public class AppServlet implements Servlet
 			return;
 		}
 
-		app_.process(request, response);
+		if (app_.useVirtualThreads() && httpRequest.isAsyncSupported())
+			processOnVirtualThread(app_, request, response);
+		else
+			app_.process(request, response);
+	}
+	
+	
+	/**
+	 * Puts the servlet request into async mode and processes the request on a
+	 * virtual thread. The container thread is released immediately.
+	 * If the application itself starts async mode, then it is responsible
+	 * to complete the request.
+	 */
+	private void processOnVirtualThread(Application app, ServletRequestAdapter request, ServletResponseAdapter response)
+	{
+		jakarta.servlet.AsyncContext asyncContext = request.getServletRequest().startAsync(
+			request.getServletRequest(), 
+			request.getServletResponse());
+		// synchronous processing has no timeout either 
+		asyncContext.setTimeout(0);
+		virtualThreads_.execute(() -> {
+			try
+			{
+				app.process(request, response);
+			}
+			finally
+			{
+				if (!response.isAsyncStarted())
+					asyncContext.complete();
+			}
+		});
 	}
 	
 	
@@ -192,6 +237,7 @@ public class AppServlet implements Servlet
 
 	
 	private Application app_;
+	private final Executor virtualThreads_;
 	private ServletConfig servletConfig_;
 	private ServletContext servletContext_;
 }
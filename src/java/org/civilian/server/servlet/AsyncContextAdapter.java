@@ -19,22 +19,27 @@ package org.civilian.server.servlet;
 import java.io.IOException;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import org.civilian.response.AsyncContext;
 import org.civilian.response.AsyncEventListener;
 import org.civilian.response.AsyncInput;
 import org.civilian.response.AsyncOutput;
 import org.civilian.util.Check;
 import org.civilian.util.CheckedRunnable;
+import org.civilian.util.VirtualThreads;
 
 
 class AsyncContextAdapter extends AsyncContext
 {
-	public AsyncContextAdapter(ServletRequestAdapter request, ServletResponseAdapter response)
+	public AsyncContextAdapter(ServletRequestAdapter request, ServletResponseAdapter response, boolean virtualThreads)
 	{
 		super(request, response);
-		servletAsyncContext_ = request.getServletRequest().startAsync(
-			request.getServletRequest(),
-			response.getServletResponse());
+		HttpServletRequest servletRequest = request.getServletRequest();
+		// when processing on a virtual thread, the AppServlet has already started async mode
+		servletAsyncContext_ = servletRequest.isAsyncStarted() ?
+			servletRequest.getAsyncContext() :
+			servletRequest.startAsync(servletRequest, response.getServletResponse());
+		virtualThreads_ = virtualThreads;
 	}
 	
 	
@@ -100,11 +105,15 @@ class AsyncContextAdapter extends AsyncContext
 	@Override public void start(CheckedRunnable<?> runnable) 
 	{
 		Check.notNull(runnable, "runnable");
-		servletAsyncContext_.start(runnable.unchecked());
+		if (virtualThreads_)
+			VirtualThreads.start(runnable.unchecked());
+		else
+			servletAsyncContext_.start(runnable.unchecked());
 	}
 
 	
 	private final jakarta.servlet.AsyncContext servletAsyncContext_;
+	private final boolean virtualThreads_;
 	private AsyncInputAdapter asyncInput_;
 	private AsyncOutputAdapter asyncOutput_;
 }
@@ -40,10 +40,7 @@ class MpRequestAdapter extends ServletRequestAdapter
 	{
 		super(app, servletRequest, servletResponse);
 		
-		// extract parameters from the request and put it into our parameter map
-		parameters_ = new HashMap<>(servletRequest.getParameterMap());
-		
-		// now parse the parts of the request
+		// parse the parts of the request
 		String encoding = servletRequest.getCharacterEncoding();
 		if (encoding == null)
 			encoding = app.getDefaultEncoding().name();
@@ -107,38 +104,53 @@ class MpRequestAdapter extends ServletRequestAdapter
 
 	@Override public String getParam(String name)
 	{
-		String[] p = getParams(name);
-		return p.length == 0 ? null : p[0];
+		String p = servletRequest_.getParameter(name);
+		if (p == null)
+		{
+			String[] pp = partParams_.get(name);
+			if (pp != null)
+				p = pp[0];
+		}
+		return p;
 	}
 
 
 	@Override public String[] getParams(String name)
 	{
-		String[] p = parameters_.get(name);
-		return p != null ? p : EMPTY_PARAMS;
+		String[] p  = servletRequest_.getParameterValues(name);
+		String[] pp = partParams_.get(name);
+		if (pp == null)
+			return p != null ? p : EMPTY_PARAMS;
+		else
+			return p != null ? ArrayUtil.concat(p, pp) : pp;
 	}
 	
 	
 	@Override public Iterator<String> getParamNames()
 	{
-		return parameters_.keySet().iterator();
+		return getParamMap().keySet().iterator();
 	}
 	
 	
+	/**
+	 * Returns a new map of the servlet parameters merged with the part parameters.
+	 */
 	@Override public Map<String,String[]> getParamMap()
 	{
-		return new HashMap<>(parameters_); 
+		Map<String,String[]> map = new HashMap<>(servletRequest_.getParameterMap());
+		partParams_.forEach((name, values) -> map.merge(name, values, ArrayUtil::concat));
+		return map; 
 	}
 	
 	
 	private void addParam(String name, String value)
 	{
-		String[] v = parameters_.get(name);
+		String[] v = partParams_.get(name);
 		if (v == null)
 			v = new String[] { value };
 		else
 			v = ArrayUtil.addLast(v, value);
-		parameters_.put(name, v);
+		partParams_.put(name, v);
 	}
 	
 	
@@ -148,6 +160,6 @@ class MpRequestAdapter extends ServletRequestAdapter
 	}
 	
 	
-	private final HashMap<String,String[]> parameters_; 
+	private final HashMap<String,String[]> partParams_ = new HashMap<>();
 	private final Uploads uploads_; 
 }
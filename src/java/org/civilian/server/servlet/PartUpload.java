@@ -18,6 +18,7 @@ package org.civilian.server.servlet;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import jakarta.servlet.http.Part;
 import org.civilian.request.Upload;
 
@@ -58,6 +59,16 @@ class PartUpload extends Upload
 	}
 
 	
+	/**
+	 * Lets the container write the part. Containers move their temporary file 
+	 * if the part was stored on disk, which avoids to copy the upload content.
+	 */
+	@Override public void moveTo(Path file) throws IOException
+	{
+		part_.write(file.toAbsolutePath().toString());
+	}
+
+	
 	@Override public String getName()
 	{
 		return part_.getName();
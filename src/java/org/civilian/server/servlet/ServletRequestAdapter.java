@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.security.Principal;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Locale;
 import jakarta.servlet.ServletException;
@@ -152,11 +153,14 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 	
 	
 	/**
-	 * Forwards to the HttpServletRequest.
+	 * Returns the cookies of the HttpServletRequest. The list is
+	 * created on first access and then reused for the request.
 	 */
 	@Override public CookieList getCookies()
 	{
-		return new CookieList(servletRequest_.getCookies());
+		if (cookies_ == null)
+			cookies_ = new CookieList(servletRequest_.getCookies());
+		return cookies_;
 	}
 
 	
@@ -317,6 +321,11 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 	}
 
 	
+	/**
+	 * Headers forwards to the ServletRequest. Header values obtained from the ServletRequest
+	 * are cached, therefore each header is fetched and parsed at most once per request,
+	 * even if accessed by different processors and controllers.
+	 */
 	private class Headers extends HeaderMap implements RequestHeaders
 	{
 		/**
@@ -324,7 +333,13 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 		 */
 		@Override protected String getNext(String name)
 		{
-			return servletRequest_.getHeader(name);
+			CachedHeader header = getCached(name);
+			if (!header.valueLoaded)
+			{
+				header.value 		= servletRequest_.getHeader(name);
+				header.valueLoaded	= true;
+			}
+			return header.value;
 		}
 
 		
@@ -333,7 +348,13 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 		 */
 		@Override protected long getDateNext(String name)
 		{
-			return servletRequest_.getDateHeader(name);
+			CachedHeader header = getCached(name);
+			if (!header.dateLoaded)
+			{
+				header.date 		= servletRequest_.getDateHeader(name);
+				header.dateLoaded	= true;
+			}
+			return header.date;
 		}
 		
 		
@@ -342,7 +363,10 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 		 */
 		@Override protected String[] getNextAll(String name)
 		{
-			return ArrayUtil.toArray(servletRequest_.getHeaders(name), String.class);
+			CachedHeader header = getCached(name);
+			if (header.values == null)
+				header.values = ArrayUtil.toArray(servletRequest_.getHeaders(name), String.class);
+			return header.values;
 		}
 
 
@@ -353,6 +377,44 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 		{
 			return Iterators.asIterator(servletRequest_.getHeaderNames());
 		}
+		
+		
+		/**
+		 * Returns the cache entry for the header. Since only a few headers
+		 * are accessed during a request, a linear search is used.
+		 */
+		private CachedHeader getCached(String name)
+		{
+			for (int i=0; i<cacheSize_; i++)
+			{
+				if (cache_[i].name.equalsIgnoreCase(name))
+					return cache_[i];
+			}
+			if (cacheSize_ == cache_.length)
+				cache_ = Arrays.copyOf(cache_, 2 * cacheSize_);
+			return cache_[cacheSize_++] = new CachedHeader(name);
+		}
+		
+		
+		private CachedHeader[] cache_ = new CachedHeader[8];
+		private int cacheSize_;
+	}
+	
+	
+	private static class CachedHeader
+	{
+		public CachedHeader(String name)
+		{
+			this.name = name;
+		}
+		
+		
+		public final String name;
+		public String value;
+		public boolean valueLoaded;
+		public String[] values;
+		public long date;
+		public boolean dateLoaded;
 	}
 
 
@@ -469,4 +531,5 @@ abstract class ServletRequestAdapter extends AbstractRequest implements RequestS
 	protected final HttpServletRequest servletRequest_;
 	protected final HttpServletResponse servletResponse_;
 	private Headers headers_;
+	private CookieList cookies_;
 }
@@ -257,7 +257,7 @@ class ServletResponseAdapter extends AbstractResponse
 
 	@Override protected AsyncContext createAsyncContext()
 	{
-		return new AsyncContextAdapter((ServletRequestAdapter)getRequest(), this);
+		return new AsyncContextAdapter((ServletRequestAdapter)getRequest(), this, ((Application)getOwner()).useVirtualThreads());
 	}
 
 
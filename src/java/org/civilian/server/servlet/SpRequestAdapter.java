@@ -23,6 +23,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.civilian.application.Application;
 import org.civilian.request.Uploads;
 import org.civilian.util.Iterators;
+import org.civilian.util.http.UriParams;
 
 
 /**
@@ -33,17 +34,40 @@ class SpRequestAdapter extends ServletRequestAdapter
 	public SpRequestAdapter(Application app, HttpServletRequest servletRequest, HttpServletResponse servletResponse)
 	{
 		super(app, servletRequest, servletResponse);
+		rawQueryParams_ = app.useRawQueryParams();
 	}
 
 
+	/**
+	 * Returns the parsed query string if the application reads parameters
+	 * from the raw query string and this is a GET or HEAD request, else null. 
+	 * Only the parameters which are actually accessed are decoded. 
+	 * @see org.civilian.application.AppConfig#setRawQueryParams(boolean)
+	 */
+	private UriParams getQueryParams()
+	{
+		if ((queryParams_ == null) && rawQueryParams_)
+		{
+			String method = servletRequest_.getMethod();
+			if ("GET".equals(method) || "HEAD".equals(method))
+				queryParams_ = UriParams.ofQuery(servletRequest_.getQueryString());
+		}
+		return queryParams_;
+	}
+	
+	
 	@Override public String getParam(String name)
 	{
-		return servletRequest_.getParameter(name);
+		UriParams qp = getQueryParams();
+		return qp != null ? qp.get(name) : servletRequest_.getParameter(name);
 	}
 
 
 	@Override public String[] getParams(String name)
 	{
+		UriParams qp = getQueryParams();
+		if (qp != null)
+			return qp.getAll(name);
 		String[] p = servletRequest_.getParameterValues(name);
 		return p != null ? p : EMPTY_PARAMS;
 	}
@@ -51,13 +75,15 @@ class SpRequestAdapter extends ServletRequestAdapter
 	
 	@Override public Iterator<String> getParamNames()
 	{
-		return Iterators.asIterator(servletRequest_.getParameterNames());
+		UriParams qp = getQueryParams();
+		return qp != null ? qp.getNames() : Iterators.asIterator(servletRequest_.getParameterNames());
 	}
 	
 	
 	@Override public Map<String,String[]> getParamMap()
 	{
-		return servletRequest_.getParameterMap();
+		UriParams qp = getQueryParams();
+		return qp != null ? qp.getMap() : servletRequest_.getParameterMap();
 	}
 
 
@@ -70,5 +96,8 @@ class SpRequestAdapter extends ServletRequestAdapter
 	{
 		return Uploads.EMPTY;
 	}
+	
+	
+	private final boolean rawQueryParams_;
+	private UriParams queryParams_;
 }
-
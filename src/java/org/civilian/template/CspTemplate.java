@@ -17,6 +17,7 @@ package org.civilian.template;
 
 
 import java.io.PrintWriter;
+import java.util.concurrent.locks.ReentrantLock;
 import org.civilian.util.Check;
 
 
@@ -61,22 +62,33 @@ public abstract class CspTemplate extends Template implements CspWriter.Printabl
 	 * Prints the template, using the given CspWriter.
 	 * The method stores the CspWriter in the field {@link #out}
 	 * and the calls {@link #print()}.
+	 * A lock instead of a synchronized method is used to guard concurrent
+	 * printing, since a blocking write within a synchronized method would pin
+	 * a virtual thread to its carrier thread.
 	 */
-	@Override public synchronized void print(CspWriter out) throws Exception
+	@Override public void print(CspWriter out) throws Exception
 	{
 		Check.notNull(out, "out");
-		if (this.out != null)
-			throw new IllegalStateException("already printing");
+		printLock_.lock();
 		try
 		{
-			this.out = out;
-			init();
-			print();
+			if (this.out != null)
+				throw new IllegalStateException("already printing");
+			try
+			{
+				this.out = out;
+				init();
+				print();
+			}
+			finally
+			{
+				this.out = null;
+				exit();
+			}
 		}
 		finally
 		{
-			this.out = null;
-			exit();
+			printLock_.unlock();
 		}
 	}
 	
@@ -109,4 +121,5 @@ public abstract class CspTemplate extends Template implements CspWriter.Printabl
 	
 	
 	protected CspWriter out;
+	private final ReentrantLock printLock_ = new ReentrantLock();
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.template;
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import freemarker.cache.MruCacheStorage;
+import freemarker.cache.TemplateLoader;
+import freemarker.template.Configuration;
+import org.civilian.util.Check;
+import org.civilian.util.ResourceLoader;
+
+
+/**
+ * FreemarkerTemplateEngine owns a Freemarker Configuration which loads templates
+ * via a Civilian {@link ResourceLoader}. Create one engine per application, e.g. during
+ * {@link org.civilian.application.Application#init(org.civilian.application.AppConfig) initialization}, 
+ * and share it between requests: the Configuration is thread-safe and keeps
+ * parsed templates in a bounded most-recently-used cache.
+ */
+public class FreemarkerTemplateEngine
+{
+	/**
+	 * Creates a new FreemarkerTemplateEngine.
+	 * @param loader the loader to read template sources
+	 * @param encoding the encoding of the template sources
+	 * @param cacheSize the maximum number of parsed templates which are strongly cached.
+	 * 		Additional templates are softly cached.
+	 */
+	public FreemarkerTemplateEngine(ResourceLoader loader, Charset encoding, int cacheSize)
+	{
+		Check.notNull(loader, "loader");
+		Check.notNull(encoding, "encoding");
+		Check.greaterEquals(cacheSize, 1, "cacheSize");
+		
+		configuration_ = new Configuration();
+		configuration_.setTemplateLoader(new Loader(loader));
+		configuration_.setCacheStorage(new MruCacheStorage(cacheSize, Integer.MAX_VALUE));
+		configuration_.setDefaultEncoding(encoding.name());
+		configuration_.setLocalizedLookup(false);
+		// resources are not expected to change at runtime
+		configuration_.setTemplateUpdateDelay(Integer.MAX_VALUE);
+	}
+	
+	
+	/**
+	 * Returns the Freemarker configuration. It can be used to tweak
+	 * the configuration before the first template is loaded. 
+	 * @return the configuration
+	 */
+	public Configuration getConfiguration()
+	{
+		return configuration_;
+	}
+	
+
+	/**
+	 * Parses the given templates, so that they are cached before 
+	 * the first request uses them.
+	 * @param names the template names
+	 * @throws IOException if a template does not exist or cannot be parsed.
+	 */
+	public void precompile(String... names) throws IOException
+	{
+		for (String name : names)
+			getTemplate(name);
+	}
+	
+	
+	/**
+	 * Returns a parsed template. 
+	 * @param name the template name
+	 * @return the template
+	 * @throws IOException if the template does not exist or cannot be parsed.
+	 */
+	public freemarker.template.Template getTemplate(String name) throws IOException
+	{
+		return configuration_.getTemplate(name);
+	}
+
+	
+	/**
+	 * Returns a Civilian template for a Freemarker template and a model.
+	 * @param name the template name
+	 * @param model the model
+	 * @return the template
+	 * @throws IOException if the template does not exist or cannot be parsed.
+	 */
+	public FreemarkerTemplate createTemplate(String name, Object model) throws IOException
+	{
+		return new FreemarkerTemplate(getTemplate(name), model);
+	}
+	
+	
+	private static class Loader implements TemplateLoader
+	{
+		public Loader(ResourceLoader loader)
+		{
+			loader_ = loader;
+		}
+		
+		
+		@Override public Object findTemplateSource(String name)
+		{
+			URL url = loader_.getResourceUrl(name);
+			return url != null ? name : null;
+		}
+
+		
+		@Override public long getLastModified(Object source)
+		{
+			return -1L;
+		}
+
+		
+		@Override public Reader getReader(Object source, String encoding) throws IOException
+		{
+			Reader reader = loader_.getResourceAsReader((String)source, Charset.forName(encoding));
+			if (reader == null)
+				throw new IOException("template not found: " + source);
+			return reader;
+		}
+		
+
+		@Override public void closeTemplateSource(Object source)
+		{
+		}
+		
+		
+		private final ResourceLoader loader_;
+	}
+
+
+	private final Configuration configuration_;
+}
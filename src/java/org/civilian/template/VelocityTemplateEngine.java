@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.template;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.commons.collections.ExtendedProperties;
+import org.apache.velocity.VelocityContext;
+import org.apache.velocity.exception.ResourceNotFoundException;
+import org.apache.velocity.runtime.RuntimeConstants;
+import org.apache.velocity.runtime.RuntimeInstance;
+import org.apache.velocity.runtime.parser.ParseException;
+import org.apache.velocity.runtime.resource.Resource;
+import org.civilian.util.Check;
+import org.civilian.util.ResourceLoader;
+
+
+/**
+ * VelocityTemplateEngine owns a Velocity runtime and reads templates via a Civilian 
+ * {@link ResourceLoader}, also when templates are included via <code>#parse</code> 
+ * or <code>#include</code>. Create one engine per application, e.g. during
+ * {@link org.civilian.application.Application#init(org.civilian.application.AppConfig) initialization}, 
+ * and share it between requests. Parsed templates are kept in a bounded
+ * least-recently-used cache.
+ */
+public class VelocityTemplateEngine
+{
+	/**
+	 * Creates a new VelocityTemplateEngine.
+	 * @param loader the loader to read template sources
+	 * @param encoding the encoding of the template sources
+	 * @param cacheSize the maximum number of cached parsed templates
+	 */
+	public VelocityTemplateEngine(ResourceLoader loader, Charset encoding, int cacheSize)
+	{
+		loader_		= Check.notNull(loader, "loader");
+		encoding_	= Check.notNull(encoding, "encoding");
+		cacheSize_	= Check.greaterEquals(cacheSize, 1, "cacheSize");
+		runtime_	= new RuntimeInstance();
+		runtime_.setProperty(RuntimeConstants.RESOURCE_LOADER, "civilian");
+		runtime_.setProperty("civilian.resource.loader.instance", new Loader(loader));
+		runtime_.setProperty(RuntimeConstants.INPUT_ENCODING, encoding.name());
+		runtime_.init();
+	}
+	
+	
+	/**
+	 * @return the Velocity runtime.
+	 */
+	public RuntimeInstance getRuntime()
+	{
+		return runtime_;
+	}
+
+	
+	/**
+	 * Parses the given templates, so that they are cached before 
+	 * the first request uses them.
+	 * @param names the template names
+	 * @throws IOException if a template does not exist or cannot be parsed.
+	 */
+	public void precompile(String... names) throws IOException
+	{
+		for (String name : names)
+			getTemplate(name);
+	}
+
+	
+	/**
+	 * Returns a parsed template. 
+	 * @param name the template name
+	 * @return the template
+	 * @throws IOException if the template does not exist or cannot be parsed.
+	 */
+	public org.apache.velocity.Template getTemplate(String name) throws IOException
+	{
+		org.apache.velocity.Template template;
+		lock_.lock();
+		try
+		{
+			template = cache_.get(name);
+		}
+		finally
+		{
+			lock_.unlock();
+		}
+		
+		if (template == null)
+		{
+			// parse outside of the lock: a concurrent parse of the same template is harmless
+			template = parse(name);
+			lock_.lock();
+			try
+			{
+				cache_.put(name, template);
+			}
+			finally
+			{
+				lock_.unlock();
+			}
+		}
+		return template;
+	}
+	
+	
+	private org.apache.velocity.Template parse(String name) throws IOException
+	{
+		try (Reader reader = loader_.getResourceAsReader(name, encoding_))
+		{
+			if (reader == null)
+				throw new IOException("template not found: " + name);
+			org.apache.velocity.Template template = new org.apache.velocity.Template();
+			template.setRuntimeServices(runtime_);
+			template.setName(name);
+			template.setEncoding(encoding_.name());
+			template.setData(runtime_.parse(reader, name));
+			template.initDocument();
+			return template;
+		}
+		catch (ParseException e)
+		{
+			throw new IOException("cannot parse template " + name, e);
+		}
+	}
+	
+	
+	/**
+	 * Returns a Civilian template for a Velocity template and a context.
+	 * @param name the template name
+	 * @param context the context
+	 * @return the template
+	 * @throws IOException if the template does not exist or cannot be parsed.
+	 */
+	public VelocityTemplate createTemplate(String name, VelocityContext context) throws IOException
+	{
+		return new VelocityTemplate(getTemplate(name), context);
+	}
+
+	
+	private static class Loader extends org.apache.velocity.runtime.resource.loader.ResourceLoader
+	{
+		public Loader(ResourceLoader loader)
+		{
+			loader_ = loader;
+		}
+		
+		
+		@Override public void init(ExtendedProperties configuration)
+		{
+		}
+		
+		
+		@Override public InputStream getResourceStream(String name) throws ResourceNotFoundException
+		{
+			InputStream in = loader_.getResourceAsStream(name);
+			if (in == null)
+				throw new ResourceNotFoundException("template not found: " + name);
+			return in;
+		}
+
+		
+		@Override public boolean isSourceModified(Resource resource)
+		{
+			return false;
+		}
+
+		
+		@Override public long getLastModified(Resource resource)
+		{
+			return 0L;
+		}
+		
+		
+		private final ResourceLoader loader_;
+	}
+	
+	
+	private final ResourceLoader loader_;
+	private final Charset encoding_;
+	private final int cacheSize_;
+	private final RuntimeInstance runtime_;
+	private final ReentrantLock lock_ = new ReentrantLock();
+	private final Map<String,org.apache.velocity.Template> cache_ = new LinkedHashMap<>(16, 0.75f, true)
+	{
+		private static final long serialVersionUID = 1L;
+
+		@Override protected boolean removeEldestEntry(Map.Entry<String,org.apache.velocity.Template> eldest)
+		{
+			return size() > cacheSize_;
+		}
+	};
+}
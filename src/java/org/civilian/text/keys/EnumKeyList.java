@@ -31,7 +31,8 @@ public class EnumKeyList<E extends Enum<E>> extends KeyList<E>
 	public EnumKeyList(Class<E> enumClass)
 	{
 		super(KeySerializers.forEnum(enumClass));
-		values_ = enumClass.getEnumConstants();
+		enumClass_	= enumClass;
+		values_ 	= enumClass.getEnumConstants();
 	}
 	
 	
@@ -44,6 +45,17 @@ public class EnumKeyList<E extends Enum<E>> extends KeyList<E>
 	}
 	
 
+	/**
+	 * @param value a enum value
+	 * @return the ordinal of the enum or -1 if the value is null
+	 * 		or does not belong to the enum class of the list.
+	 */
+	@Override public int indexOf(E value)
+	{
+		return (value != null) && (value.getDeclaringClass() == enumClass_) ? value.ordinal() : -1;
+	}
+	
+
 	/**
 	 * @param index an index
 	 * @return the i-th enum.
@@ -64,5 +76,6 @@ public class EnumKeyList<E extends Enum<E>> extends KeyList<E>
 	}
 
 	
+	private final Class<E> enumClass_;
 	private final E[] values_;
 }
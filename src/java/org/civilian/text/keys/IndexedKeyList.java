@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.text.keys;
+
+
+import java.util.HashMap;
+import org.civilian.util.Check;
+
+
+/**
+ * IndexedKeyList is a KeyList which wraps another KeyList
+ * and maintains hash indexes for values and texts.
+ * Lookups by value or text therefore take constant time instead of
+ * scanning the list, which pays off for large lists used by
+ * form controls like {@link org.civilian.form.Select}.
+ * The wrapped KeyList must not change once it is indexed.
+ * The KeyType of the IndexedKeyList uses the KeySerializer of the wrapped list
+ * but parses and formats values with the indexes.
+ */
+public class IndexedKeyList<VALUE> extends KeyList<VALUE>
+{
+	/**
+	 * Creates a new IndexedKeyList.
+	 * @param keys the wrapped KeyList
+	 */
+	public IndexedKeyList(KeyList<VALUE> keys)
+	{
+		super(Check.notNull(keys, "keys").getType().getKeySerializer());
+		keys_ = keys;
+		
+		int size 		= keys.size();
+		valueIndex_ 	= new HashMap<>(size * 4 / 3 + 1);
+		textIndex_ 		= new HashMap<>(size * 4 / 3 + 1);
+		for (int i=0; i<size; i++)
+		{
+			// keep the first occurrence as the linear scan does
+			valueIndex_.putIfAbsent(keys.getValue(i), Integer.valueOf(i));
+			String text = keys.getText(i);
+			if (text != null)
+				textIndex_.putIfAbsent(text, Integer.valueOf(i));
+		}
+	}
+	
+	
+	@Override public int size()
+	{
+		return keys_.size();
+	}
+	
+	
+	@Override public int indexOf(VALUE value)
+	{
+		Integer index = valueIndex_.get(value);
+		return index != null ? index.intValue() : -1;
+	}
+	
+
+	@Override public VALUE getValue(int index)
+	{
+		return keys_.getValue(index);
+	}
+	
+
+	@Override public VALUE getValue(String text)
+	{
+		int index = getTextIndex(text);
+		return index != -1 ? keys_.getValue(index) : null;
+	}
+	
+
+	@Override public String getText(int index)
+	{
+		return keys_.getText(index);
+	}
+
+	
+	@Override public int getTextIndex(String text)
+	{
+		Integer index = text != null ? textIndex_.get(text) : null;
+		return index != null ? index.intValue() : -1;
+	}
+
+	
+	/**
+	 * Returns an info string.
+	 */
+	@Override public String toString()
+	{
+		return keys_.toString();
+	}
+
+
+	/**
+	 * @return the wrapped KeyList.
+	 */
+	KeyList<VALUE> getKeys()
+	{
+		return keys_;
+	}
+
+
+	private final KeyList<VALUE> keys_;
+	private final HashMap<Object,Integer> valueIndex_;
+	private final HashMap<String,Integer> textIndex_;
+}
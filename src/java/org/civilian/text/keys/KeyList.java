@@ -16,6 +16,9 @@
 package org.civilian.text.keys;
 
 
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import org.civilian.form.Select;
 import org.civilian.util.Check;
 
@@ -163,5 +166,56 @@ public abstract class KeyList<VALUE>
 	}
 	
 	
+	/**
+	 * @return if the keys of the list can change. The default implementation
+	 * returns false.
+	 */
+	public boolean isMutable()
+	{
+		return false;
+	}
+	
+	
+	/**
+	 * Returns an object derived from the keys of this list, for instance pre-rendered
+	 * markup used by controls like {@link Select}. The object is created by the factory on 
+	 * first access and then cached by the KeyList. Mutable KeyLists don't cache derived objects.
+	 * @param context further input of the factory, e.g. the TypeSerializer of a locale. 
+	 * 		It is part of the cache key. Can be null. 
+	 * @param factory creates the object from the KeyList and the context. It is also part of 
+	 * 		the cache key and therefore should be a constant.
+	 * @param <X> the type of the context
+	 * @param <C> the type of the derived object
+	 * @return the derived object
+	 */
+	public <X,C> C getDerived(X context, BiFunction<? super KeyList<VALUE>,X,C> factory)
+	{
+		return getDerived(this, Arrays.asList(factory, context), context, factory);
+	}
+	
+	
+	@SuppressWarnings("unchecked")
+	<X,C> C getDerived(KeyList<VALUE> source, Object key, X context, BiFunction<? super KeyList<VALUE>,X,C> factory)
+	{
+		if (isMutable())
+			return factory.apply(source, context);
+		
+		ConcurrentHashMap<Object,Object> derived = derived_;
+		if (derived == null)
+			derived_ = derived = new ConcurrentHashMap<>();
+		
+		Object result = derived.get(key);
+		if (result == null)
+		{
+			result = factory.apply(source, context);
+			Object prev = derived.putIfAbsent(key, result);
+			if (prev != null)
+				result = prev;
+		}
+		return (C)result;
+	}
+	
+	
 	private final KeyType<VALUE> type_;
+	private volatile ConcurrentHashMap<Object,Object> derived_;
 }
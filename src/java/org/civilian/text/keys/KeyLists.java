@@ -123,4 +123,17 @@ public class KeyLists
 	{
 		return new TranslatingKeyList<>(keys, msgBundle);
 	}
+	
+	
+	/**
+	 * @param keys a KeyList
+	 * @param <T> the keys value type
+	 * @return a KeyList with the keys of the given KeyList which uses 
+	 * hash indexes to lookup values and texts. Use it for large KeyLists
+	 * which do not change.
+	 */
+	public static <T> KeyList<T> indexed(KeyList<T> keys)
+	{
+		return keys instanceof IndexedKeyList ? keys : new IndexedKeyList<>(keys);
+	}
 }
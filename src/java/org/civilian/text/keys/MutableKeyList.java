@@ -43,6 +43,15 @@ public class MutableKeyList<VALUE> extends KeyList<VALUE>
 	}
 	
 	
+	/**
+	 * @return true
+	 */
+	@Override public boolean isMutable()
+	{
+		return true;
+	}
+	
+	
 	public void clear()
 	{
 		items_.clear();
@@ -113,6 +122,8 @@ public class MutableKeyList<VALUE> extends KeyList<VALUE>
 	{
 		private <VALUE> ArrayList<Item<VALUE>> getItems(KeyList<VALUE> keyList)
 		{
+			if (keyList instanceof IndexedKeyList)
+				keyList = ((IndexedKeyList<VALUE>)keyList).getKeys();
 			return ((MutableKeyList<VALUE>)keyList).items_; 
 		}
 		
@@ -16,6 +16,8 @@
 package org.civilian.text.keys;
 
 
+import java.util.Arrays;
+import java.util.function.BiFunction;
 import org.civilian.text.msg.MsgBundle;
 
 
@@ -56,6 +58,24 @@ public class TranslatingKeyList<T> extends KeyList<T>
 	{
 		return msgBundle_.msg(keys_.getText(index));
 	}
+	
+	
+	@Override public boolean isMutable()
+	{
+		return keys_.isMutable();
+	}
+	
+	
+	/**
+	 * Derived objects are cached by the wrapped KeyList, per locale of the MsgBundle.
+	 * Therefore TranslatingKeyLists which are created per request for the
+	 * MsgBundle of the response LocaleService share the cache, and the cache
+	 * does not grow with the number of MsgBundle instances.
+	 */
+	@Override public <X,C> C getDerived(X context, BiFunction<? super KeyList<T>,X,C> factory)
+	{
+		return keys_.getDerived(this, Arrays.asList(factory, context, msgBundle_.getLocale()), context, factory);
+	}
 
 
 	private final KeyList<T> keys_;
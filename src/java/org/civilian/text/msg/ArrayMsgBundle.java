@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.text.msg;
+
+
+import java.util.HashMap;
+import java.util.Locale;
+import org.civilian.util.Check;
+
+
+/**
+ * ArrayMsgBundle is a MsgBundle implementation backed by an array
+ * of message texts. It is created by an {@link ArrayMsgBundleFactory}. 
+ * Messages requested by a {@link MsgId} which knows its index
+ * are returned by a simple array read.
+ */
+public class ArrayMsgBundle extends MsgBundle
+{
+	/**
+	 * Creates a new ArrayMsgBundle.
+	 * @param locale the locale of the bundle
+	 * @param ids the message ids
+	 * @param index maps the message ids to their position in the ids array
+	 * @param texts the message texts, in the order of the ids
+	 */
+	ArrayMsgBundle(Locale locale, String[] ids, HashMap<String,Integer> index, String[] texts)
+	{
+		locale_ = Check.notNull(locale, "locale");
+		ids_	= ids;
+		index_ 	= index;
+		texts_ 	= texts;
+	}
+	
+	
+	@Override public Locale getLocale()
+	{
+		return locale_;
+	}
+
+	
+	@Override public boolean contains(Object id)
+	{
+		return indexOf(id) >= 0;
+	}
+
+	
+	@Override public String get(Object id)
+	{
+		int index = indexOf(id);
+		return index >= 0 ? texts_[index] : null;
+	}
+	
+	
+	private int indexOf(Object id)
+	{
+		String s = id.toString();
+		if (id instanceof MsgId)
+		{
+			int index = ((MsgId)id).getIndex();
+			if ((index >= 0) && (index < ids_.length) && ids_[index].equals(s))
+				return index;
+		}
+		Integer index = index_.get(s);
+		return index != null ? index.intValue() : -1;
+	}
+	
+
+	@Override public String msg(Object id)
+	{
+		String text = get(id);
+		return text != null ? text : getUnknown(id);
+	}
+
+	
+	/**
+	 * Returns the text array if you pass String[].class as parameter.
+	 */
+	@Override public <T> T unwrap(Class<T> implClass)
+	{
+		return implClass == String[].class ? implClass.cast(texts_.clone()) : null;
+	}
+
+	
+	private final Locale locale_;
+	private final String[] ids_;
+	private final HashMap<String,Integer> index_;
+	private final String[] texts_;
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.text.msg;
+
+
+import java.util.HashMap;
+import java.util.Locale;
+import org.civilian.util.Check;
+
+
+/**
+ * A MsgBundleFactory implementation which creates 
+ * {@link ArrayMsgBundle ArrayMsgBundles}. The messages are
+ * passed as arrays, usually by a class generated by the ResBundleCompiler
+ * which derives from ArrayMsgBundleFactory. No resource bundles 
+ * need to be loaded or parsed.
+ */
+public class ArrayMsgBundleFactory extends MsgBundleFactory
+{
+	/**
+	 * Creates a new ArrayMsgBundleFactory.
+	 * @param ids the message ids. 
+	 * @param languages the languages, given as locale strings like "en" or "de_CH". 
+	 * 		The first language is used for locales which do not match any language.
+	 * @param texts for each language the message texts, in the order of the ids.
+	 */
+	public ArrayMsgBundleFactory(String[] ids, String[] languages, String[][] texts)
+	{
+		Check.notNull(ids, "ids");
+		Check.notNull(languages, "languages");
+		Check.notNull(texts, "texts");
+		Check.greaterEquals(languages.length, 1, "languages.length");
+		if (texts.length != languages.length)
+			throw new IllegalArgumentException("expected " + languages.length + " text arrays, got " + texts.length);
+		
+		HashMap<String,Integer> index = new HashMap<>(ids.length * 4 / 3 + 1);
+		for (int i=0; i<ids.length; i++)
+			index.putIfAbsent(ids[i], Integer.valueOf(i));
+		
+		languages_	= languages;
+		bundles_ 	= new ArrayMsgBundle[languages.length];
+		for (int i=0; i<languages.length; i++)
+		{
+			if (texts[i].length != ids.length)
+				throw new IllegalArgumentException("language '" + languages[i] + "': expected " + ids.length + " texts, got " + texts[i].length);
+			Locale locale = Locale.forLanguageTag(languages[i].replace('_', '-'));
+			bundles_[i] = new ArrayMsgBundle(locale, ids, index, texts[i]);
+		}
+	}
+	
+	
+	/**
+	 * Returns the MsgBundle for the locale. If there is no bundle
+	 * for the exact locale, the bundle for the language of the locale
+	 * or else the bundle of the first language is returned.
+	 */
+	@Override public MsgBundle getMsgBundle(Locale locale)
+	{
+		int index = indexOf(locale.toString());
+		if (index < 0)
+			index = indexOf(locale.getLanguage());
+		return bundles_[Math.max(index, 0)];
+	}
+	
+	
+	private int indexOf(String language)
+	{
+		for (int i=0; i<languages_.length; i++)
+		{
+			if (languages_[i].equals(language))
+				return i;
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Does nothing.
+	 */
+	@Override public void clearCache()
+	{
+	}
+	
+	
+	private final String[] languages_;
+	private final ArrayMsgBundle[] bundles_;
+}
@@ -29,8 +29,31 @@ public class MsgId implements CharSequence
 	 * @param value the string value of the message id.
 	 */
 	public MsgId(String value)
+	{
+		this(value, -1);
+	}
+	
+	
+	/**
+	 * Creates a new Message id with an index.
+	 * @param value the string value of the message id.
+	 * @param index the index of the message id in the id list of
+	 * 		an {@link ArrayMsgBundleFactory} or -1 if not known.
+	 */
+	public MsgId(String value, int index)
 	{
 		value_ = value;
+		index_ = index;
+	}
+	
+	
+	/**
+	 * @return the index of the id in the id list of an 
+	 * {@link ArrayMsgBundleFactory} or -1 if not known.
+	 */
+	public int getIndex()
+	{
+		return index_;
 	}
 	
 	
@@ -70,5 +93,6 @@ public class MsgId implements CharSequence
 	}
 
 	
-	private String value_;
+	private final String value_;
+	private final int index_;
 }
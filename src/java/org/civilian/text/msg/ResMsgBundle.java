@@ -17,7 +17,6 @@ package org.civilian.text.msg;
 
 
 import java.util.Locale;
-import java.util.MissingResourceException;
 import java.util.ResourceBundle;
 import org.civilian.util.Check;
 import org.civilian.util.ClassUtil;
@@ -61,28 +60,20 @@ public class ResMsgBundle extends MsgBundle
 	/**
 	 * Returns the message for the id.
 	 * If the resource bundle does not contain a message with that id,
-	 * the resulting MissingResourceException is catched and  
 	 * null is returned instead.
 	 * @param id the message id
 	 * @return the message
 	 */
 	@Override public String get(Object id)
 	{
-		try
-		{
-			return bundle_.getString(id.toString());
-		}
-		catch(MissingResourceException e)
-		{
-			return null;
-		}
+		String key = id.toString();
+		return bundle_.containsKey(key) ? bundle_.getString(key) : null;
 	}
 
 	
 	/**
 	 * Returns the message with the id.
 	 * If the resource bundle does not contain a message with that id,
-	 * the resulting MissingResourceException is catched and  
 	 * the key prefixed with a '?' is returned instead.
 	 * @see #getUnknown(Object)
 	 */
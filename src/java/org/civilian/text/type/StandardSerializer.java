@@ -99,82 +99,56 @@ public class StandardSerializer extends TypeSerializer
 
 	private <T> T parseDate(Type<T> type, String s) throws Exception
 	{
-		DateTimeParser p = new DateTimeParser(s);
-		int year 	= p.year();
-		int month 	= p.int2();
-		int day     = p.int2();
+		int start	= yearLength(s);
+		int year 	= year(s);
+		int month 	= parseInt(s, start, 2);
+		int day     = parseInt(s, start + 2, 2);
 		return ((DateType<T>)type).create(year, month, day);
 	}
 
 
 	private <T> T parseTime(Type<T> type, String s) throws Exception
 	{
-		DateTimeParser p = new DateTimeParser(s);
-		int hour 	= p.int2();
-		int minute 	= p.int2();
-		int second  = p.int2();
+		int hour 	= parseInt(s, 0, 2);
+		int minute 	= parseInt(s, 2, 2);
+		int second  = parseInt(s, 4, 2);
 		return ((TimeType<T>)type).create(hour, minute, second);
 	}
 
 
 	private <T> T parseDateTime(Type<T> type, String s) throws Exception
 	{
-		DateTimeParser p = new DateTimeParser(s);
-		int year 	= p.year();
-		int month 	= p.int2();
-		int day     = p.int2();
-		int hour 	= p.int2();
-		int minute 	= p.int2();
-		int second  = p.int2();
+		int start	= yearLength(s);
+		int year 	= year(s);
+		int month 	= parseInt(s, start, 2);
+		int day     = parseInt(s, start + 2, 2);
+		int hour 	= parseInt(s, start + 4, 2);
+		int minute 	= parseInt(s, start + 6, 2);
+		int second  = parseInt(s, start + 8, 2);
 		return ((DateTimeType<T>)type).create(year, month, day, hour, minute, second);
 	}
 	
 	
-	private static class DateTimeParser
+	private static int yearLength(String s)
 	{
-		public DateTimeParser(String s)
-		{
-			string_ = s;
-		}
-		
-		
-		public int year() throws Exception
-		{
-			boolean negative = false;
-			if (hasMore(1) && (string_.charAt(offset_) == '-'))
-			{
-				negative = true;
-				offset_++;
-			}
-			int year = nextInt(4);
-			return negative ? -year : year;
-		}
-		
-		public int int2() throws Exception
-		{
-			return nextInt(2);
-		}
-		
-		
-		private int nextInt(int length) throws Exception
-		{
-			if (!hasMore(length))
-				throw new ParseException(string_, offset_);
-			int n = Integer.parseInt(string_.substring(offset_, offset_ + length));
-			offset_ += length;
-			return n;
-		}
-		
-		
-		public boolean hasMore(int i)
-		{
-			return offset_ + i <= string_.length(); 
-		}
-
-		
-		private String string_;
-		private int offset_;
+		return s.startsWith("-") ? 5 : 4;
+	}
+	
+	
+	private static int year(String s) throws Exception
+	{
+		return s.startsWith("-") ? -parseInt(s, 1, 4) : parseInt(s, 0, 4); 
+	}
+	
+	
+	/**
+	 * Parses a fixed length int at the given offset without
+	 * allocating a substring.
+	 */
+	private static int parseInt(String s, int offset, int length) throws Exception
+	{
+		if (offset + length > s.length())
+			throw new ParseException(s, offset);
+		return Integer.parseInt(s, offset, offset + length, 10);
 	}
 }
-
-
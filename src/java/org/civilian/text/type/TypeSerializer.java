@@ -210,13 +210,18 @@ public abstract class TypeSerializer
 	
 	
 	public <T> T parse(Type<T> type, String s) throws ParseException
+	{
+		return parse(type, getParser(type), s);
+	}
+	
+	
+	private <T> T parse(Type<T> type, Parser<T> fn, String s) throws ParseException
 	{
 		try
 		{
 			if (s == null)
 				return parseNull(type);
 
-			Parser<T> fn = getParser(type);
 			if (fn != null)
 				return s.length() != 0 ? fn.parse(type, s) : fn.parseEmpty();
 		}
@@ -234,6 +239,23 @@ public abstract class TypeSerializer
 	}
 	
 	
+	/**
+	 * Returns a parser for the type which behaves like {@link #parse(Type, String)}
+	 * but has already resolved the parser function of the type. 
+	 * Use it to parse many values of the same type without looking
+	 * up the parser function each time.
+	 * Parser functions registered after this call are not seen by the returned parser.
+	 * @param type a type
+	 * @param<T> the type of the type
+	 * @return the parser
+	 */
+	public <T> SimpleParser<T> getTypeParser(Type<T> type)
+	{
+		Parser<T> fn = getParser(type);
+		return s -> parse(type, fn, s);
+	}
+	
+	
 	/**
 	 * Parses the value from a string.
 	 * @param type a Type object
@@ -0,0 +1,176 @@
+/**
+ * Generated from BundleClassTemplate.csp
+ * Do not edit.
+ */
+package org.civilian.tool.resbundle;
+
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.civilian.template.CspWriter;
+import org.civilian.util.StringUtil;
+
+
+class BundleClassTemplate
+{
+	public BundleClassTemplate(ResBundleCompiler.Config config, String packageName, List<String> languages, LocalDateTime generationTime, List<Translation> translations)
+	{
+		this.config = config;
+		this.packageName = packageName;
+		this.languages = languages;
+		this.generationTime = generationTime;
+		this.translations = translations;
+	}
+
+
+	public synchronized void print(CspWriter out)
+	{
+		if (out == null)
+			throw new IllegalArgumentException("out is null");
+		this.out = out;
+		print();
+	}
+
+
+	protected void print()
+	{
+		int arrayCount = languages.size() + 1;                          // line 11: @int arrayCount = languages.size() + 1;
+		int chunkCount = (translations.size() + CHUNK_SIZE - 1) / CHUNK_SIZE; // line 12: @int chunkCount = (translations.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		//                                                              // line 13: @//
+		out.print("package ");                                          // line 14: package
+		out.print(packageName);                                         // line 14: ^packageName
+		out.println(";");                                               // line 14: ;
+		out.println();
+		out.println();
+		out.println("import org.civilian.text.msg.ArrayMsgBundleFactory;"); // line 17: import org.civilian.text.msg.ArrayMsgBundleFactory;
+		out.println();
+		out.println();
+		out.println("/**");                                             // line 20: /**
+		out.print(" * A MsgBundleFactory for the messages in ");        // line 21: * A MsgBundleFactory for the messages in
+		out.print(config.excelFile.getName());                          // line 21: ^{config.excelFile.getName()}
+		out.println(".");                                               // line 21: .
+		out.print(" * Generated at ");                                  // line 22: * Generated at
+		out.print(generationTime);                                      // line 22: ^generationTime
+		out.println(". Do not edit directly.");                         // line 22: . Do not edit directly.
+		out.println(" */");                                             // line 23: */
+		out.print("public class ");                                     // line 24: public class
+		out.print(config.bundleClass);                                  // line 24: ^{config.bundleClass}
+		out.println(" extends ArrayMsgBundleFactory");                  // line 24: extends ArrayMsgBundleFactory
+		out.println("{");                                               // line 25: {
+		out.increaseTab();
+		out.print("public static final String[] LANGUAGES = {");        // line 26: public static final String[] LANGUAGES = {
+		for (int i=0; i<languages.size(); i++)                          // line 27: @for (int i=0; i<languages.size(); i++)
+		{
+			out.print(i > 0 ? "," : "");                                // line 28: ^{i > 0 ? "," : ""}
+			out.print(" \"");                                           // line 28: "
+			out.print(escape(languages.get(i)));                        // line 28: ^{escape(languages.get(i))}
+			out.print("\"");                                            // line 28: "
+		}
+		out.println(" };");                                             // line 29: };
+		out.print("public static final int SIZE = ");                   // line 30: public static final int SIZE =
+		out.print(translations.size());                                 // line 30: ^{translations.size()}
+		out.println(";");                                               // line 30: ;
+		out.println();
+		out.println();
+		out.print("public ");                                           // line 33: public
+		out.print(config.bundleClass);                                  // line 33: ^{config.bundleClass}
+		out.println("()");                                              // line 33: ()
+		out.println("{");                                               // line 34: {
+		out.increaseTab();
+		out.print("super(array0(), LANGUAGES, new String[][] {");       // line 35: super(array0(), LANGUAGES, new String[][] {
+		for (int a=1; a<arrayCount; a++)                                // line 36: @for (int a=1; a<arrayCount; a++)
+		{
+			out.print(a > 1 ? "," : "");                                // line 37: ^{a > 1 ? "," : ""}
+			out.print(" array");                                        // line 37: array
+			out.print(a);                                               // line 37: ^a
+			out.print("()");                                            // line 37: ()
+		}
+		out.println(" });");                                            // line 38: });
+		out.decreaseTab();
+		out.println("}");                                               // line 39: }
+		for (int a=0; a<arrayCount; a++)                                // line 40: @for (int a=0; a<arrayCount; a++)
+		{
+			out.println();
+			out.println();
+			// the arrays are filled in chunks to stay below the method size limit // line 43: @// the arrays are filled in chunks to stay below the method size limit
+			out.print("private static String[] array");                 // line 44: private static String[] array
+			out.print(a);                                               // line 44: ^a
+			out.println("()");                                          // line 44: ()
+			out.println("{");                                           // line 45: {
+			out.increaseTab();
+			out.println("String[] s = new String[SIZE];");              // line 46: String[] s = new String[SIZE];
+			for (int c=0; c<chunkCount; c++)                            // line 47: @for (int c=0; c<chunkCount; c++)
+			{
+				out.print("fill");                                      // line 48: fill
+				out.print(a + "_" + c);                                 // line 48: ^{a + "_" + c}
+				out.println("(s);");                                    // line 48: (s);
+			}
+			out.println("return s;");                                   // line 49: return s;
+			out.decreaseTab();
+			out.println("}");                                           // line 50: }
+			for (int c=0; c<chunkCount; c++)                            // line 51: @for (int c=0; c<chunkCount; c++)
+			{
+				out.println();
+				out.println();
+				out.print("private static void fill");                  // line 54: private static void fill
+				out.print(a);                                           // line 54: ^a
+				out.print("_");                                         // line 54: _
+				out.print(c);                                           // line 54: ^c
+				out.println("(String[] s)");                            // line 54: (String[] s)
+				out.println("{");                                       // line 55: {
+				out.increaseTab();
+				int end = Math.min(translations.size(), (c + 1) * CHUNK_SIZE); // line 56: @int end = Math.min(translations.size(), (c + 1) * CHUNK_SIZE);
+				for (int i=c * CHUNK_SIZE; i<end; i++)                  // line 57: @for (int i=c * CHUNK_SIZE; i<end; i++)
+				{
+					Translation t = translations.get(i);                // line 58: @Translation t = translations.get(i);
+					out.print("s[");                                    // line 59: s[
+					out.print(i);                                       // line 59: ^i
+					out.print("] = \"");                                // line 59: ] = "
+					out.print(escape(a == 0 ? t.id : t.lang[a - 1]));   // line 59: ^{escape(a == 0 ? t.id : t.lang[a - 1])}
+					out.println("\";");                                 // line 59: ";
+				}
+				out.decreaseTab();
+				out.println("}");                                       // line 60: }
+			}
+		}
+		out.decreaseTab();
+		out.println("}");                                               // line 61: }
+	}
+	
+	
+	private static String escape(String s)
+	{
+		StringBuilder sb = new StringBuilder(s.length());
+		int length = s.length();
+		for (int i=0; i<length; i++)
+		{
+			char c = s.charAt(i);
+			switch(c)
+			{
+				case '\\':	sb.append("\\\\");	break;
+				case '"':	sb.append("\\\"");	break;
+				case '\n':	sb.append("\\n");	break;
+				case '\r':	sb.append("\\r");	break;
+				case '\t':	sb.append("\\t");	break;
+				default:
+					if ((c < 32) || (c > 126))
+						sb.append("\\u").append(StringUtil.fillLeft(Integer.toHexString(c), 4, '0'));
+					else
+						sb.append(c);
+					break;
+			}
+		}
+		return sb.toString();
+	}
+	
+	
+	private static final int CHUNK_SIZE = 1000;
+
+
+	protected ResBundleCompiler.Config config;
+	protected String packageName;
+	protected List<String> languages;
+	protected LocalDateTime generationTime;
+	protected List<Translation> translations;
+	protected CspWriter out;
+}
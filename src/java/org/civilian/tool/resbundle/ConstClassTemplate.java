@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import org.civilian.template.CspWriter;
+import org.civilian.text.msg.MsgId;
 import org.civilian.util.ClassUtil;
 import org.civilian.util.JavaName;
 
@@ -35,133 +36,142 @@ class ConstClassTemplate
 
 	protected void print()
 	{
-		boolean hasIdClass   = config.idClass != null;                  // line 13: @boolean hasIdClass   = config.idClass != null;
-		String idClassSimple = hasIdClass ? ClassUtil.cutPackageName(config.idClass) : "String"; // line 14: @String idClassSimple = hasIdClass ? ClassUtil.cutPackageName(config.idClass) : "String";
-		HashSet<String> usedConstants = new HashSet<>();                // line 15: @HashSet<String> usedConstants = new HashSet<>();
-		//                                                              // line 16: @//
-		out.print("package ");                                          // line 17: package
-		out.print(packageName);                                         // line 17: ^packageName
-		out.println(";");                                               // line 17: ;
+		boolean hasIdClass   = config.idClass != null;                  // line 14: @boolean hasIdClass   = config.idClass != null;
+		String idClassSimple = hasIdClass ? ClassUtil.cutPackageName(config.idClass) : "String"; // line 15: @String idClassSimple = hasIdClass ? ClassUtil.cutPackageName(config.idClass) : "String";
+		HashSet<String> usedConstants = new HashSet<>();                // line 16: @HashSet<String> usedConstants = new HashSet<>();
+		// MsgIds know their index in the array of a generated bundle class // line 17: @// MsgIds know their index in the array of a generated bundle class
+		boolean hasIndex = (config.bundleClass != null) && MsgId.class.getName().equals(config.idClass); // line 18: @boolean hasIndex = (config.bundleClass != null) && MsgId.class.getName().equals(config.idClass);
+		int index = -1;                                                 // line 19: @int index = -1;
+		//                                                              // line 20: @//
+		out.print("package ");                                          // line 21: package
+		out.print(packageName);                                         // line 21: ^packageName
+		out.println(";");                                               // line 21: ;
 		out.println();
 		out.println();
-		if (hasIdClass && !config.inlineIdClass)                        // line 20: @if (hasIdClass && !config.inlineIdClass)
+		if (hasIdClass && !config.inlineIdClass)                        // line 24: @if (hasIdClass && !config.inlineIdClass)
 		{
-			out.print("import ");                                       // line 21: import
-			out.print(config.idClass);                                  // line 21: ^{config.idClass}
-			out.println(";");                                           // line 21: ;
+			out.print("import ");                                       // line 25: import
+			out.print(config.idClass);                                  // line 25: ^{config.idClass}
+			out.println(";");                                           // line 25: ;
 			out.println();
 			out.println();
 		}
-		out.println("/**");                                             // line 24: /**
-		out.print(" * Contains constants for resource bundle ids in "); // line 25: * Contains constants for resource bundle ids in
-		out.print(config.excelFile.getName());                          // line 25: ^{config.excelFile.getName()}
-		out.println(".");                                               // line 25: .
-		out.print(" * Generated at ");                                  // line 26: * Generated at
-		out.print(generationTime);                                      // line 26: ^generationTime
-		out.println(". Do not edit directly.");                         // line 26: . Do not edit directly.
-		out.println(" */");                                             // line 27: */
-		out.print("public interface ");                                 // line 28: public interface
-		out.print(config.constClass);                                   // line 28: ^{config.constClass}
+		out.println("/**");                                             // line 28: /**
+		out.print(" * Contains constants for resource bundle ids in "); // line 29: * Contains constants for resource bundle ids in
+		out.print(config.excelFile.getName());                          // line 29: ^{config.excelFile.getName()}
+		out.println(".");                                               // line 29: .
+		out.print(" * Generated at ");                                  // line 30: * Generated at
+		out.print(generationTime);                                      // line 30: ^generationTime
+		out.println(". Do not edit directly.");                         // line 30: . Do not edit directly.
+		out.println(" */");                                             // line 31: */
+		out.print("public interface ");                                 // line 32: public interface
+		out.print(config.constClass);                                   // line 32: ^{config.constClass}
 		out.printlnIfNotEmpty();
-		out.println("{");                                               // line 29: {
+		out.println("{");                                               // line 33: {
 		out.increaseTab();
-		for (Translation t : translations)                              // line 30: @for (Translation t : translations)
+		for (Translation t : translations)                              // line 34: @for (Translation t : translations)
 		{
-			// javafy key: must be a valid java identifier              // line 31: @// javafy key: must be a valid java identifier
-			// escape key when passed as argument to the MsgKey ctor    // line 32: @// escape key when passed as argument to the MsgKey ctor
-			// keep a list of javafied keys and add _x suffixes if not unique // line 33: @// keep a list of javafied keys and add _x suffixes if not unique
-			String id = t.id;                                           // line 34: @String id = t.id;
-			String constantName = getConstantName(id, usedConstants);   // line 35: @String constantName = getConstantName(id, usedConstants);
-			if (constantName != null)                                   // line 36: @if (constantName != null)
+			// javafy key: must be a valid java identifier              // line 35: @// javafy key: must be a valid java identifier
+			// escape key when passed as argument to the MsgKey ctor    // line 36: @// escape key when passed as argument to the MsgKey ctor
+			// keep a list of javafied keys and add _x suffixes if not unique // line 37: @// keep a list of javafied keys and add _x suffixes if not unique
+			String id = t.id;                                           // line 38: @String id = t.id;
+			index++;                                                    // line 39: @index++;
+			String constantName = getConstantName(id, usedConstants);   // line 40: @String constantName = getConstantName(id, usedConstants);
+			if (constantName != null)                                   // line 41: @if (constantName != null)
 			{
-				if (config.javadoc)                                     // line 37: @if (config.javadoc)
+				if (config.javadoc)                                     // line 42: @if (config.javadoc)
 				{
-					out.print("/**");                                   // line 38: /**
-					for (String lang : t.lang)                          // line 39: @for (String lang : t.lang)
+					out.print("/**");                                   // line 43: /**
+					for (String lang : t.lang)                          // line 44: @for (String lang : t.lang)
 					{
-						out.print(" \"");                               // line 40: "
-						out.print(lang);                                // line 40: ^lang
-						out.print("\"");                                // line 40: "
+						out.print(" \"");                               // line 45: "
+						out.print(lang);                                // line 45: ^lang
+						out.print("\"");                                // line 45: "
 					}
-					out.println("*/");                                  // line 41: */
+					out.println("*/");                                  // line 46: */
 				}
-				out.print("public static final ");                      // line 42: public static final
-				out.print(idClassSimple);                               // line 42: ^idClassSimple
-				out.print(" ");                                         // line 42: 
-				out.print(constantName);                                // line 42: ^constantName
-				for (int i=id.length(); i<=20; i++)                     // line 43: @for (int i=id.length(); i<=20; i++)
+				out.print("public static final ");                      // line 47: public static final
+				out.print(idClassSimple);                               // line 47: ^idClassSimple
+				out.print(" ");                                         // line 47: 
+				out.print(constantName);                                // line 47: ^constantName
+				for (int i=id.length(); i<=20; i++)                     // line 48: @for (int i=id.length(); i<=20; i++)
 				{
-					out.print(" ");                                     // line 44: 
+					out.print(" ");                                     // line 49: 
 				}
-				out.print(" = ");                                       // line 45: =
-				if (hasIdClass)                                         // line 45: ^?hasIdClass
+				out.print(" = ");                                       // line 50: =
+				if (hasIdClass)                                         // line 50: ^?hasIdClass
 				{
-					out.print("new ");                                  // line 45: new
-					out.print(idClassSimple);                           // line 45: ^idClassSimple
-					out.print("(");                                     // line 45: (
+					out.print("new ");                                  // line 50: new
+					out.print(idClassSimple);                           // line 50: ^idClassSimple
+					out.print("(");                                     // line 50: (
 				}
-				out.print("\"");                                        // line 45: "
-				out.print(escapeId(id));                                // line 45: ^{escapeId(id)}
-				out.print("\"");                                        // line 45: "
-				if (hasIdClass)                                         // line 45: ^?hasIdClass
+				out.print("\"");                                        // line 50: "
+				out.print(escapeId(id));                                // line 50: ^{escapeId(id)}
+				out.print("\"");                                        // line 50: "
+				if (hasIndex)                                           // line 50: ^?hasIndex
 				{
-					out.print(")");                                     // line 45: )
+					out.print(", ");                                    // line 50: ,
+					out.print(index);                                   // line 50: ^index
 				}
-				out.println(";");                                       // line 45: ;
+				if (hasIdClass)                                         // line 50: ^?hasIdClass
+				{
+					out.print(")");                                     // line 50: )
+				}
+				out.println(";");                                       // line 50: ;
 			}
 		}
-		if (config.inlineIdClass)                                       // line 46: @if (config.inlineIdClass)
+		if (config.inlineIdClass)                                       // line 51: @if (config.inlineIdClass)
 		{
 			out.println();
 			out.println();
-			out.print("public static class ");                          // line 49: public static class
-			out.print(idClassSimple);                                   // line 49: ^idClassSimple
-			out.println(" implements CharSequence");                    // line 49: implements CharSequence
-			out.println("{");                                           // line 50: {
+			out.print("public static class ");                          // line 54: public static class
+			out.print(idClassSimple);                                   // line 54: ^idClassSimple
+			out.println(" implements CharSequence");                    // line 54: implements CharSequence
+			out.println("{");                                           // line 55: {
 			out.increaseTab();
-			out.print("public ");                                       // line 51: public
-			out.print(idClassSimple);                                   // line 51: ^idClassSimple
-			out.println("(String value)");                              // line 51: (String value)
-			out.println("{");                                           // line 52: {
-			out.increaseTab();
-			out.println("value_ = value;");                             // line 53: value_ = value;
-			out.decreaseTab();
-			out.println("}");                                           // line 54: }
-			out.println();
-			out.println("@Override public int length()");               // line 56: @Override public int length()
+			out.print("public ");                                       // line 56: public
+			out.print(idClassSimple);                                   // line 56: ^idClassSimple
+			out.println("(String value)");                              // line 56: (String value)
 			out.println("{");                                           // line 57: {
 			out.increaseTab();
-			out.println("return value_.length();\");");                 // line 58: return value_.length();");
+			out.println("value_ = value;");                             // line 58: value_ = value;
 			out.decreaseTab();
 			out.println("}");                                           // line 59: }
 			out.println();
-			out.println("@Override public char charAt(int index)");     // line 61: @Override public char charAt(int index)
+			out.println("@Override public int length()");               // line 61: @Override public int length()
 			out.println("{");                                           // line 62: {
 			out.increaseTab();
-			out.println("return value_.charAt(index);\");");            // line 63: return value_.charAt(index);");
+			out.println("return value_.length();\");");                 // line 63: return value_.length();");
 			out.decreaseTab();
 			out.println("}");                                           // line 64: }
 			out.println();
-			out.println("@Override public CharSequence subSequence(int start, int end)"); // line 66: @Override public CharSequence subSequence(int start, int end)
+			out.println("@Override public char charAt(int index)");     // line 66: @Override public char charAt(int index)
 			out.println("{");                                           // line 67: {
 			out.increaseTab();
-			out.println("return value_.subSequence(start, end);\");");  // line 68: return value_.subSequence(start, end);");
+			out.println("return value_.charAt(index);\");");            // line 68: return value_.charAt(index);");
 			out.decreaseTab();
 			out.println("}");                                           // line 69: }
 			out.println();
-			out.println("@Override public String toString()");          // line 71: @Override public String toString()
+			out.println("@Override public CharSequence subSequence(int start, int end)"); // line 71: @Override public CharSequence subSequence(int start, int end)
 			out.println("{");                                           // line 72: {
 			out.increaseTab();
-			out.println("return value_;");                              // line 73: return value_;
+			out.println("return value_.subSequence(start, end);\");");  // line 73: return value_.subSequence(start, end);");
 			out.decreaseTab();
 			out.println("}");                                           // line 74: }
 			out.println();
-			out.println("private String value_;");                      // line 76: private String value_;
+			out.println("@Override public String toString()");          // line 76: @Override public String toString()
+			out.println("{");                                           // line 77: {
+			out.increaseTab();
+			out.println("return value_;");                              // line 78: return value_;
+			out.decreaseTab();
+			out.println("}");                                           // line 79: }
+			out.println();
+			out.println("private String value_;");                      // line 81: private String value_;
 			out.decreaseTab();
-			out.println("}");                                           // line 77: }
+			out.println("}");                                           // line 82: }
 		}
 		out.decreaseTab();
-		out.println("}");                                               // line 78: }
+		out.println("}");                                               // line 83: }
 	}
 	
 	
@@ -47,7 +47,11 @@ import org.civilian.util.StringUtil;
  * ResBundleCompiler allows you to store all your localized message texts
  * in an excel file. The compiler can then generate the resource
  * bundle property files from the excel file. It can also generate
- * an additional class which defines constants for the message ids. 
+ * an additional class which defines constants for the message ids,
+ * and a MsgBundleFactory class which holds the messages of all languages
+ * in arrays and therefore can be used instead of the resource bundles.
+ * If both classes are generated and the ids are MsgId objects, each
+ * MsgId knows the array index of its message.
  * The ResBundleCompiler uses Apache POI to read the excel file.
  */
 public class ResBundleCompiler
@@ -78,6 +82,10 @@ public class ResBundleCompiler
 			{
 				config.constClass = args.next("constClass");
 			}
+			else if (args.consume("-bundleClass"))
+			{
+				config.bundleClass = args.next("bundleClass");
+			}
 			else if (args.consume("-idClass"))
 			{
 				config.idClass = args.next("idClass");
@@ -108,6 +116,8 @@ public class ResBundleCompiler
 
 		if ("#file".equals(config.constClass))
 			config.constClass = StringUtil.startUpperCase(IoUtil.cutExtension(config.excelFile));
+		if ("#file".equals(config.bundleClass))
+			config.bundleClass = StringUtil.startUpperCase(IoUtil.cutExtension(config.excelFile)) + "Bundle";
 
 		ResBundleCompiler c = new ResBundleCompiler();
 		c.run(config);
@@ -123,6 +133,8 @@ public class ResBundleCompiler
 		System.out.println("java " + ResBundleCompiler.class.getName() + " [<parameter>]* <excel>");
 		System.out.println();
 		System.out.println("parameters:                                                      default:");
+		System.out.println("-bundleClass <class> generate a MsgBundleFactory class holding the messages");
+		System.out.println("                     use #file to name the class like the excel file + Bundle");
 		System.out.println("-constClass <class>  generate class for message id constants");
 		System.out.println("                     use #file to name the class like the excel file");
 		System.out.println("-enc <encoding>      encoding of generated Java files            " + DEFAULT_JAVA_CHARSET);
@@ -155,7 +167,7 @@ public class ResBundleCompiler
 		}
 		
 		String packageName 	= null;
-		if (config.outputType.needsPackage() || (config.constClass != null))
+		if (config.outputType.needsPackage() || (config.constClass != null) || (config.bundleClass != null))
 			packageName	= JavaPackageDetector.DEFAULT.detect(config.excelFile);
 		
 		createLanguageOutputs(packageName, config_.excelFile);
@@ -163,15 +175,24 @@ public class ResBundleCompiler
 		log("compiling");
 		
 		List<Translation> translations = compileBundles();
+		translations.sort(null);
 		if (config.constClass != null)
 		{
 			File constantsFile	= config_.outputType.getOutputFile(packageName, config.constClass + ".java", config.excelFile).file;
 			constantsOutput_ 	= new Output(constantsFile);
 			compileConstants(packageName, translations);
 		}
+		if (config.bundleClass != null)
+		{
+			File bundleFile		= config_.outputType.getOutputFile(packageName, config.bundleClass + ".java", config.excelFile).file;
+			bundleOutput_ 		= new Output(bundleFile);
+			compileBundleClass(packageName, translations);
+		}
 		
 		if (constantsOutput_ != null)
 			constantsOutput_.writeToFile(config_.encoding);
+		if (bundleOutput_ != null)
+			bundleOutput_.writeToFile(config_.encoding);
 		for (Output langOutput : langOutputs_)
 			langOutput.writeToFile(PROPERTIES_CHARSET);
 		
@@ -195,6 +216,7 @@ public class ResBundleCompiler
 		while((language = reader_.nextString()) != null)
 		{
 			log("- add language " + language);
+			languages_.add(language);
 
 			String langFileName = filePrefix + language + ".properties"; 
 			File langFile = config_.outputType.getOutputFile(packageName, langFileName, excelFile).file; 
@@ -269,11 +291,17 @@ public class ResBundleCompiler
 	
 	private void compileConstants(String packageName, List<Translation> translations)
 	{
-		translations.sort(null);
 		ConstClassTemplate t = new ConstClassTemplate(config_, packageName, generationTime_, translations);
 		t.print(constantsOutput_.out);
 	}
 	
+	
+	private void compileBundleClass(String packageName, List<Translation> translations)
+	{
+		BundleClassTemplate t = new BundleClassTemplate(config_, packageName, languages_, generationTime_, translations);
+		t.print(bundleOutput_.out);
+	}
+	
 
 	private void log(String message)
 	{
@@ -290,6 +318,7 @@ public class ResBundleCompiler
 		public boolean inlineIdClass;
 		public String idClass;
 		public String constClass;
+		public String bundleClass;
 		public boolean verbose;
 		public boolean javadoc;
 	}
@@ -389,6 +418,8 @@ public class ResBundleCompiler
 
 	private Config config_;
 	private Output constantsOutput_;
+	private Output bundleOutput_;
+	private final List<String> languages_ = new ArrayList<>();
 	private ExcelReader reader_;
 	private Output[] langOutputs_;
 	private LocalDateTime generationTime_;
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * BufferPool is a lock-free pool of byte arrays of equal size.
+ * It allows to reuse I/O buffers across requests. 
+ */
+public class BufferPool
+{
+	/**
+	 * A shared pool of 8K buffers.
+	 */
+	public static final BufferPool DEFAULT = new BufferPool(8192, 256);
+	
+	
+	/**
+	 * Creates a new BufferPool.
+	 * @param bufferSize the size of the buffers
+	 * @param maxPooled the maximum number of buffers kept in the pool
+	 */
+	public BufferPool(int bufferSize, int maxPooled)
+	{
+		bufferSize_	= Check.greaterEquals(bufferSize, 1, "bufferSize");
+		maxPooled_	= Check.greaterEquals(maxPooled, 0, "maxPooled");
+	}
+	
+	
+	/**
+	 * @return the size of the buffers.
+	 */
+	public int getBufferSize()
+	{
+		return bufferSize_;
+	}
+	
+	
+	/**
+	 * @return the number of buffers currently in the pool.
+	 */
+	public int getPooledCount()
+	{
+		return pooledCount_.get();
+	}
+	
+	
+	/**
+	 * Returns a buffer from the pool or a new buffer if the pool is empty.
+	 * @return the buffer
+	 */
+	public byte[] acquire()
+	{
+		byte[] buffer = pool_.poll();
+		if (buffer == null)
+			return new byte[bufferSize_];
+		pooledCount_.decrementAndGet();
+		return buffer;
+	}
+	
+	
+	/**
+	 * Returns a buffer to the pool. If the pool is full or the 
+	 * buffer does not have the pool size it is discarded.
+	 * @param buffer the buffer, can be null
+	 */
+	public void release(byte[] buffer)
+	{
+		if ((buffer != null) && (buffer.length == bufferSize_))
+		{
+			if (pooledCount_.incrementAndGet() <= maxPooled_)
+				pool_.offer(buffer);
+			else
+				pooledCount_.decrementAndGet();
+		}
+	}
+	
+	
+	private final int bufferSize_;
+	private final int maxPooled_;
+	private final AtomicInteger pooledCount_ = new AtomicInteger();
+	private final ConcurrentLinkedQueue<byte[]> pool_ = new ConcurrentLinkedQueue<>();
+}
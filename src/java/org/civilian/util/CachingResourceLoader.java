@@ -0,0 +1,348 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * CachingResourceLoader is a ResourceLoader decorator which memoizes the lookups of another loader,
+ * including the information that a resource does not exist. 
+ * Resource content up to {@link #getMaxCachedSize()} bytes is held in an immutable byte cache.
+ * Larger resources which are files are memory-mapped, all other large resources 
+ * are read from the wrapped loader.<p>
+ * By default cache entries are never invalidated. If watching is enabled (which is 
+ * intended for development mode) the directories of cached files are watched and 
+ * the whole cache is cleared when a file in these directories changes. 
+ * Since the location of a missing resource is not known, negative results 
+ * are not cached when watching.
+ * Call {@link #close()} to stop watching.
+ * @see ResourceLoaders#cache(ResourceLoader, boolean)
+ */
+public class CachingResourceLoader extends ResourceLoader implements AutoCloseable
+{
+	/**
+	 * The default max size of resources cached as byte array.
+	 */
+	public static final int DEFAULT_MAXCACHEDSIZE = 64 * 1024;
+	
+	
+	/**
+	 * Creates a new CachingResourceLoader.
+	 * @param loader the wrapped loader
+	 * @param maxCachedSize the max size of resources cached as byte array
+	 * @param watch should file changes be watched to invalidate the cache? 
+	 * @throws IOException if a watch was requested but the file system does not support it
+	 */
+	public CachingResourceLoader(ResourceLoader loader, int maxCachedSize, boolean watch) throws IOException
+	{
+		loader_ 		= Check.notNull(loader, "loader");
+		maxCachedSize_	= Check.greaterEquals(maxCachedSize, 0, "maxCachedSize");
+		if (watch)
+		{
+			watchService_ = FileSystems.getDefault().newWatchService();
+			Thread watcher = new Thread(this::watch, "civilian-resource-watch");
+			watcher.setDaemon(true);
+			watcher.start();
+		}
+		else
+			watchService_ = null;
+	}
+
+	
+	/**
+	 * @return the wrapped loader.
+	 */
+	public ResourceLoader getLoader()
+	{
+		return loader_;
+	}
+	
+	
+	/**
+	 * @return the max size of resources cached as byte array.
+	 */
+	public int getMaxCachedSize()
+	{
+		return maxCachedSize_;
+	}
+
+	
+	/**
+	 * @return the number of cached lookups.
+	 */
+	public int getCachedCount()
+	{
+		return entries_.size();
+	}
+	
+	
+	/**
+	 * Clears the cache.
+	 */
+	public void invalidate()
+	{
+		entries_.clear();
+	}
+
+	
+	@Override public URL getResourceUrl(String name)
+	{
+		return getEntry(name).url;
+	}
+	
+	
+	@Override public InputStream getResourceAsStream(String name)
+	{
+		Entry entry = getEntry(name);
+		if (entry.url == null)
+			return null;
+		
+		Object content = entry.content;
+		if (content == null)
+			entry.content = content = loadContent(name, entry.url);
+		
+		if (content instanceof byte[])
+			return new ByteArrayInputStream((byte[])content);
+		else if (content instanceof ByteBuffer)
+			return new ByteBufferInputStream(((ByteBuffer)content).duplicate());
+		else
+			return loader_.getResourceAsStream(name);
+	}
+	
+	
+	private Entry getEntry(String name)
+	{
+		Entry entry = entries_.get(name);
+		if (entry == null)
+		{
+			URL url = loader_.getResourceUrl(name);
+			if (url == null)
+			{
+				// we cannot watch for the creation of a missing resource
+				if (watchService_ != null)
+					return NOT_FOUND;
+				entry = NOT_FOUND;
+			}
+			else
+				entry = new Entry(url);
+			Entry prev = entries_.putIfAbsent(name, entry);
+			if (prev != null)
+				entry = prev;
+			else if (watchService_ != null)
+				watch(entry.url);
+		}
+		return entry;
+	}
+	
+	
+	/**
+	 * @return a byte[], a ByteBuffer, or UNCACHED if the content should be 
+	 * 		read from the wrapped loader.
+	 */
+	private Object loadContent(String name, URL url)
+	{
+		try
+		{
+			File file = toFile(url);
+			if ((file != null) && (file.length() > maxCachedSize_))
+			{
+				try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+				{
+					return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asReadOnlyBuffer();
+				}
+			}
+			
+			try (InputStream in = loader_.getResourceAsStream(name))
+			{
+				if (in == null)
+					return UNCACHED;
+				ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(maxCachedSize_, 8192));
+				byte[] buffer = new byte[8192];
+				int n;
+				while ((n = in.read(buffer)) >= 0)
+				{
+					out.write(buffer, 0, n);
+					if (out.size() > maxCachedSize_)
+						return UNCACHED;
+				}
+				return out.toByteArray();
+			}
+		}
+		catch (IOException e)
+		{
+			return UNCACHED;
+		}
+	}
+	
+	
+	private static File toFile(URL url)
+	{
+		if ((url != null) && "file".equals(url.getProtocol()))
+		{
+			try
+			{
+				return new File(url.toURI());
+			}
+			catch (URISyntaxException | IllegalArgumentException e)
+			{
+				// not a plain file url
+			}
+		}
+		return null;
+	}
+	
+	
+	//----------------------------
+	// watch
+	//----------------------------
+	
+	
+	private void watch(URL url)
+	{
+		File file = toFile(url);
+		File dir = file != null ? file.getParentFile() : null;
+		if ((dir != null) && watchedDirs_.add(dir.toPath()))
+		{
+			try
+			{
+				dir.toPath().register(watchService_, 
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_DELETE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
+			}
+			catch (IOException | ClosedWatchServiceException e)
+			{
+				// cannot watch, the cache is not invalidated for this directory
+			}
+		}
+	}
+	
+	
+	private void watch()
+	{
+		try
+		{
+			while (true)
+			{
+				WatchKey key = watchService_.take();
+				key.pollEvents();
+				key.reset();
+				// a file was created, changed or deleted: this may also
+				// turn a negative lookup into a positive one
+				invalidate();
+			}
+		}
+		catch (InterruptedException | ClosedWatchServiceException e)
+		{
+			// closed
+		}
+	}
+	
+
+	/**
+	 * Stops watching files.
+	 */
+	@Override public void close() throws IOException
+	{
+		if (watchService_ != null)
+			watchService_.close();
+	}
+	
+	
+	private static class Entry
+	{
+		public Entry(URL url)
+		{
+			this.url = url;
+		}
+		
+		
+		public final URL url;
+		public volatile Object content;
+	}
+	
+	
+	private static class ByteBufferInputStream extends InputStream
+	{
+		public ByteBufferInputStream(ByteBuffer buffer)
+		{
+			buffer_ = buffer;
+		}
+		
+		
+		@Override public int read()
+		{
+			return buffer_.hasRemaining() ? buffer_.get() & 0xFF : -1;
+		}
+		
+		
+		@Override public int read(byte[] b, int off, int len)
+		{
+			if (len == 0)
+				return 0;
+			if (!buffer_.hasRemaining())
+				return -1;
+			int n = Math.min(len, buffer_.remaining());
+			buffer_.get(b, off, n);
+			return n;
+		}
+		
+		
+		@Override public long skip(long n)
+		{
+			int skipped = (int)Math.max(0, Math.min(n, buffer_.remaining()));
+			buffer_.position(buffer_.position() + skipped);
+			return skipped;
+		}
+
+		
+		@Override public int available()
+		{
+			return buffer_.remaining();
+		}
+		
+		
+		private final ByteBuffer buffer_;
+	}
+	
+
+	private static final Entry NOT_FOUND = new Entry(null);
+	private static final Object UNCACHED = new Object();
+	private final ResourceLoader loader_;
+	private final int maxCachedSize_;
+	private final WatchService watchService_;
+	private final Set<Path> watchedDirs_ = ConcurrentHashMap.newKeySet();
+	private final ConcurrentHashMap<String,Entry> entries_ = new ConcurrentHashMap<>();
+}
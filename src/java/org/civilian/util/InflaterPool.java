@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Inflater;
+
+
+/**
+ * InflaterPool is a lock-free pool of {@link Inflater Inflaters}.
+ * Inflaters hold native memory which is only freed by {@link Inflater#end()} or
+ * by the garbage collector. Reusing them across requests avoids that churn.
+ */
+public class InflaterPool
+{
+	/**
+	 * Creates a new InflaterPool.
+	 * @param nowrap the nowrap parameter passed to new Inflaters.
+	 * 		Use true to inflate raw deflate data as used by GZIP, false to inflate ZLIB data.
+	 * @param maxPooled the maximum number of inflaters kept in the pool
+	 */
+	public InflaterPool(boolean nowrap, int maxPooled)
+	{
+		nowrap_		= nowrap;
+		maxPooled_	= Check.greaterEquals(maxPooled, 0, "maxPooled");
+	}
+	
+	
+	/**
+	 * @return the nowrap parameter of the pooled Inflaters.
+	 */
+	public boolean isNowrap()
+	{
+		return nowrap_;
+	}
+	
+	
+	/**
+	 * @return the number of inflaters currently in the pool.
+	 */
+	public int getPooledCount()
+	{
+		return pooledCount_.get();
+	}
+	
+	
+	/**
+	 * Returns an inflater from the pool or a new inflater if the pool is empty.
+	 * @return the inflater
+	 */
+	public Inflater acquire()
+	{
+		Inflater inflater = pool_.poll();
+		if (inflater == null)
+			return new Inflater(nowrap_);
+		pooledCount_.decrementAndGet();
+		return inflater;
+	}
+	
+	
+	/**
+	 * Resets the inflater and returns it to the pool. If the pool is full 
+	 * the inflater is ended.
+	 * @param inflater the inflater, can be null. It must have been
+	 * 		created with the same nowrap parameter as used by the pool. 
+	 */
+	public void release(Inflater inflater)
+	{
+		if (inflater != null)
+		{
+			inflater.reset();
+			if (pooledCount_.incrementAndGet() <= maxPooled_)
+				pool_.offer(inflater);
+			else
+			{
+				pooledCount_.decrementAndGet();
+				inflater.end();
+			}
+		}
+	}
+	
+	
+	private final boolean nowrap_;
+	private final int maxPooled_;
+	private final AtomicInteger pooledCount_ = new AtomicInteger();
+	private final ConcurrentLinkedQueue<Inflater> pool_ = new ConcurrentLinkedQueue<>();
+}
@@ -19,8 +19,12 @@ package org.civilian.util;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
  
@@ -74,6 +78,25 @@ public abstract class IoUtil
 	}
 	
 	
+	/**
+	 * Creates a Writer which encodes characters into an OutputStream.
+	 * For UTF-8 a {@link Utf8Writer} is returned which uses a pooled buffer,
+	 * returned to the pool when the writer is closed.
+	 * Else an OutputStreamWriter is returned. 
+	 * @param out an OutputStream
+	 * @param encoding the encoding
+	 * @return the writer
+	 * @throws UnsupportedEncodingException if the encoding is not supported
+	 */
+	public static Writer createWriter(OutputStream out, String encoding) throws UnsupportedEncodingException
+	{
+		if ("UTF-8".equalsIgnoreCase(encoding) || "UTF8".equalsIgnoreCase(encoding))
+			return new Utf8Writer(out);
+		else
+			return new OutputStreamWriter(out, encoding);
+	}
+	
+	
 	/**
 	 * Reads data from the Reader and stores it in a char array.
 	 * @param in a reader
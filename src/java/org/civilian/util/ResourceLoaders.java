@@ -5,6 +5,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
@@ -117,6 +118,21 @@ public class ResourceLoaders
 	}
 
 
+	/**
+	 * Creates a loader which caches the lookups and the content of resources
+	 * of another loader. 
+	 * @param loader the loader
+	 * @param watch should the cache be invalidated when files change? Intended for development mode. 
+	 * @return the caching loader
+	 * @throws IOException if a watch was requested but the file system does not support it
+	 * @see CachingResourceLoader
+	 */
+	public static CachingResourceLoader cache(ResourceLoader loader, boolean watch) throws IOException
+	{
+		return new CachingResourceLoader(loader, CachingResourceLoader.DEFAULT_MAXCACHEDSIZE, watch);
+	}
+
+	
 	/**
 	 * @return a ResourceLoader which constantly returns null.
 	 */
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+
+/**
+ * Utf8Writer is a Writer which encodes characters as UTF-8 directly into an OutputStream.
+ * Compared to an OutputStreamWriter it does not use a CharsetEncoder and
+ * uses a byte buffer obtained from a {@link BufferPool}.
+ * Call {@link #release()} or {@link #close()} to return the buffer to the pool.
+ * Unpaired surrogates are written as '?'.
+ * The writer is not thread-safe. 
+ */
+public class Utf8Writer extends Writer
+{
+	/**
+	 * Creates a new Utf8Writer which uses a buffer of the default BufferPool.
+	 * @param out the OutputStream
+	 */
+	public Utf8Writer(OutputStream out)
+	{
+		this(out, BufferPool.DEFAULT);
+	}
+	
+	
+	/**
+	 * Creates a new Utf8Writer.
+	 * @param out the OutputStream
+	 * @param pool a BufferPool providing buffers with a size &gt;= 4
+	 */
+	public Utf8Writer(OutputStream out, BufferPool pool)
+	{
+		out_ 	= Check.notNull(out, "out");
+		pool_	= Check.notNull(pool, "pool");
+		buffer_	= pool.acquire();
+	}
+	
+	
+	@Override public void write(int c) throws IOException
+	{
+		ensureOpen();
+		if (buffer_.length - pos_ < 4)
+			flushBuffer();
+		encode((char)c);
+	}
+	
+	
+	@Override public void write(char[] chars, int offset, int length) throws IOException
+	{
+		ensureOpen();
+		int end = offset + length;
+		for (int i=offset; i<end; i++)
+		{
+			if (buffer_.length - pos_ < 4)
+				flushBuffer();
+			char c = chars[i];
+			if ((c < 0x80) && (highSurrogate_ == 0))
+				buffer_[pos_++] = (byte)c;
+			else
+				encode(c);
+		}
+	}
+	
+	
+	@Override public void write(String s, int offset, int length) throws IOException
+	{
+		ensureOpen();
+		int end = offset + length;
+		for (int i=offset; i<end; i++)
+		{
+			if (buffer_.length - pos_ < 4)
+				flushBuffer();
+			char c = s.charAt(i);
+			if ((c < 0x80) && (highSurrogate_ == 0))
+				buffer_[pos_++] = (byte)c;
+			else
+				encode(c);
+		}
+	}
+	
+	
+	/**
+	 * Encodes a char. The buffer has space for at least 4 bytes. 
+	 */
+	private void encode(char c)
+	{
+		if (highSurrogate_ != 0)
+		{
+			char high = highSurrogate_;
+			highSurrogate_ = 0;
+			if (Character.isLowSurrogate(c))
+			{
+				int cp = Character.toCodePoint(high, c);
+				buffer_[pos_++] = (byte)(0xF0 | (cp >> 18));
+				buffer_[pos_++] = (byte)(0x80 | ((cp >> 12) & 0x3F));
+				buffer_[pos_++] = (byte)(0x80 | ((cp >> 6) & 0x3F));
+				buffer_[pos_++] = (byte)(0x80 | (cp & 0x3F));
+				return;
+			}
+			// unpaired high surrogate, at least 3 bytes left for c
+			buffer_[pos_++] = '?';
+		}
+		
+		if (c < 0x80)
+			buffer_[pos_++] = (byte)c;
+		else if (c < 0x800)
+		{
+			buffer_[pos_++] = (byte)(0xC0 | (c >> 6));
+			buffer_[pos_++] = (byte)(0x80 | (c & 0x3F));
+		}
+		else if (Character.isHighSurrogate(c))
+			highSurrogate_ = c;
+		else if (Character.isLowSurrogate(c))
+			buffer_[pos_++] = '?';
+		else
+		{
+			buffer_[pos_++] = (byte)(0xE0 | (c >> 12));
+			buffer_[pos_++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+			buffer_[pos_++] = (byte)(0x80 | (c & 0x3F));
+		}
+	}
+	
+	
+	private void flushBuffer() throws IOException
+	{
+		if (pos_ > 0)
+		{
+			out_.write(buffer_, 0, pos_);
+			pos_ = 0;
+		}
+	}
+	
+	
+	/**
+	 * Writes the buffered bytes to the OutputStream and flushes the stream.
+	 */
+	@Override public void flush() throws IOException
+	{
+		ensureOpen();
+		flushBuffer();
+		out_.flush();
+	}
+	
+	
+	/**
+	 * Writes the buffered bytes to the OutputStream and returns the buffer to the pool.
+	 * The OutputStream is not closed. The writer cannot be used afterwards.
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void release() throws IOException
+	{
+		if (buffer_ != null)
+		{
+			try
+			{
+				if (highSurrogate_ != 0)
+				{
+					highSurrogate_ = 0;
+					if (pos_ == buffer_.length)
+						flushBuffer();
+					buffer_[pos_++] = '?';
+				}
+				flushBuffer();
+			}
+			finally
+			{
+				pool_.release(buffer_);
+				buffer_ = null;
+			}
+		}
+	}
+	
+	
+	/**
+	 * Releases the writer and closes the OutputStream. 
+	 */
+	@Override public void close() throws IOException
+	{
+		if (buffer_ != null)
+		{
+			try
+			{
+				release();
+			}
+			finally
+			{
+				out_.close();
+			}
+		}
+	}
+	
+	
+	private void ensureOpen() throws IOException
+	{
+		if (buffer_ == null)
+			throw new IOException("writer closed");
+	}
+	
+	
+	private final OutputStream out_;
+	private final BufferPool pool_;
+	private byte[] buffer_;
+	private int pos_;
+	private char highSurrogate_;
+}
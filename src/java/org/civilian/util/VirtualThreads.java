@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Provides access to virtual threads.
+ * Civilian is compiled against Java 11, therefore virtual threads
+ * are looked up via reflection and are only available if the JVM supports them (Java 21+). 
+ */
+public abstract class VirtualThreads
+{
+	/**
+	 * The system property which lets the JVM print a stacktrace when 
+	 * a virtual thread blocks while pinned to its carrier thread, e.g. 
+	 * when doing I/O inside a synchronized block.
+	 */
+	public static final String TRACE_PINNED_PROPERTY = "jdk.tracePinnedThreads";
+	
+	
+	/**
+	 * @return are virtual threads supported by the JVM? 
+	 */
+	public static boolean isSupported()
+	{
+		return EXECUTOR != null;
+	}
+	
+	
+	/**
+	 * @return is tracing of pinned virtual threads turned on? 
+	 * @see #TRACE_PINNED_PROPERTY
+	 */
+	public static boolean isPinningTraced()
+	{
+		return System.getProperty(TRACE_PINNED_PROPERTY) != null;
+	}
+
+	
+	/**
+	 * Runs the runnable in a new virtual thread.
+	 * @param runnable a runnable
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public static void start(Runnable runnable)
+	{
+		Check.notNull(runnable, "runnable");
+		if (EXECUTOR == null)
+			throw new IllegalStateException("virtual threads are not supported by the JVM");
+		EXECUTOR.execute(runnable);
+	}
+	
+	
+	private static ExecutorService createExecutor()
+	{
+		try
+		{
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		}
+		catch (Exception e)
+		{
+			return null;
+		}
+	}
+	
+	
+	private static final ExecutorService EXECUTOR = createExecutor();
+}
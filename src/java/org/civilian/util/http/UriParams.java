@@ -0,0 +1,295 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util.http;
+
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.civilian.util.ArrayUtil;
+import org.civilian.util.Check;
+
+
+/**
+ * UriParams gives access to the parameters encoded in a query string
+ * or in the matrix part of a path segment.
+ * UriParams does not parse the string up front: it keeps the raw string 
+ * and scans it in a single pass whenever a parameter is requested. Percent escapes
+ * are only decoded for the names and values which are actually accessed.
+ * A map of all parameters is built on the first call to {@link #getMap()}. 
+ */
+public class UriParams
+{
+	private static final String[] EMPTY_VALUES = new String[0];
+	public static final UriParams EMPTY = new UriParams("", 0, 0, '&', false);
+
+	
+	/**
+	 * Creates UriParams for a query string.
+	 * Parameters are separated by '&amp;' and '+' is decoded as space.
+	 * @param queryString the raw query string without leading '?', can be null
+	 * @return the params
+	 */
+	public static UriParams ofQuery(String queryString)
+	{
+		return (queryString == null) || queryString.isEmpty() ?
+			EMPTY :
+			new UriParams(queryString, 0, queryString.length(), '&', true);
+	}
+	
+	
+	/**
+	 * Creates UriParams for the matrix parameters of the last segment of a path.
+	 * Parameters are separated by ';'.
+	 * @param path the raw path
+	 * @return the params
+	 */
+	public static UriParams ofMatrix(String path)
+	{
+		Check.notNull(path, "path");
+		int slash = path.lastIndexOf('/');
+		int semicolon = path.indexOf(';', slash + 1);
+		return semicolon < 0 ?
+			EMPTY :
+			new UriParams(path, semicolon + 1, path.length(), ';', false);
+	}
+	
+	
+	/**
+	 * Creates a new UriParams object.
+	 * @param s a string
+	 * @param start the start index of the parameter part within the string 
+	 * @param end the end index of the parameter part within the string 
+	 * @param separator the separator between parameters
+	 * @param plusIsSpace true if '+' should be decoded as space
+	 */
+	public UriParams(String s, int start, int end, char separator, boolean plusIsSpace)
+	{
+		s_ 				= Check.notNull(s, "s");
+		start_ 			= start;
+		end_ 			= end;
+		separator_ 		= separator;
+		plusIsSpace_ 	= plusIsSpace;
+	}
+	
+	
+	/**
+	 * Returns the first value of the parameter.
+	 * @param name the parameter name
+	 * @return the value or null if the parameter is not contained. A parameter
+	 * 		without '=' has an empty value.
+	 */
+	public String get(String name)
+	{
+		if (map_ != null)
+		{
+			String[] values = map_.get(name);
+			return values != null ? values[0] : null;
+		}
+		
+		for (int pos=start_; pos<end_; )
+		{
+			int sep = indexOf(separator_, pos, end_);
+			int eq	= indexOf('=', pos, sep);
+			if (nameMatches(name, pos, eq))
+				return value(eq, sep);
+			pos = sep + 1;
+		}
+		return null;
+	}
+
+	
+	/**
+	 * Returns all values of the parameter.
+	 * @param name the parameter name
+	 * @return the values, an empty array if the parameter is not contained. 
+	 */
+	public String[] getAll(String name)
+	{
+		if (map_ != null)
+		{
+			String[] values = map_.get(name);
+			return values != null ? values : EMPTY_VALUES;
+		}
+
+		String[] values = EMPTY_VALUES;
+		for (int pos=start_; pos<end_; )
+		{
+			int sep = indexOf(separator_, pos, end_);
+			int eq	= indexOf('=', pos, sep);
+			if (nameMatches(name, pos, eq))
+				values = ArrayUtil.addLast(values, value(eq, sep));
+			pos = sep + 1;
+		}
+		return values;
+	}
+	
+	
+	/**
+	 * Returns an iterator of the distinct parameter names.
+	 * @return the iterator 
+	 */
+	public Iterator<String> getNames()
+	{
+		return getMap().keySet().iterator();
+	}
+
+	
+	/**
+	 * Returns a unmodifiable map of all parameters. 
+	 * The map is built on the first call and then reused.
+	 * @return the map 
+	 */
+	public Map<String,String[]> getMap()
+	{
+		if (map_ == null)
+		{
+			Map<String,List<String>> lists = new LinkedHashMap<>();
+			for (int pos=start_; pos<end_; )
+			{
+				int sep = indexOf(separator_, pos, end_);
+				int eq	= indexOf('=', pos, sep);
+				if (eq > pos)
+					lists.computeIfAbsent(decode(pos, eq), n -> new ArrayList<>(1)).add(value(eq, sep));
+				pos = sep + 1;
+			}
+			
+			Map<String,String[]> map = new LinkedHashMap<>();
+			for (Map.Entry<String,List<String>> entry : lists.entrySet())
+				map.put(entry.getKey(), entry.getValue().toArray(EMPTY_VALUES));
+			map_ = Collections.unmodifiableMap(map);
+		}
+		return map_;
+	}
+	
+	
+	/**
+	 * Returns if there are no parameters.
+	 * @return true if empty
+	 */
+	public boolean isEmpty()
+	{
+		return start_ >= end_;
+	}
+	
+
+	/**
+	 * Tests if the raw name in the range [start, end) equals the name.
+	 * The raw name is only decoded if it contains escapes. 
+	 */
+	private boolean nameMatches(String name, int start, int end)
+	{
+		int length = end - start;
+		if (length == 0)
+			return false;
+		if (!needsDecoding(start, end))
+			return (length == name.length()) && s_.regionMatches(start, name, 0, length);
+		else
+			return (length >= name.length()) && decode(start, end).equals(name);
+	}
+	
+	
+	private String value(int eq, int sep)
+	{
+		return eq < sep ? decode(eq + 1, sep) : "";
+	}
+	
+	
+	private int indexOf(char c, int start, int end)
+	{
+		int p = s_.indexOf(c, start);
+		return (p < 0) || (p > end) ? end : p;
+	}
+	
+	
+	private boolean needsDecoding(int start, int end)
+	{
+		for (int i=start; i<end; i++)
+		{
+			char c = s_.charAt(i);
+			if ((c == '%') || ((c == '+') && plusIsSpace_))
+				return true;
+		}
+		return false;
+	}
+	
+
+	/**
+	 * Decodes the range [start, end). Percent escaped bytes are interpreted as UTF-8.
+	 * Invalid escapes are kept as is.
+	 */
+	private String decode(int start, int end)
+	{
+		if (!needsDecoding(start, end))
+			return s_.substring(start, end);
+		
+		StringBuilder out = new StringBuilder(end - start);
+		ByteArrayOutputStream bytes = null;
+		for (int i=start; i<end; )
+		{
+			char c = s_.charAt(i);
+			int b;
+			if ((c == '%') && ((b = hexByte(i + 1, end)) >= 0))
+			{
+				if (bytes == null)
+					bytes = new ByteArrayOutputStream();
+				bytes.write(b);
+				i += 3;
+				continue;
+			}
+			
+			if ((bytes != null) && (bytes.size() > 0))
+			{
+				out.append(bytes.toString(StandardCharsets.UTF_8));
+				bytes.reset();
+			}
+			out.append(((c == '+') && plusIsSpace_) ? ' ' : c);
+			i++;
+		}
+		if ((bytes != null) && (bytes.size() > 0))
+			out.append(bytes.toString(StandardCharsets.UTF_8));
+		return out.toString();
+	}
+	
+	
+	private int hexByte(int start, int end)
+	{
+		if (start + 2 > end)
+			return -1;
+		int hi = Character.digit(s_.charAt(start), 16);
+		int lo = Character.digit(s_.charAt(start + 1), 16);
+		return (hi < 0) || (lo < 0) ? -1 : (hi << 4) | lo;
+	}
+	
+	
+	@Override public String toString()
+	{
+		return s_.substring(start_, end_);
+	}
+	
+	
+	private final String s_;
+	private final int start_;
+	private final int end_;
+	private final char separator_;
+	private final boolean plusIsSpace_;
+	private Map<String,String[]> map_;
+}
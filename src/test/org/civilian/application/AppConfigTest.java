@@ -58,5 +58,9 @@ public class AppConfigTest extends CivTest
 		
 		config.setTypeLib(config.getTypeLib());
 		config.setUploadConfig(config.getUploadConfig());
+		
+		assertFalse(config.getVirtualThreads());
+		config.setVirtualThreads(true);
+		assertTrue(config.getVirtualThreads());
 	}
 }
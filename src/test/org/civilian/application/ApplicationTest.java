@@ -30,6 +30,7 @@ import org.civilian.server.test.TestResponse;
 import org.civilian.server.test.TestServer;
 import org.civilian.util.ClassUtil;
 import org.civilian.util.Settings;
+import org.civilian.util.VirtualThreads;
 
 
 public class ApplicationTest extends CivTest
@@ -129,6 +130,20 @@ public class ApplicationTest extends CivTest
 	}
 	
 	
+	@Test public void testVirtualThreads() throws Exception
+	{
+		TestApp app = new TestApp();
+		app.init("/app");
+		assertFalse(app.useVirtualThreads());
+		
+		// falls back to container threads on a JVM without virtual threads
+		app = new TestApp();
+		app.setInitializer(config -> config.setVirtualThreads(true));
+		app.init("/app");
+		assertEquals(VirtualThreads.isSupported(), app.useVirtualThreads());
+	}
+	
+	
 	@Test public void testProcess() throws Exception
 	{
 		TestApp app = new TestApp();
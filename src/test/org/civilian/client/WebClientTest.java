@@ -0,0 +1,151 @@
+package org.civilian.client;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.civilian.CivTest;
+import org.civilian.content.ContentType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+
+/**
+ * Tests the WebClient against a local stand-in server.
+ */
+public class WebClientTest extends CivTest
+{
+	public static class Customer
+	{
+		public String name;
+		public int id;
+	}
+	
+	
+	@BeforeClass public static void beforeClass() throws Exception
+	{
+		server_ = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server_.setExecutor(Executors.newCachedThreadPool());
+		server_.createContext("/customer", x -> {
+			calls_.incrementAndGet();
+			if ("POST".equals(x.getRequestMethod()))
+			{
+				String body;
+				try (InputStream in = x.getRequestBody())
+				{
+					body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+				}
+				reply(x, 200, "application/json; charset=UTF-8", body.replace("alpha", "beta"));
+			}
+			else
+				reply(x, 200, "application/json", "{\"name\":\"alpha\",\"id\":7}");
+		});
+		server_.createContext("/slow", x -> {
+			calls_.incrementAndGet();
+			try
+			{
+				release_.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			reply(x, 200, "text/plain", "done");
+		});
+		server_.createContext("/missing", x -> reply(x, 404, "text/plain", "not found"));
+		server_.start();
+		root_ = "http://127.0.0.1:" + server_.getAddress().getPort();
+	}
+	
+	
+	private static void reply(HttpExchange exchange, int status, String contentType, String content) throws IOException
+	{
+		byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", contentType);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody())
+		{
+			out.write(bytes);
+		}
+	}
+
+	
+	@AfterClass public static void afterClass()
+	{
+		server_.stop(0);
+	}
+	
+	
+	@Test public void testGet() throws Exception
+	{
+		WebResponse response = client_.get(url("/customer")).get();
+		assertEquals(200, response.getStatus());
+		assertEquals(ContentType.APPLICATION_JSON, response.getContentType());
+		assertEquals("{\"name\":\"alpha\",\"id\":7}", response.getText());
+		
+		Customer customer = client_.get(url("/customer"), Customer.class).get();
+		assertEquals("alpha", customer.name);
+		assertEquals(7, customer.id);
+		
+		// typed calls fail on error status
+		try
+		{
+			client_.get(url("/missing"), String.class).get();
+			fail();
+		}
+		catch (ExecutionException e)
+		{
+			assertTrue(e.getCause() instanceof IOException);
+		}
+		assertEquals(404, client_.get(url("/missing")).get().getStatus());
+	}
+	
+	
+	@Test public void testPost() throws Exception
+	{
+		Customer customer = new Customer();
+		customer.name = "alpha";
+		customer = client_.post(url("/customer"), customer, Customer.class).get();
+		assertEquals("beta", customer.name);
+	}
+	
+	
+	@Test public void testCoalesce() throws Exception
+	{
+		int calls = calls_.get();
+		CompletableFuture<WebResponse> f1 = client_.get(url("/slow"));
+		CompletableFuture<WebResponse> f2 = client_.get(url("/slow"));
+		assertNotSame(f1, f2);
+		assertEquals(1, client_.getInFlightCount());
+		
+		release_.countDown();
+		assertSame(f1.get(), f2.get());
+		assertEquals("done", f1.get().getText());
+		assertEquals(calls + 1, calls_.get());
+		assertEquals(0, client_.getInFlightCount());
+	}
+	
+	
+	private static WebUrl url(String path)
+	{
+		return new WebUrl(root_ + path);
+	}
+	
+	
+	private static HttpServer server_;
+	private static String root_;
+	private static final AtomicInteger calls_ = new AtomicInteger();
+	private static final CountDownLatch release_ = new CountDownLatch(1);
+	private final WebClient client_ = new WebClient();
+}
@@ -16,6 +16,11 @@
 package org.civilian.content;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.ZipException;
 import org.civilian.CivTest;
 import org.junit.After;
 import org.junit.Test;
@@ -70,6 +75,82 @@ public class CompressionSchemeTest extends CivTest
 }
 	
 	
+	@Test public void testInflate() throws Exception
+	{
+		byte[] data = new byte[100000];
+		for (int i=0; i<data.length; i++)
+			data[i] = (byte)(i % 251);
+		
+		// gzip and deflate roundtrip
+		byte[] gzip = compress(CompressionScheme.GZIP, data);
+		assertArrayEquals(data, inflate(CompressionScheme.GZIP, gzip, Long.MAX_VALUE));
+		assertArrayEquals(data, inflate(CompressionScheme.DEFLATE, compress(CompressionScheme.DEFLATE, data), Long.MAX_VALUE));
+		
+		// a limit equal to the size is accepted, one byte less is not
+		assertArrayEquals(data, inflate(CompressionScheme.GZIP, gzip, data.length));
+		try
+		{
+			inflate(CompressionScheme.GZIP, gzip, data.length - 1);
+			fail();
+		}
+		catch(ContentTooLargeException e)
+		{
+			assertEquals(data.length - 1, e.getMaxSize());
+		}
+		
+		// concatenated gzip members, the second with a file name
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(compress(CompressionScheme.GZIP, "ab".getBytes()));
+		out.write(new byte[] { 0x1f, (byte)0x8b, 8, 8, 0, 0, 0, 0, 0, 0, 'n', 0 });
+		byte[] second = compress(CompressionScheme.GZIP, "cd".getBytes());
+		out.write(second, 10, second.length - 10);
+		assertEquals("abcd", new String(inflate(CompressionScheme.GZIP, out.toByteArray(), Long.MAX_VALUE)));
+		
+		// corrupt trailer
+		gzip[gzip.length - 1]++;
+		try
+		{
+			inflate(CompressionScheme.GZIP, gzip, Long.MAX_VALUE);
+			fail();
+		}
+		catch(ZipException e)
+		{
+			assertEquals("corrupt GZIP trailer", e.getMessage());
+		}
+		
+		// other schemes count the decompressed bytes
+		try (InputStream in = CompressionScheme.IDENTITY.wrap(new ByteArrayInputStream(data), 10))
+		{
+			in.readAllBytes();
+			fail();
+		}
+		catch(ContentTooLargeException e)
+		{
+		}
+	}
+	
+	
+	private byte[] compress(CompressionScheme scheme, byte[] data) throws Exception
+	{
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (OutputStream out = scheme.wrap(bout))
+		{
+			out.write(data);
+		}
+		return bout.toByteArray();
+	}
+	
+	
+	private byte[] inflate(CompressionScheme scheme, byte[] data, long maxSize) throws Exception
+	{
+		try (InputStream in = scheme.wrap(new ByteArrayInputStream(data), maxSize))
+		{
+			assertTrue(in instanceof BoundedInflaterInputStream);
+			return in.readAllBytes();
+		}
+	}
+	
+	
 	private void assertMatch(CompressionScheme scheme, String accept)
 	{
 		assertEquals(scheme, CompressionScheme.match(accept));
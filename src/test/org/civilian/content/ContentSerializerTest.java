@@ -16,6 +16,9 @@
 package org.civilian.content;
 
 
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.annotation.XmlRootElement;
 import org.junit.Test;
@@ -38,6 +41,30 @@ public class ContentSerializerTest extends CivTest
 		JsonElement one = reader.read(JsonElement.class, "1");
 		assertEquals(new JsonPrimitive(Integer.valueOf(1)), one);
 		assertEquals("1", reader.write(one));
+		
+		// write elements incrementally
+		StringWriter out = new StringWriter();
+		reader.setFlushInterval(2);
+		reader.writeElements(Arrays.asList(1, null, "a").iterator(), out);
+		assertEquals("[1,null,\"a\"]", out.toString());
+		
+		out = new StringWriter();
+		reader.writeElements(Collections.emptyIterator(), out);
+		assertEquals("[]", out.toString());
+	}
+	
+	
+	@Test public void testGsonNdJsonSerializer() throws Exception
+	{
+		GsonNdJsonSerializer serializer = new GsonNdJsonSerializer();
+		assertEquals("true\n", serializer.write(Boolean.TRUE));
+		assertEquals("1\n\"a\"\n", serializer.write(Arrays.asList(1, "a")));
+		assertEquals("1\n\"a\"\n", serializer.write(new Object[] { 1, "a" }));
+		assertEquals("1\n2\n", serializer.write(new int[] { 1, 2 }));
+		
+		StringWriter out = new StringWriter();
+		serializer.writeElements(Arrays.asList(new int[] { 1, 2 }, "b").iterator(), out);
+		assertEquals("[1,2]\n\"b\"\n", out.toString());
 	}
 	
 	
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import java.io.IOException;
 import java.lang.reflect.Method;
 import org.civilian.CivTest;
 import org.civilian.annotation.Consumes;
@@ -171,6 +172,7 @@ public class ControllerMethodTest extends CivTest
 
 		method = getMethod(ArgController.class, "withArg");
 		assertEquals(1, method.getArgCount());
+		assertFalse(method.getArgument(0).needsPostProcess());
 	}
 
 
@@ -184,6 +186,11 @@ public class ControllerMethodTest extends CivTest
 		{
 			return "Hi";
 		}
+
+		@Get public void withError() throws Exception
+		{
+			throw new IOException("error");
+		}
 	}
 
 	
@@ -201,5 +208,16 @@ public class ControllerMethodTest extends CivTest
 		method = getMethod(InvokeController.class, "withResult");
 		method.invoke(controller, request, response);
 		verify(response, times(1)).writeContent("Hi");
+		
+		method = getMethod(InvokeController.class, "withError");
+		try
+		{
+			method.invoke(controller, request, response);
+			fail();
+		}
+		catch(IOException e)
+		{
+			assertEquals("error", e.getMessage());
+		}
 	}
 }
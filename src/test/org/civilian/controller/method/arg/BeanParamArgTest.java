@@ -23,6 +23,7 @@ import org.civilian.CivTest;
 import org.civilian.annotation.BeanParam;
 import org.civilian.annotation.HeaderParam;
 import org.civilian.controller.method.arg.factory.MethodArgFactory;
+import org.civilian.controller.method.arg.misc.BeanParamArg;
 import org.civilian.request.Request;
 import org.civilian.request.RequestHeaders;
 import org.civilian.resource.pathparam.PathParamMap;
@@ -37,6 +38,7 @@ public class BeanParamArgTest extends CivTest
 	{
 		MethodArgFactory factory 	= new MethodArgFactory(PathParamMap.EMPTY, new TypeLib());
 		MethodArg arg 				= factory.parseBeanParamArgument(Bean.class);
+		assertTrue(((BeanParamArg)arg).usesMethodHandles());
 		Request request 			= mock(Request.class);
 		RequestHeaders headers		= mock(RequestHeaders.class);
 		Response response			= mock(Response.class);
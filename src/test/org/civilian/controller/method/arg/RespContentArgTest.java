@@ -68,6 +68,7 @@ public class RespContentArgTest extends CivTest
 
 	
 		ResponseContentArg arg = new ResponseContentArg(Explicit.class);
+		assertTrue(arg.needsPostProcess());
 		Object value = arg.getValue(request, response);
 		assertEquals(Explicit.class, value.getClass());
 		arg.postProcess(request, response, value);
@@ -19,6 +19,7 @@ package org.civilian.form;
 import static org.mockito.Mockito.*;
 import java.text.ParseException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.Locale;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -30,6 +31,7 @@ import org.civilian.response.Response;
 import org.civilian.template.TestCspWriter;
 import org.civilian.text.keys.KeyList;
 import org.civilian.text.keys.KeyLists;
+import org.civilian.text.keys.MutableKeyList;
 import org.civilian.text.service.LocaleService;
 import org.civilian.type.TypeLib;
 
@@ -83,6 +85,18 @@ public class ControlTest extends CivTest
 		select2.setDisabled();
 		select2.setRows(2);
 		assertOut(select2, "<select name='name2' size='2' disabled>\n</select>");
+		
+		// single options of immutable and mutable KeyLists
+		select.setValue("b");
+		select.printOption(out, 1);
+		out.assertOutNormed("<option value='b' selected>beta</option>\n");
+		MutableKeyList<String> mutable = new MutableKeyList<>();
+		mutable.add("x", "ex");
+		mutable.add("y", "why");
+		Select<String> select3 = new Select<>("name3", mutable);
+		select3.setValue("y");
+		select3.printOption(out, 1);
+		out.assertOutNormed("<option value='1' selected>why</option>\n");
 	}
 
 
@@ -478,6 +492,69 @@ public class ControlTest extends CivTest
 	}
 	
 	
+	@Test public void testFormReadParallel() throws Exception
+	{
+		Form form = new Form(response);
+		HashMap<String,String[]> params = new HashMap<>();
+		for (int i=0; i<100; i++)
+		{
+			form.add(new IntField("i" + i)).setRequired(true);
+			params.put("i" + i, new String[] { String.valueOf(i) });
+		}
+		params.put("i50", new String[] { "x" });
+		params.remove("i70");
+		when(request.getParamMap()).thenReturn(params);
+		
+		form.setParallelReadThreshold(10);
+		assertEquals(10, form.getParallelReadThreshold());
+		assertFalse(form.read());
+		assertEquals(Integer.valueOf(49), form.get(49).getValue());
+		assertSame(form.get(50), form.getErrorControl());
+		assertTrue(form.get(50).hasStatus(Control.Status.PARSE_ERROR));
+		assertTrue(form.get(70).hasStatus(Control.Status.MISSING));
+		
+		params.put("i50", new String[] { "50" });
+		params.put("i70", new String[] { "70" });
+		assertTrue(form.read());
+		assertNull(form.getErrorControl());
+		assertEquals(Integer.valueOf(70), form.get(70).getValue());
+		
+		// file fields read uploads sequentially in the request thread,
+		// the other controls use the context class loader of the request thread
+		Thread requestThread = Thread.currentThread();
+		Upload upload = mock(Upload.class);
+		when(upload.getName()).thenReturn("photo");
+		Uploads uploads = Uploads.of(upload);
+		when(request.getUploads()).then(inv -> {
+			assertSame(requestThread, Thread.currentThread());
+			return uploads;
+		});
+		FileField fileField = form.add(new FileField("photo"));
+		ClassLoader[] loaders = new ClassLoader[1];
+		form.add(new TextField("t")
+		{
+			@Override protected void parse(Request request)
+			{
+				loaders[0] = Thread.currentThread().getContextClassLoader();
+				super.parse(request);
+			}
+		});
+		ClassLoader previous = requestThread.getContextClassLoader();
+		ClassLoader loader = new ClassLoader(previous) {};
+		requestThread.setContextClassLoader(loader);
+		try
+		{
+			assertTrue(form.read());
+		}
+		finally
+		{
+			requestThread.setContextClassLoader(previous);
+		}
+		assertSame(upload, fileField.getUpload());
+		assertSame(loader, loaders[0]);
+	}
+	
+	
 	@Test public void testFormAttrs()
 	{
 		Form form = new Form(response);
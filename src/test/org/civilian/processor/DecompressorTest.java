@@ -3,7 +3,12 @@ package org.civilian.processor;
 
 import java.io.ByteArrayOutputStream;
 import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import org.civilian.CivTest;
+import org.civilian.content.ContentTooLargeException;
+import org.civilian.request.BadRequestException;
+import org.civilian.request.Request;
+import org.civilian.response.Response;
 import org.civilian.server.test.TestRequest;
 import org.civilian.server.test.TestResponse;
 import org.civilian.util.http.HeaderNames;
@@ -33,6 +38,55 @@ public class DecompressorTest extends CivTest
 	}
 
 	
+	@Test public void testMaxInflatedSize() throws Exception
+	{
+		request_ 		= new TestRequest();
+		response_		= new TestResponse(request_);
+		decompressor_ 	= new Decompressor(3);
+		assertEquals("Decompressor, max 3 bytes", decompressor_.getInfo());
+		
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (GZIPOutputStream gout = new GZIPOutputStream(bout))
+		{
+			gout.write("abcd".getBytes());
+		}
+		request_.setContent(bout.toByteArray());
+		request_.getHeaders().set(HeaderNames.CONTENT_ENCODING, "gzip");
+		
+		try
+		{
+			decompressor_.process(request_, response_, new ProcessorChain(new Processor()
+			{
+				@Override public boolean process(Request request, Response response, ProcessorChain chain) throws Exception
+				{
+					request.readContent(String.class);
+					return true;
+				}
+				
+				
+				@Override public String getInfo()
+				{
+					return "reader";
+				}
+			}));
+			fail();
+		}
+		catch(BadRequestException e)
+		{
+			assertEquals(Response.Status.SC413_REQUEST_ENTITY_TOO_LARGE, e.getStatusCode());
+			assertTrue(e.getCause() instanceof ContentTooLargeException);
+		}
+		
+		// content within the limit
+		byte[] content	= bout.toByteArray();
+		request_ 		= new TestRequest();
+		response_		= new TestResponse(request_);
+		decompressor_ 	= new Decompressor(4);
+		request_.setContent(content);
+		assertProcess("gzip", "abcd");
+	}
+
+	
 	private void assertProcess(String contentEncoding, String readContent) throws Exception
 	{
 		request_.getHeaders().set(HeaderNames.CONTENT_ENCODING, contentEncoding);
@@ -0,0 +1,133 @@
+package org.civilian.processor;
+
+
+import jakarta.servlet.http.Cookie;
+import org.civilian.CivTest;
+import org.civilian.request.Request;
+import org.civilian.request.Session;
+import org.civilian.request.session.CookieSessionStore;
+import org.civilian.request.session.OffHeapSessionStore;
+import org.civilian.request.session.SessionStore;
+import org.civilian.response.Response;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.civilian.util.CheckedConsumer;
+import org.junit.Test;
+
+
+public class SessionProcessorTest extends CivTest
+{
+	@Test public void test() throws Exception
+	{
+		// no session access: no cookie
+		Cookie cookie = process(null, r -> assertNull(r.getRequest().getSession(false)));
+		assertNull(cookie);
+		
+		// new session: cookie is written when the content is written
+		cookie = process(null, r -> {
+			r.getRequest().getSession(true).setAttribute("user", "alpha");
+			r.getContentWriter().print("x");
+		});
+		assertNotNull(cookie);
+		assertEquals("/app", cookie.getPath());
+		assertTrue(cookie.isHttpOnly());
+		
+		// session is restored from the cookie, reading does not rewrite it
+		String value = cookie.getValue();
+		assertNull(process(cookie, r -> {
+			Session session = r.getRequest().getSession(false);
+			assertFalse(session.isNew());
+			assertEquals("alpha", session.getAttribute("user"));
+		}));
+		
+		// a modification is saved before a redirect
+		cookie = process(cookie, r -> {
+			r.getRequest().getSession(false).setAttribute("user", "beta");
+			r.redirect("/login");
+		});
+		assertNotNull(cookie);
+		assertNotEquals(value, cookie.getValue());
+		
+		// forged cookie: no session
+		Cookie forged = new Cookie(cookie.getName(), 'x' + cookie.getValue());
+		assertNull(process(forged, r -> assertNull(r.getRequest().getSession(false))));
+		
+		// invalidate deletes the cookie
+		cookie = process(cookie, r -> r.getRequest().getSession(false).invalidate());
+		assertEquals(0, cookie.getMaxAge());
+	}
+	
+	
+	@Test public void testInvalidateAndCreate() throws Exception
+	{
+		SessionProcessor processor = new SessionProcessor(
+			new OffHeapSessionStore(null, 4 * OffHeapSessionStore.PAGE_SIZE, "sid", "/app", 60));
+		SessionStore store = processor.getStore();
+		
+		Cookie oldCookie = process(processor, null, r -> r.getRequest().getSession(true).setAttribute("user", "alpha"));
+		assertNotNull(store.load(request(oldCookie)));
+		
+		// logout pattern: the old session must no longer be loadable
+		Cookie newCookie = process(processor, oldCookie, r -> {
+			r.getRequest().getSession(false).invalidate();
+			assertTrue(r.getRequest().getSession(true).isNew());
+		});
+		assertNotEquals(oldCookie.getValue(), newCookie.getValue());
+		assertNull(store.load(request(oldCookie)));
+		assertNull(store.load(request(newCookie)).getAttribute("user"));
+		processor.close();
+	}
+	
+	
+	private Cookie process(Cookie cookie, CheckedConsumer<Response,Exception> action) throws Exception
+	{
+		return process(processor_, cookie, action);
+	}
+	
+	
+	private TestRequest request(Cookie cookie)
+	{
+		TestRequest request = new TestRequest();
+		request.getCookies().add(cookie);
+		return request;
+	}
+	
+	
+	private Cookie process(SessionProcessor processor, Cookie cookie, CheckedConsumer<Response,Exception> action) throws Exception
+	{
+		TestRequest request = new TestRequest();
+		if (cookie != null)
+			request.getCookies().add(cookie);
+		TestResponse response = new TestResponse(request);
+		
+		Processor actionProcessor = new Processor()
+		{
+			@Override public boolean process(Request request, Response response, ProcessorChain chain) throws Exception
+			{
+				assertSame(request, response.getRequest());
+				action.accept(response);
+				return true;
+			}
+
+
+			@Override public String getInfo()
+			{
+				return "action";
+			}
+		};
+		assertTrue(processor.process(request, response, new ProcessorChain(actionProcessor)));
+		
+		// the last cookie supersedes previous cookies with the same name 
+		Cookie result = null;
+		for (Cookie c : response.getCookies())
+		{
+			if ("sid".equals(c.getName()))
+				result = c;
+		}
+		return result;
+	}
+	
+	
+	private final SessionProcessor processor_ = new SessionProcessor(
+		new CookieSessionStore("0123456789abcdef", "sid", "/app", 60));
+}
@@ -83,5 +83,16 @@ public class MiscTest extends CivTest
 		when(cookie.getName()).thenReturn("a");
 		list = new CookieList(cookie);
 		assertSame(cookie, list.get("a"));
+		
+		Cookie cookie2 = mock(Cookie.class);
+		when(cookie2.getName()).thenReturn("b");
+		list.add(cookie2);
+		assertSame(cookie2, list.get("b"));
+		list.set(0, cookie2);
+		assertNull(list.get("a"));
+		list.remove(1);
+		assertSame(cookie2, list.get("b"));
+		list.clear();
+		assertNull(list.get("b"));
 	}
 }
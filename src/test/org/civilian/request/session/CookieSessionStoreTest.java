@@ -0,0 +1,83 @@
+package org.civilian.request.session;
+
+
+import java.util.ArrayList;
+import org.civilian.CivTest;
+import org.junit.Test;
+
+
+public class CookieSessionStoreTest extends CivTest
+{
+	@Test public void testEncode()
+	{
+		StoredSession session = new StoredSession(60);
+		session.setAttribute("name", "alpha");
+		session.setAttribute("count", Integer.valueOf(5));
+		
+		String value = store_.encode(session);
+		StoredSession decoded = store_.decode(value);
+		assertEquals(session.getId(), decoded.getId());
+		assertEquals(session.getCreationTime(), decoded.getCreationTime());
+		assertEquals(60, decoded.getMaxInactiveInterval());
+		assertEquals("alpha", decoded.getAttribute("name"));
+		assertEquals(Integer.valueOf(5), decoded.getAttribute("count"));
+		assertFalse(decoded.isNew());
+		assertFalse(decoded.isModified());
+		
+		// encryption uses a random iv
+		assertNotEquals(value, store_.encode(session));
+		
+		// tampered or foreign values are rejected
+		assertNull(store_.decode(null));
+		assertNull(store_.decode("abc"));
+		assertNull(store_.decode(value.substring(1)));
+		assertNull(new CookieSessionStore("another-secret-value", "sid", "/", 60).decode(value));
+	}
+
+	
+	@Test public void testModified()
+	{
+		StoredSession session = store_.decode(store_.encode(new StoredSession(60)));
+		assertFalse(session.isModified());
+		
+		// same immutable value: not modified
+		session.setAttribute("a", "x");
+		session.setSaved();
+		session.setAttribute("a", "x");
+		assertFalse(session.isModified());
+		assertEquals("x", session.getAttribute("a"));
+		assertFalse(session.isModified());
+		
+		// reading a mutable value marks as modified
+		session.setAttribute("list", new ArrayList<>());
+		session.setSaved();
+		session.getAttribute("list");
+		assertTrue(session.isModified());
+		
+		// not serializable
+		try
+		{
+			session.setAttribute("o", new Object());
+			fail();
+		}
+		catch (IllegalArgumentException e)
+		{
+		}
+	}
+
+	
+	@Test public void testAccess()
+	{
+		StoredSession session = new StoredSession(60);
+		long now = session.getLastAccessedTime();
+		session.setSaved();
+		assertTrue(session.access(now + 1000));
+		assertFalse(session.isModified());
+		assertTrue(session.access(now + 20000));
+		assertTrue(session.isModified());
+		assertFalse(session.access(now + 100000));
+	}
+
+	
+	private final CookieSessionStore store_ = new CookieSessionStore("0123456789abcdef", "sid", "/", 60);
+}
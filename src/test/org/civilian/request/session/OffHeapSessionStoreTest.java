@@ -0,0 +1,176 @@
+package org.civilian.request.session;
+
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.servlet.http.Cookie;
+import org.civilian.CivTest;
+import org.civilian.server.test.TestRequest;
+import org.civilian.server.test.TestResponse;
+import org.junit.Test;
+
+
+public class OffHeapSessionStoreTest extends CivTest
+{
+	@Test public void testSaveLoad() throws Exception
+	{
+		OffHeapSessionStore store = new OffHeapSessionStore(null, 4 * OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+		assertNull(store.load(request(null)));
+		
+		// new session sets the cookie
+		StoredSession session = store.create(request(null));
+		session.setAttribute("user", "alpha");
+		Cookie cookie = save(store, session);
+		assertEquals(session.getId(), cookie.getValue());
+		assertEquals(1, store.getSessionCount());
+		
+		// load returns a fresh copy
+		StoredSession loaded = store.load(request(cookie));
+		assertNotSame(session, loaded);
+		assertEquals("alpha", loaded.getAttribute("user"));
+		assertFalse(loaded.isModified());
+		
+		// a session growing into another slab class keeps its id, no new cookie
+		loaded.setAttribute("data", new byte[1000]);
+		assertNull(save(store, loaded));
+		assertEquals(1000, ((byte[])store.load(request(cookie)).getAttribute("data")).length);
+		
+		// unknown ids are ignored
+		assertNull(store.load(request(new Cookie("sid", "unknown"))));
+		
+		// invalidate removes the session and deletes the cookie
+		loaded.invalidate();
+		assertEquals(0, save(store, loaded).getMaxAge());
+		assertEquals(0, store.getSessionCount());
+		assertNull(store.load(request(cookie)));
+	}
+	
+	
+	@Test public void testEviction() throws Exception
+	{
+		// a single page with 256 slots of 256 bytes
+		OffHeapSessionStore store = new OffHeapSessionStore(null, 2 * OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+		Cookie first = save(store, store.create(null));
+		Thread.sleep(5);
+		for (int i=0; i<256; i++)
+			save(store, store.create(null));
+		
+		// the least recent session was evicted
+		assertEquals(256, store.getSessionCount());
+		assertNull(store.load(request(first)));
+	}
+	
+	
+	@Test public void testReassignPages() throws Exception
+	{
+		// two pages, both assigned to the 256 byte class
+		OffHeapSessionStore store = new OffHeapSessionStore(null, 3 * OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+		List<StoredSession> sessions = new ArrayList<>();
+		for (int i=0; i<300; i++)
+		{
+			StoredSession session = store.create(null);
+			save(store, session);
+			sessions.add(session);
+		}
+		for (StoredSession session : sessions)
+		{
+			session.invalidate();
+			save(store, session);
+		}
+		assertEquals(0, store.getSessionCount());
+
+		// the empty pages are reassigned to a larger class
+		StoredSession large = store.create(null);
+		large.setAttribute("text", "x".repeat(400));
+		Cookie cookie = save(store, large);
+		assertEquals(1, store.getSessionCount());
+		Thread.sleep(5);
+
+		// small sessions fill the other page, the page of the large session is kept
+		for (int i=0; i<300; i++)
+			save(store, store.create(null));
+		assertEquals(257, store.getSessionCount());
+
+		// all pages hold live sessions of another class: the page of the least recent session is evicted
+		StoredSession larger = store.create(null);
+		larger.setAttribute("text", "x".repeat(2000));
+		save(store, larger);
+		assertNull(store.load(request(cookie)));
+		assertEquals(257, store.getSessionCount());
+	}
+
+
+	@Test public void testRestore() throws Exception
+	{
+		Path file = Files.createTempFile("sessions", ".bin");
+		try
+		{
+			OffHeapSessionStore store = new OffHeapSessionStore(file, 2 * OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+			StoredSession session = store.create(null);
+			session.setAttribute("user", "alpha");
+			Cookie cookie = save(store, session);
+			store.close();
+			
+			store = new OffHeapSessionStore(file, 2 * OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+			assertEquals(1, store.getSessionCount());
+			assertEquals("alpha", store.load(request(cookie)).getAttribute("user"));
+			store.close();
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	
+	@Test public void testMaxSize() throws Exception
+	{
+		try
+		{
+			new OffHeapSessionStore(null, OffHeapSessionStore.MAX_SIZE + OffHeapSessionStore.PAGE_SIZE, "sid", "/", 60);
+			fail();
+		}
+		catch(IllegalArgumentException e)
+		{
+		}
+		
+		// the page table fits into the header page: the first slot is not overwritten
+		Path file = Files.createTempFile("sessions", ".bin");
+		try
+		{
+			OffHeapSessionStore store = new OffHeapSessionStore(file, OffHeapSessionStore.MAX_SIZE, "sid", "/", 60);
+			StoredSession session = store.create(null);
+			session.setAttribute("user", "alpha");
+			Cookie cookie = save(store, session);
+			store.close();
+			
+			store = new OffHeapSessionStore(file, OffHeapSessionStore.MAX_SIZE, "sid", "/", 60);
+			assertEquals(1, store.getSessionCount());
+			assertEquals("alpha", store.load(request(cookie)).getAttribute("user"));
+			store.close();
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	
+	private static TestRequest request(Cookie cookie)
+	{
+		TestRequest request = new TestRequest();
+		if (cookie != null)
+			request.getCookies().add(cookie);
+		return request;
+	}
+
+	
+	private static Cookie save(OffHeapSessionStore store, StoredSession session)
+	{
+		TestResponse response = new TestResponse(new TestRequest());
+		store.save(session, response);
+		return response.getCookies().get("sid");
+	}
+}
@@ -19,6 +19,7 @@ package org.civilian.resource;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.mockito.Mockito.*;
+import java.io.StringWriter;
 import java.util.Locale;
 import org.civilian.CivTest;
 import org.civilian.request.Request;
@@ -26,6 +27,7 @@ import org.civilian.resource.pathparam.PathParam;
 import org.civilian.resource.pathparam.PathParams;
 import org.civilian.response.Response;
 import org.civilian.response.ResponseOwner;
+import org.civilian.template.CspWriter;
 import org.civilian.text.service.LocaleService;
 import org.civilian.text.type.StandardSerializer;
 import org.civilian.type.TypeLib;
@@ -187,6 +189,36 @@ public class UrlTest extends CivTest
 	}
 	
 
+	@Test public void testWriteTo()
+	{
+		PathParam<String> pp 	= PathParams.forSegment("id");
+		Resource root 			= new Resource();
+		Resource child   		= new Resource(root, "list");
+		Resource ppChild   		= new Resource(child, pp);
+		
+		// constant main part is built once
+		Url url = response_.url().to(child);
+		assertEquals("/app/list", url.toString());
+		assertSame(url.toString(), url.toString());
+		
+		StringWriter sw = new StringWriter();
+		CspWriter out = new CspWriter(sw);
+		url.writeTo(out);
+		
+		// reuse the url for links with different path params
+		url = response_.url().to(ppChild);
+		url.queryParams().add("q", "a b");
+		for (int i=0; i<3; i++)
+		{
+			out.print(' ');
+			url.setPathParam("x" + i);
+			out.print(url);
+		}
+		out.flush();
+		assertEquals("/app/list /app/list/x0?q=a%20b /app/list/x1?q=a%20b /app/list/x2?q=a%20b", sw.toString());
+	}
+	
+	
 	private static Request request_;
 	private static Response response_;
 }
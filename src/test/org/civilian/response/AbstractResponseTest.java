@@ -21,7 +21,9 @@ import java.io.OutputStream;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.List;
 import java.util.Locale;
+import java.util.stream.Stream;
 import org.civilian.CivTest;
 import org.civilian.content.ContentType;
 import org.civilian.resource.Resource;
@@ -195,6 +197,46 @@ public class AbstractResponseTest extends CivTest
 		assertEquals("[{\"text\":\"a\",\"value\":\"a\"},{\"text\":\"b\",\"value\":\"b\"}]", response.getContentText(true));
 	}
 
+
+	@Test public void testWriteJsonThenWriter() throws Exception
+	{
+		response.writeJson(new int[] { 1, 2 });
+		assertSame(Response.ContentAccess.OUTPUTSTREAM, response.getContentAccess());
+		response.getContentWriter().print("ä");
+		response.writeJson(Stream.of(3));
+		assertSame(Response.ContentAccess.WRITER, response.getContentAccess());
+		assertEquals("[1,2]ä[3]", response.getContentText(true));
+
+		// an explicitly obtained content stream still excludes the writer
+		init();
+		response.getContentStream();
+		response.writeJson(new int[] { 1 });
+		try
+		{
+			response.getContentWriter();
+			fail();
+		}
+		catch (IllegalStateException e)
+		{
+			assertEquals("Response.getContentStream() has already been called", e.getMessage());
+		}
+	}
+
+	
+	@Test public void testWriteJsonElements() throws Exception
+	{
+		response.writeJson(Stream.of(1, 2, 3));
+		assertEquals("[1,2,3]", response.getContentText(true));
+
+		init();
+		response.writeJson(List.of("a", "b").iterator());
+		assertEquals("[\"a\",\"b\"]", response.getContentText(true));
+		
+		init();
+		response.writeContent(Stream.of(1, 2), ContentType.APPLICATION_X_NDJSON);
+		assertEquals("1\n2\n", response.getContentText(true));
+	}
+
 	
 	@Test public void testWriteString() throws Exception
 	{
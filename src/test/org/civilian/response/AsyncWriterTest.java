@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.response;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.civilian.CivTest;
+import org.junit.Test;
+
+
+public class AsyncWriterTest extends CivTest
+{
+	private static class TestInput implements AsyncInput
+	{
+		public TestInput(String s)
+		{
+			stream = new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+		}
+		
+		@Override public void setListener(AsyncInputListener listener)
+		{
+			this.listener = listener;
+		}
+
+		@Override public boolean isFinished()
+		{
+			return stream.available() == 0;
+		}
+
+		@Override public boolean isReady()
+		{
+			return true;
+		}
+
+		@Override public InputStream getStream()
+		{
+			return stream;
+		}
+		
+		public AsyncInputListener listener;
+		public final ByteArrayInputStream stream;
+	}
+	
+	
+	@Test public void testWriter() throws Exception
+	{
+		TestAsyncOutput output = new TestAsyncOutput();
+		AsyncWriter writer = new AsyncWriter(output, 4);
+		assertSame(writer, output.listener);
+		AtomicInteger drained = new AtomicInteger();
+		writer.setDrainListener(drained::incrementAndGet);
+		
+		assertTrue(writer.write("ab".getBytes()));
+		assertEquals("ab", output.text());
+		
+		// queue when not ready
+		output.ready = false;
+		assertTrue(writer.write(ByteBuffer.wrap("cde".getBytes())));
+		assertFalse(writer.write(ByteBuffer.allocateDirect(2).put((byte)'f').put((byte)'g').flip()));
+		assertEquals(5, writer.getPendingBytes());
+		assertFalse(writer.isWritable());
+		assertEquals("ab", output.text());
+
+		// drain on output possible
+		output.ready = true;
+		output.listener.onOutputPossible();
+		assertEquals(1, drained.get());
+		assertEquals(0, writer.getPendingBytes());
+		assertEquals("abcdefg", output.text());
+		
+		assertFalse(writer.getCompletion().toCompletableFuture().isDone());
+		writer.close();
+		assertTrue(writer.getCompletion().toCompletableFuture().isDone());
+		
+		try
+		{
+			writer.write(new byte[1]);
+			fail();
+		}
+		catch (IllegalStateException e)
+		{
+		}
+	}
+	
+	
+	@Test public void testWriterError() throws Exception
+	{
+		TestAsyncOutput output = new TestAsyncOutput();
+		AsyncWriter writer = new AsyncWriter(output, 4);
+		output.ready = false;
+		writer.write(new byte[2]);
+		output.listener.onOutputError(new IllegalStateException());
+		assertTrue(writer.getCompletion().toCompletableFuture().isCompletedExceptionally());
+		assertEquals(0, writer.getPendingBytes());
+	}
+	
+	
+	@Test public void testReader() throws Exception
+	{
+		TestInput input = new TestInput("abc");
+		StringBuilder s = new StringBuilder();
+		AsyncReader reader = new AsyncReader(input, (data, length) -> s.append(new String(data, 0, length, StandardCharsets.UTF_8)));
+		assertSame(reader, input.listener);
+		
+		input.listener.onInputAvailable();
+		input.listener.onInputEnd();
+		assertEquals("abc", s.toString());
+		assertEquals(3, reader.getBytesRead());
+		assertEquals(Long.valueOf(3), reader.getCompletion().toCompletableFuture().get());
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.response;
+
+
+import java.nio.charset.StandardCharsets;
+import org.civilian.CivTest;
+import org.civilian.util.CheckedRunnable;
+import org.junit.Test;
+
+
+public class SseBroadcasterTest extends CivTest
+{
+	private static class TestContext extends AsyncContext
+	{
+		public TestContext()
+		{
+			super(null, null);
+		}
+
+		@Override public void addEventListener(AsyncEventListener listener)
+		{
+			listener_ = listener;
+		}
+
+		@Override public AsyncInput getAsyncInput()
+		{
+			throw new UnsupportedOperationException();
+		}
+
+		@Override public AsyncOutput getAsyncOutput()
+		{
+			return output;
+		}
+
+		@Override protected void completeImpl()
+		{
+		}
+
+		@Override public void dispatch()
+		{
+		}
+
+		@Override public void dispatch(String path)
+		{
+		}
+
+		@Override public void start(CheckedRunnable<?> runnable)
+		{
+		}
+
+		@Override public long getTimeout()
+		{
+			return timeout_;
+		}
+
+		@Override public void setTimeout(long milliSeconds)
+		{
+			timeout_ = milliSeconds;
+		}
+		
+		public final TestAsyncOutput output = new TestAsyncOutput();
+		public AsyncEventListener listener_;
+		private long timeout_ = 30000;
+	}
+	
+	
+	@Test public void testEncode()
+	{
+		assertEquals("data: a\n\n", new String(SseBroadcaster.encode(null, null, "a"), StandardCharsets.UTF_8));
+		assertEquals("id: 1\nevent: e\ndata: a\ndata: b\ndata: \n\n", 
+			new String(SseBroadcaster.encode("1", "e", "a\r\nb\n"), StandardCharsets.UTF_8));
+	}
+	
+	
+	@Test public void testBroadcast() throws Exception
+	{
+		try (SseBroadcaster broadcaster = new SseBroadcaster(2, 0))
+		{
+			TestContext fast = new TestContext();
+			TestContext slow = new TestContext();
+			SseBroadcaster.Subscriber fastSub = broadcaster.subscribe(fast);
+			SseBroadcaster.Subscriber slowSub = broadcaster.subscribe(slow);
+			assertEquals(2, broadcaster.getSubscriberCount());
+			assertEquals(0, fast.getTimeout());
+			assertNotNull(fast.output.listener);
+			
+			broadcaster.broadcast("x");
+			assertEquals("data: x\n\n", fast.output.text());
+			assertEquals("data: x\n\n", slow.output.text());
+			
+			// slow client queues events and is resumed by the output listener
+			slow.output.ready = false;
+			broadcaster.broadcast("y");
+			assertEquals(1, slowSub.getPendingCount());
+			assertEquals("data: x\n\ndata: y\n\n", fast.output.text());
+			slow.output.ready = true;
+			slow.output.listener.onOutputPossible();
+			assertEquals(0, slowSub.getPendingCount());
+			assertEquals("data: x\n\ndata: y\n\n", slow.output.text());
+	
+			// slow consumer is evicted when its queue overflows
+			slow.output.ready = false;
+			broadcaster.broadcast("1");
+			broadcaster.broadcast("2");
+			assertFalse(slowSub.isEvicted());
+			broadcaster.broadcast("3");
+			assertTrue(slowSub.isEvicted());
+			assertTrue(slow.isCompleted());
+			assertEquals(1, broadcaster.getSubscriberCount());
+			
+			// completed contexts are removed
+			fast.listener_.onEvent(new AsyncEvent(AsyncEvent.Type.COMPLETE, fast));
+			assertTrue(fastSub.isEvicted());
+			assertEquals(0, broadcaster.getSubscriberCount());
+		}
+	}
+	
+	
+	@Test public void testHeartbeat() throws Exception
+	{
+		try (SseBroadcaster broadcaster = new SseBroadcaster(10, 10))
+		{
+			TestContext context = new TestContext();
+			broadcaster.subscribe(context);
+			for (int i=0; (i<200) && context.output.text().isEmpty(); i++)
+				Thread.sleep(10);
+			assertTrue(context.output.text().startsWith(":\n\n"));
+			broadcaster.close();
+			assertTrue(context.isCompleted());
+		}
+	}
+}
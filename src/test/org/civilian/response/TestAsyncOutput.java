@@ -0,0 +1,38 @@
+package org.civilian.response;
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+
+public class TestAsyncOutput implements AsyncOutput
+{
+	@Override public void setListener(AsyncOutputListener listener)
+	{
+		this.listener = listener;
+	}
+
+	
+	@Override public boolean isReady()
+	{
+		return ready;
+	}
+
+	
+	@Override public OutputStream getStream()
+	{
+		return stream;
+	}
+	
+	
+	public String text()
+	{
+		return stream.toString(StandardCharsets.UTF_8);
+	}
+	
+	
+	public boolean ready = true;
+	public AsyncOutputListener listener;
+	public final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+}
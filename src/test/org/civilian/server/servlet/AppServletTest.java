@@ -18,6 +18,9 @@ package org.civilian.server.servlet;
 
 import static org.mockito.Mockito.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import jakarta.servlet.AsyncContext;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletRequest;
@@ -105,4 +108,61 @@ public class AppServletTest extends CivTest
 		servlet.service(request, response);
 		verify(app, times(1)).process(any(MpRequestAdapter.class), any(ServletResponseAdapter.class));
 	}
+	
+	
+	@Test public void testServiceOnVirtualThread() throws Exception
+	{
+		Application app = mock(Application.class);
+		when(app.getPath()).thenReturn(Path.ROOT);
+		when(app.getDefaultEncoding()).thenReturn(StandardCharsets.UTF_8);
+		when(app.useVirtualThreads()).thenReturn(Boolean.TRUE);
+		List<Runnable> started = new ArrayList<>();
+		AppServlet servlet = new AppServlet(app, started::add);
+		
+		HttpServletRequest request  	= mock(HttpServletRequest.class);
+		HttpServletResponse response 	= mock(HttpServletResponse.class);
+		AsyncContext asyncContext		= mock(AsyncContext.class);
+		when(request.startAsync(request, response)).thenReturn(asyncContext);
+		
+		// async not supported: processed on the container thread
+		servlet.service(request, response);
+		verify(app, times(1)).process(any(SpRequestAdapter.class), any(ServletResponseAdapter.class));
+		assertTrue(started.isEmpty());
+		
+		// the container thread only starts async mode without timeout
+		when(request.isAsyncSupported()).thenReturn(Boolean.TRUE);
+		servlet.service(request, response);
+		verify(request).startAsync(request, response);
+		verify(asyncContext).setTimeout(0);
+		verify(app, times(1)).process(any(SpRequestAdapter.class), any(ServletResponseAdapter.class));
+		assertEquals(1, started.size());
+		
+		// the virtual thread processes and completes the request
+		started.remove(0).run();
+		verify(app, times(2)).process(any(SpRequestAdapter.class), any(ServletResponseAdapter.class));
+		verify(asyncContext).complete();
+		
+		// the request is also completed if processing fails
+		doThrow(new IllegalStateException("failed")).when(app).process(any(), any());
+		servlet.service(request, response);
+		try
+		{
+			started.remove(0).run();
+			fail();
+		}
+		catch (IllegalStateException e)
+		{
+			assertEquals("failed", e.getMessage());
+		}
+		verify(asyncContext, times(2)).complete();
+		
+		// an application which starts async mode reuses the servlet async context and completes the request itself
+		doAnswer(inv -> ((ServletResponseAdapter)inv.getArgument(1)).startAsync()).when(app).process(any(), any());
+		when(request.isAsyncStarted()).thenReturn(Boolean.TRUE);
+		when(request.getAsyncContext()).thenReturn(asyncContext);
+		servlet.service(request, response);
+		started.remove(0).run();
+		verify(request, times(3)).startAsync(request, response);
+		verify(asyncContext, times(2)).complete();
+	}
 }
@@ -18,11 +18,14 @@ package org.civilian.server.servlet;
 
 import static org.mockito.Mockito.*;
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.zip.CRC32;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -86,7 +89,7 @@ public class ServletRequestTest extends CivTest
 		assertTrue(			request.hasMethod(Request.Method.GET));
 		assertFalse(		request.hasMethod(Request.Method.POST));
 
-		request.getCookies();
+		assertSame(request.getCookies(), request.getCookies());
 		verify(servletReq).getCookies();
 	}
 	
@@ -142,11 +145,49 @@ public class ServletRequestTest extends CivTest
 	}
 	
 	
+	@Test public void testQueryParameters() throws Exception
+	{
+		when(servletReq.getMethod()).thenReturn("GET");
+		when(servletReq.getQueryString()).thenReturn("a=1&id=15&a=2&q=x+y%C3%A4&utm_source=z");
+		when(servletReq.getParameter("id")).thenReturn("16");
+		
+		// by default parameters are obtained from the container
+		init();
+		assertEquals("16",	request.getParam("id"));
+
+		// opt-in: GET parameters are read from the raw query string
+		TestApp rawApp = new TestApp();
+		rawApp.setInitializer(config -> config.setRawQueryParams(true));
+		rawApp.init("/raw");
+		assertTrue(rawApp.useRawQueryParams());
+		
+		servletReq = mock(HttpServletRequest.class);
+		when(servletReq.getMethod()).thenReturn("GET");
+		when(servletReq.getQueryString()).thenReturn("a=1&id=15&a=2&q=x+y%C3%A4&utm_source=z");
+		request = new SpRequestAdapter(rawApp, servletReq, servletResp);
+
+		assertEquals("15",	request.getParam("id"));
+		assertEquals("1",	request.getParam("a"));	
+		assertEquals("x y\u00e4",	request.getParam("q"));	
+		assertEquals(null,	request.getParam("b"));	
+		assertArrayEquals2(request.getParams("a"), "1", "2");	
+		assertEquals(4,		request.getParamMap().size());
+		verify(servletReq, never()).getParameter(anyString());
+		verify(servletReq, never()).getParameterMap();
+		
+		// PUT may contain form parameters: obtained from the container
+		when(servletReq.getMethod()).thenReturn("PUT");
+		when(servletReq.getParameter("id")).thenReturn("16");
+		request = new SpRequestAdapter(rawApp, servletReq, servletResp);
+		assertEquals("16",	request.getParam("id"));
+	}
+	
+	
 	@Test public void testMatrixParams() throws Exception
 	{
 		// test extension and matrix parameters
 		when(servletReq.getPathInfo()).thenReturn("/alpha.html");
-		when(servletReq.getRequestURI()).thenReturn("/app;ignored=1/alpha.html;x=y;z;mp=1;mp=2");
+		when(servletReq.getRequestURI()).thenReturn("/app;ignored=1/alpha.html;x=y;z;mp=1;mp=2;e%20n=a%2Fb");
 
 		init();
 		
@@ -156,6 +197,7 @@ public class ServletRequestTest extends CivTest
 		assertEquals("",				request.getMatrixParam("z"));
 		assertEquals("1",				request.getMatrixParam("mp"));
 		assertNull(						request.getMatrixParam("p"));
+		assertEquals("a/b",				request.getMatrixParam("e n"));
 		assertArrayEquals(aParamValues,	request.getMatrixParams("mp"));
 		assertEquals(1,					request.getMatrixParam("mp", TypeLib.INTEGER).getValue().intValue());
 		HashSet<String> mpNames = new HashSet<>();
@@ -163,7 +205,8 @@ public class ServletRequestTest extends CivTest
 		assertTrue(mpNames.contains("mp"));
 		assertTrue(mpNames.contains("x"));
 		assertTrue(mpNames.contains("z"));
-		assertEquals(3, mpNames.size());
+		assertTrue(mpNames.contains("e n"));
+		assertEquals(4, mpNames.size());
 	}
 	
 
@@ -222,6 +265,14 @@ public class ServletRequestTest extends CivTest
 		assertEquals(3344L, headers.getDate("l"));
 		assertArrayEquals2(array, headers.getAll("a"));
 		
+		// container headers are fetched only once
+		assertEquals("abc", headers.get("X"));
+		assertSame(headers.getAll("a"), headers.getAll("A"));
+		assertEquals(3344L, headers.getDate("l"));
+		verify(servletReq, times(1)).getHeader("x");
+		verify(servletReq, times(1)).getHeaders("a");
+		verify(servletReq, times(1)).getDateHeader("l");
+		
 		Iterator<String> names = headers.iterator();
 		assertEquals("b", names.next());
 		assertEquals("c", names.next());
@@ -244,6 +295,8 @@ public class ServletRequestTest extends CivTest
 		assertSame(Locale.ENGLISH, request.getAcceptedLocale());
 		verify(servletReq).getHeader("Accept-Language");
 		
+		// headers are cached per request
+		init();
 		when(servletReq.getHeader("Accept-Language")).thenReturn("de");
 		when(servletReq.getLocale()).thenReturn(Locale.GERMAN);
 		assertEquals(Locale.GERMAN, request.getAcceptedLocale());
@@ -321,18 +374,20 @@ public class ServletRequestTest extends CivTest
 		when(part1.getSize()).thenReturn(4L);
 		when(part1.getName()).thenReturn("email");
 		when(part2.getHeader("Content-Disposition")).thenReturn("form-data; name=\"photo\"; filename=\"/temp/photo.jpg\"");
-		when(part2.getInputStream()).thenReturn(new ByteArrayInputStream("jpg".getBytes()));
+		when(part2.getInputStream()).then(inv -> new ByteArrayInputStream("jpg".getBytes()));
 		when(part2.getSize()).thenReturn(3L);
 		when(part2.getName()).thenReturn("photo");
 		ArrayList<Part> parts = new ArrayList<>(); 
 		parts.add(part1);
 		parts.add(part2);
 		when(servletReq.getParts()).thenReturn(parts);
+		when(servletReq.getParameterValues("email")).thenReturn(new String[] { "Jim" });
 
 		MpRequestAdapter request = new MpRequestAdapter(app, servletReq, servletResp);
 		assertEquals(null, request.getParam("dummy"));		
 		assertEquals("John", request.getParam("email"));		
 		assertEquals("photo.jpg", request.getParam("photo"));		
+		assertArrayEquals2(request.getParams("email"), "Jim", "John");
 		
 		uploads = request.getUploads();
 		assertFalse(uploads.isEmpty());
@@ -341,6 +396,32 @@ public class ServletRequestTest extends CivTest
 		Upload upload = uploads.get("photo");
 		assertNotNull(upload);
 		assertEquals(3L, upload.length());
+		
+		// with a checksum the content is streamed into the file
+		Path file = Files.createTempFile("upload", ".jpg");
+		try
+		{
+			CRC32 crc = new CRC32();
+			assertEquals(3L, upload.write(file, crc));
+			assertEquals("jpg", Files.readString(file));
+			CRC32 expected = new CRC32();
+			expected.update("jpg".getBytes());
+			assertEquals(expected.getValue(), crc.getValue());
+			
+			// write(File) copies and overwrites an existing file
+			Files.writeString(file, "previous content");
+			upload.write(file.toFile());
+			assertEquals("jpg", Files.readString(file));
+			verify(part2, never()).write(anyString());
+			
+			// moveTo lets the container write the part
+			upload.moveTo(file);
+			verify(part2).write(file.toAbsolutePath().toString());
+		}
+		finally
+		{
+			Files.delete(file);
+		}
 	}
 	
 
@@ -0,0 +1,45 @@
+package org.civilian.template;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import org.civilian.CivTest;
+import org.civilian.util.ResourceLoaders;
+import org.junit.Test;
+
+
+public class FreemarkerTemplateEngineTest extends CivTest
+{
+	@Test public void test() throws Exception
+	{
+		// the engine finds templates by their URL, therefore we need a directory loader
+		File dir = Files.createTempDirectory("ftl").toFile();
+		File file = new File(dir, "hello.ftl");
+		try
+		{
+			Files.write(file.toPath(), "Hello ${name}".getBytes(StandardCharsets.UTF_8));
+			
+			FreemarkerTemplateEngine engine = new FreemarkerTemplateEngine(ResourceLoaders.forDirectory(dir), StandardCharsets.UTF_8, 10);
+			engine.precompile("hello.ftl");
+			assertSame(engine.getTemplate("hello.ftl"), engine.getTemplate("hello.ftl"));
+			assertEquals("Hello World", engine.createTemplate("hello.ftl", Map.of("name", "World")).printString());
+			
+			try
+			{
+				engine.getTemplate("missing.ftl");
+				fail();
+			}
+			catch (IOException e)
+			{
+			}
+		}
+		finally
+		{
+			file.delete();
+			dir.delete();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.civilian.template;
+
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.velocity.VelocityContext;
+import org.civilian.CivTest;
+import org.civilian.util.ResourceLoaders;
+import org.junit.Test;
+
+
+public class VelocityTemplateEngineTest extends CivTest
+{
+	@Test public void test() throws Exception
+	{
+		VelocityTemplateEngine engine = new VelocityTemplateEngine(
+			ResourceLoaders.chain(
+				ResourceLoaders.forString("hello.vm", "Hello $name"),
+				ResourceLoaders.forString("bye.vm", "Bye $name")),
+			StandardCharsets.UTF_8, 
+			1);
+		
+		// parsed templates are cached
+		engine.precompile("hello.vm");
+		org.apache.velocity.Template hello = engine.getTemplate("hello.vm");
+		assertSame(hello, engine.getTemplate("hello.vm"));
+		
+		VelocityContext context = new VelocityContext();
+		context.put("name", "World");
+		assertEquals("Hello World", engine.createTemplate("hello.vm", context).printString());
+		assertEquals("Bye World", engine.createTemplate("bye.vm", context).printString());
+		
+		// the cache holds one template: hello.vm was evicted
+		assertNotSame(hello, engine.getTemplate("hello.vm"));
+		
+		try
+		{
+			engine.getTemplate("missing.vm");
+			fail();
+		}
+		catch (IOException e)
+		{
+		}
+	}
+	
+	
+	@Test public void testInclude() throws Exception
+	{
+		VelocityTemplateEngine engine = new VelocityTemplateEngine(
+			ResourceLoaders.chain(
+				ResourceLoaders.forString("page.vm", "<#parse(\"header.vm\")|#include(\"footer.txt\")>"),
+				ResourceLoaders.forString("header.vm", "Hello $name"),
+				ResourceLoaders.forString("footer.txt", "$name")),
+			StandardCharsets.UTF_8, 
+			10);
+		
+		// included templates are read from the ResourceLoader of the engine
+		VelocityContext context = new VelocityContext();
+		context.put("name", "World");
+		assertEquals("<Hello World|$name>", engine.createTemplate("page.vm", context).printString());
+	}
+}
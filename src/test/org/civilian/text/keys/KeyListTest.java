@@ -19,7 +19,9 @@ package org.civilian.text.keys;
 import java.text.ParseException;
 import java.time.LocalDate;
 import java.util.Locale;
+import java.util.function.BiFunction;
 import org.civilian.CivTest;
+import org.civilian.text.msg.MsgBundle;
 import org.civilian.text.type.StandardSerializer;
 import org.junit.Test;
 
@@ -76,6 +78,85 @@ public class KeyListTest extends CivTest
 		assertFormat(keys, 2, "gamma");
 		assertParse(keys, Abc.beta, "beta");
 		assertParseFailure(keys, "delta", IllegalArgumentException.class);
+		
+		// values of another enum are not contained
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		KeyList<Enum> raw = (KeyList)keys;
+		assertEquals(-1, raw.indexOf(Thread.State.RUNNABLE));
+		assertEquals(-1, keys.indexOf(null));
+	}
+	
+	
+	@Test public void testIndexedKeyList() throws Exception
+	{
+		KeyList<String> keys = KeyLists.indexed(KeyLists.forContent(new String[] { "a", "b", "a" }, new String[] { "alpha", "beta", "gamma" }));
+		assertSame(keys, KeyLists.indexed(keys));
+		assertEquals(3, keys.size());
+		assertItem(keys, 1, "b", "beta");
+		assertEquals(0, 		keys.indexOf("a"));
+		assertEquals(-1, 		keys.indexOf("c"));
+		assertEquals(-1, 		keys.indexOf(null));
+		assertEquals(2, 		keys.getTextIndex("gamma"));
+		assertEquals(-1, 		keys.getTextIndex(null));
+		assertEquals("b", 		keys.getValue("beta"));
+		assertEquals(null, 		keys.getValue("delta"));
+		assertEquals("alpha",	keys.getText("a"));
+		assertParse(keys, "b", "b");
+		assertParseReject(keys, "c");
+
+		// parse and format use the indexes, not the linear scan of the wrapped list
+		KeyList<String> scanning = new SimpleKeyList<>(new String[] { "a", "b" }, new String[] { "alpha", "beta" })
+		{
+			@Override public int indexOf(String value)
+			{
+				throw new UnsupportedOperationException();
+			}
+		};
+		keys = KeyLists.indexed(scanning);
+		assertParse(keys, "b", "b");
+		assertParseReject(keys, "c");
+		assertEquals("b", keys.getType().format("b"));
+
+		// a serializer of a mutable list still finds its items
+		MutableKeyList<Integer> mutable = new MutableKeyList<>();
+		mutable.add(Integer.valueOf(7), "seven");
+		KeyList<Integer> indexedMutable = KeyLists.indexed(mutable);
+		String s = indexedMutable.getType().format(Integer.valueOf(7));
+		assertEquals(Integer.valueOf(7), indexedMutable.getType().parse(s));
+
+		KeyList<Abc> enums = new EnumKeyList<>(Abc.class);
+		assertEquals(2, 	enums.indexOf(Abc.gamma));
+		assertEquals(-1, 	enums.indexOf(null));
+	}
+	
+	
+	@Test public void testDerived() throws Exception
+	{
+		BiFunction<KeyList<?>,String,String> factory = (keys, context) -> context + keys.size() + keys.getText(0);
+		
+		KeyList<String> keys = KeyLists.forTexts("a", "b");
+		String derived = keys.getDerived("x", factory);
+		assertEquals("x2a", derived);
+		assertSame(derived, keys.getDerived("x", factory));
+		assertEquals("y2a", keys.getDerived("y", factory));
+		
+		MsgBundle msgBundle = MsgBundle.empty(Locale.ENGLISH);
+		KeyList<String> translated1 = KeyLists.translating(keys, msgBundle);
+		KeyList<String> translated2 = KeyLists.translating(keys, msgBundle);
+		derived = translated1.getDerived("x", factory);
+		assertEquals("x2?a", derived);
+		assertSame(derived, translated2.getDerived("x", factory));
+		
+		// the cache is keyed by locale, not by MsgBundle instance
+		KeyList<String> translated3 = KeyLists.translating(keys, MsgBundle.empty(Locale.ENGLISH));
+		assertSame(derived, translated3.getDerived("x", factory));
+		assertNotSame(derived, KeyLists.translating(keys, MsgBundle.empty(Locale.GERMAN)).getDerived("x", factory));
+		
+		MutableKeyList<String> mutable = new MutableKeyList<>();
+		mutable.add("a", "alpha");
+		assertEquals("x1alpha", mutable.getDerived("x", factory));
+		mutable.setText(0, "beta");
+		assertEquals("x1beta", mutable.getDerived("x", factory));
 	}
 	
 	
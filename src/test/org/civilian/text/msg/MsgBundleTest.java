@@ -42,6 +42,32 @@ public class MsgBundleTest extends CivTest
 		assertEquals('x', id.charAt(0));
 		assertEquals("x", id.subSequence(0, 1));
 		assertSame(x, id.toString());
+		assertEquals(-1, id.getIndex());
+		assertEquals(2, new MsgId(x, 2).getIndex());
+	}
+	
+	
+	@Test public void testArrayBundle()
+	{
+		String[] ids = { "hello", "world" };
+		MsgBundleFactory f = new ArrayMsgBundleFactory(ids, 
+			new String[] { "en", "de" }, 
+			new String[][] { { "Hello", "World" }, { "Hallo", "Welt" } });
+		
+		MsgBundle en = f.getMsgBundle(Locale.US);
+		MsgBundle de = f.getMsgBundle(Locale.GERMAN);
+		assertEquals(Locale.ENGLISH, en.getLocale());
+		assertEquals(Locale.GERMAN, de.getLocale());
+		assertSame(en, f.getMsgBundle(Locale.CHINA));
+		
+		assertEquals("World", en.msg("world"));
+		assertEquals("Welt", de.msg(new MsgId("world", 1)));
+		assertEquals("Welt", de.msg(new MsgId("world", 0))); // wrong index
+		assertEquals("Welt", de.msg(new MsgId("world", 5)));
+		assertEquals("?some", de.msg(new MsgId("some", 0)));
+		assertNull(de.get("some"));
+		assertTrue(de.contains("hello"));
+		assertFalse(de.contains("some"));
 	}
 	
 	
@@ -126,6 +126,8 @@ public class SerializerTest extends CivTest
 		assertEquals("parse locale us",		value,	LOCALE_US.parse(type, usString));
 		assertEquals("parse locale de",		value,	LOCALE_DE.parse(type, deString));
 		assertEquals("parse locale fr",		value,	LOCALE_FR.parse(type, frString));
+		assertEquals("type parser default",	value,	STANDARD.getTypeParser(type).parse(defaultString));
+		assertEquals("type parser de",		value,	LOCALE_DE.getTypeParser(type).parse(deString));
 
 		if (type == TypeLib.STRING)
 			assertEquals("parse locale empty ", "",	LOCALE_US.parse(type, ""));
@@ -136,6 +138,9 @@ public class SerializerTest extends CivTest
 	
 	@Test public void testParseDefaultDate() throws Exception
 	{
+		assertEquals(LocalDate.of(-1, 2, 3), STANDARD.parse(TypeLib.DATE_LOCAL, "-00010203"));
+		assertEquals(LocalDateTime.of(2012, 1, 31, 13, 14, 15), STANDARD.parse(TypeLib.DATETIME_LOCAL, "20120131131415"));
+		
 		try
 		{
 			STANDARD.parse(TypeLib.DATE_LOCAL, "123");
@@ -19,6 +19,7 @@ package org.civilian.tool.resbundle;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PrintStream;
+import java.nio.file.Files;
 import org.civilian.CivTest;
 import org.junit.Test;
 
@@ -48,6 +49,13 @@ public class ResBundleCompilerTest extends CivTest
 			run("-constClass", "#file", "-idClass", "#msgId", "-out:dir", tempPath, excelPath);
 			run("-constClass", "TestIds", "-idClass", "#inline", "-out:dir", tempPath, excelPath);
 			run("-constClass", "TestIds", "-idClass", "test.MymsgId", "-out:dir", tempPath, excelPath);
+			
+			run("-constClass", "TestIds", "-idClass", "#msgId", "-bundleClass", "#file", "-out:dir", tempPath, excelPath);
+			String ids = Files.readString(new File(tempDir, "TestIds.java").toPath());
+			assertTrue(ids, ids.contains("new MsgId(\"Yo\", 2)"));
+			String bundle = Files.readString(new File(tempDir, "MessageBundle.java").toPath());
+			assertTrue(bundle, bundle.contains("public class MessageBundle extends ArrayMsgBundleFactory"));
+			assertTrue(bundle, bundle.contains("s[2] = \"Yo\";"));
 		}
 		finally
 		{
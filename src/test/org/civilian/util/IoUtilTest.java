@@ -16,7 +16,9 @@
 package org.civilian.util;
 
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.OutputStreamWriter;
 import java.io.StringReader;
 import org.junit.Test;
 import org.civilian.CivTest;
@@ -31,6 +33,15 @@ public class IoUtilTest extends CivTest
 	}
 
 
+	@Test public void testCreateWriter() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertTrue(IoUtil.createWriter(out, "UTF-8") instanceof Utf8Writer);
+		assertTrue(IoUtil.createWriter(out, "utf8") instanceof Utf8Writer);
+		assertTrue(IoUtil.createWriter(out, "ISO-8859-1") instanceof OutputStreamWriter);
+	}
+
+
 	@Test public void testExtension() throws Exception
 	{
 		File f = new File("test.css");
@@ -18,6 +18,7 @@ package org.civilian.util;
 
 import java.io.File;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.HashSet;
@@ -110,4 +111,73 @@ public class ResourceLoaderTest extends CivTest
 			assertNotNull(in);
 		}
 	}
+
+
+	@Test public void testCaching() throws Exception
+	{
+		File dir = Files.createTempDirectory("loader").toFile();
+		File small = new File(dir, "small.txt");
+		File large = new File(dir, "large.txt");
+		File subDir = new File(dir, "sub");
+		Files.write(small.toPath(), "abc".getBytes());
+		Files.write(large.toPath(), new byte[100]);
+		
+		ResourceLoader dirLoader = spy(ResourceLoaders.forDirectory(dir));
+		try
+		{
+			try (CachingResourceLoader loader = new CachingResourceLoader(dirLoader, 10, false))
+			{
+				// lookups and negative results are cached
+				assertEquals(small.toURI().toURL(), loader.getResourceUrl("small.txt"));
+				assertEquals(small.toURI().toURL(), loader.getResourceUrl("small.txt"));
+				assertNull(loader.getResourceAsStream("missing.txt"));
+				assertNull(loader.getResourceUrl("missing.txt"));
+				verify(dirLoader, times(1)).getResourceUrl("small.txt");
+				verify(dirLoader, times(1)).getResourceUrl("missing.txt");
+				
+				// small content is read once
+				for (int i=0; i<2; i++)
+				{
+					try (InputStream in = loader.getResourceAsStream("small.txt"))
+					{
+						assertEquals("abc", new String(in.readAllBytes()));
+					}
+				}
+				verify(dirLoader, times(1)).getResourceAsStream("small.txt");
+				
+				// large content is mapped
+				try (InputStream in = loader.getResourceAsStream("large.txt"))
+				{
+					assertEquals(100, in.readAllBytes().length);
+				}
+				verify(dirLoader, never()).getResourceAsStream("large.txt");
+				assertEquals(3, loader.getCachedCount());
+			}
+			
+			subDir.mkdir();
+			try (CachingResourceLoader loader = new CachingResourceLoader(ResourceLoaders.forDirectory(dir), 10, true))
+			{
+				// when watching, negative results are not cached:
+				// a file created in a directory without cached neighbours is found
+				assertNull(loader.getResourceUrl("sub/created.txt"));
+				Files.write(new File(subDir, "created.txt").toPath(), "new".getBytes());
+				assertNotNull(loader.getResourceUrl("sub/created.txt"));
+				
+				// a file change invalidates the cache
+				assertNotNull(loader.getResourceUrl("small.txt"));
+				assertEquals(2, loader.getCachedCount());
+				Files.write(small.toPath(), "def".getBytes());
+				for (int i=0; (i<100) && (loader.getCachedCount() > 0); i++)
+					Thread.sleep(50);
+				assertEquals(0, loader.getCachedCount());
+			}
+		}
+		finally
+		{
+			new File(subDir, "created.txt").delete();
+			for (File file : dir.listFiles())
+				file.delete();
+			dir.delete();
+		}
+	}
 }
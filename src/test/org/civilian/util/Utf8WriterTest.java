@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util;
+
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.civilian.CivTest;
+
+
+public class Utf8WriterTest extends CivTest
+{
+	@Test public void testEncode() throws Exception
+	{
+		assertEncoded("abc");
+		assertEncoded("äöü €");
+		assertEncoded("😀!");
+		assertEncoded("x\uD83D", "x?");
+		assertEncoded("\uDE00x", "?x");
+		
+		// longer than the buffer
+		StringBuilder s = new StringBuilder();
+		for (int i=0; i<100; i++)
+			s.append("aä€😀");
+		assertEncoded(s.toString());
+	}
+	
+	
+	@Test public void testSplitSurrogate() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Utf8Writer writer = new Utf8Writer(out, new BufferPool(16, 1));
+		writer.write('\uD83D');
+		writer.write("\uDE00".toCharArray());
+		writer.release();
+		assertEquals("😀", out.toString(StandardCharsets.UTF_8));
+	}
+
+
+	@Test public void testUnpairedSurrogateBeforeAscii() throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Utf8Writer writer = new Utf8Writer(out, new BufferPool(16, 1));
+		writer.write("\uD83Dx");
+		writer.write("\uDE00");
+		writer.write("\uD83Dy".toCharArray());
+		writer.write("\uDE00".toCharArray());
+		writer.release();
+		assertEquals("?x??y?", out.toString(StandardCharsets.UTF_8));
+	}
+
+	
+	@Test public void testPool() throws Exception
+	{
+		BufferPool pool = new BufferPool(16, 1);
+		Utf8Writer writer = new Utf8Writer(new ByteArrayOutputStream(), pool);
+		assertEquals(0, pool.getPooledCount());
+		writer.close();
+		assertEquals(1, pool.getPooledCount());
+		writer.close();
+		assertEquals(1, pool.getPooledCount());
+		
+		pool.release(new byte[16]);
+		pool.release(new byte[8]);
+		assertEquals(1, pool.getPooledCount());
+		assertEquals(16, pool.acquire().length);
+		assertEquals(0, pool.getPooledCount());
+	}
+	
+	
+	private void assertEncoded(String s) throws Exception
+	{
+		assertEncoded(s, s);
+	}
+	
+	
+	private void assertEncoded(String s, String expected) throws Exception
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Utf8Writer writer = new Utf8Writer(out, new BufferPool(16, 1));
+		writer.write(s);
+		writer.release();
+		assertEquals(expected, out.toString(StandardCharsets.UTF_8));
+	}
+}
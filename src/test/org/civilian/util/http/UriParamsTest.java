@@ -0,0 +1,61 @@
+/*
+ * Copyright (C) 2014 Civilian Framework.
+ *
+ * Licensed under the Civilian License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.civilian-framework.org/license.txt
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.civilian.util.http;
+
+
+import java.util.Map;
+import org.junit.Test;
+import org.civilian.CivTest;
+
+
+public class UriParamsTest extends CivTest
+{
+	@Test public void testQuery()
+	{
+		UriParams params = UriParams.ofQuery("a=1&b&a=2&c%20d=%E2%82%AC+x&&=e&f=%zz");
+		assertFalse(params.isEmpty());
+		assertEquals("1", 			params.get("a"));
+		assertArrayEquals2(			params.getAll("a"), "1", "2");
+		assertEquals("", 			params.get("b"));
+		assertEquals("€ x",	params.get("c d"));
+		assertEquals("%zz",			params.get("f"));
+		assertNull(					params.get("x"));
+		assertEquals(0,				params.getAll("x").length);
+		
+		Map<String,String[]> map = params.getMap();
+		assertSame(map, params.getMap());
+		assertEquals(4, map.size());
+		assertArrayEquals2(map.get("a"), "1", "2");
+		assertEquals("a", params.getNames().next());
+		assertArrayEquals2(params.getAll("a"), "1", "2");
+		
+		assertSame(UriParams.EMPTY, UriParams.ofQuery(null));
+		assertSame(UriParams.EMPTY, UriParams.ofQuery(""));
+		assertTrue(UriParams.EMPTY.getMap().isEmpty());
+	}
+	
+	
+	@Test public void testMatrix()
+	{
+		UriParams params = UriParams.ofMatrix("/a;x=1/b;y=2;y=a+b;z");
+		assertNull(					params.get("x"));
+		assertArrayEquals2(			params.getAll("y"), "2", "a+b");
+		assertEquals("", 			params.get("z"));
+		assertEquals("y=2;y=a+b;z",	params.toString());
+		
+		assertSame(UriParams.EMPTY, UriParams.ofMatrix("/a;x=1/b"));
+	}
+}